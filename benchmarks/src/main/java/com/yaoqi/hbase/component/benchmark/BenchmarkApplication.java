@@ -0,0 +1,35 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description 基准测试使用的 Spring 上下文，组件按正常方式装配，连接替换为 InMemoryConnection
+ */
+@SpringBootApplication(scanBasePackages = "com.yaoqi.hbase.component")
+public class BenchmarkApplication {
+
+    /**
+     * 启动上下文
+     *
+     * @param properties 额外的配置，格式为 key=value，覆盖默认配置
+     * @return 需要调用方关闭的上下文
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(false)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("HBase.conf.quorum=in-process",
+                        "HBase.conf.znodeParent=/hbase",
+                        "HBase.conf.config.hbase.client.connection.impl=" + InMemoryConnection.class.getName(),
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
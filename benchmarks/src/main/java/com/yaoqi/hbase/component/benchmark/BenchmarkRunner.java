@@ -0,0 +1,29 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description 基准测试入口，参数与 JMH 命令行一致，默认附带 gc 分析器，结果中包含每次调用的内存分配（gc.alloc.rate.norm）
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListProfilers()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLineOptions);
+        if (commandLineOptions.getProfilers().stream().noneMatch(profiler -> "gc".equals(profiler.getKlass()) || GCProfiler.class.getName().equals(profiler.getKlass()))) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import com.yaoqi.hbase.component.operations.HBaseOperations;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description HBaseTemplate 常用调用路径的基准测试，数据在进程内，测得的是组件自身的开销。
+ * 同时输出吞吐量和延迟分位数，BenchmarkRunner 默认附带 gc 分析器输出每次调用的内存分配
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HBaseTemplateBenchmark {
+
+    private static final String TABLE = "benchmark";
+    private static final String FAMILY = "f";
+    private static final int ROWS = 10000;
+    private static final int COLUMNS = 4;
+
+    /**
+     * multiGet、putBatch、scan 每次调用的行数
+     */
+    @Param({"100"})
+    private int batchSize;
+
+    /**
+     * 每个 value 的字节数
+     */
+    @Param({"64"})
+    private int valueSize;
+
+    /**
+     * 是否开启调用指标，用于对比指标代理的开销
+     */
+    @Param({"true"})
+    private boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+    private HBaseOperations hBaseOperations;
+    private String[] rowKeys;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start("HBase.conf.config.metricsEnabled=" + metricsEnabled);
+        hBaseOperations = context.getBean(HBaseOperations.class);
+        if (hBaseOperations.tableExists(TABLE)) {
+            hBaseOperations.truncateTable(TABLE);
+        } else {
+            hBaseOperations.createTable(TABLE, FAMILY);
+        }
+        value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+        rowKeys = new String[ROWS];
+        List<Put> putList = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rowKeys[i] = String.format("row-%08d", i);
+            putList.add(newPut(rowKeys[i]));
+        }
+        BatchResult batchResult = hBaseOperations.putBatch(TABLE, putList);
+        if (!batchResult.isSuccess()) {
+            throw new IllegalStateException("load benchmark data failed: " + batchResult);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Result queryByRowKey() {
+        return hBaseOperations.queryByTableNameAndRowKey(TABLE, randomRowKey());
+    }
+
+    @Benchmark
+    public Result[] multiGet() {
+        int start = randomStart();
+        List<Get> getList = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            getList.add(new Get(Bytes.toBytes(rowKeys[start + i])));
+        }
+        return hBaseOperations.query(TABLE, getList);
+    }
+
+    @Benchmark
+    public void put() {
+        hBaseOperations.put(TABLE, randomRowKey(), FAMILY, "c0", value);
+    }
+
+    @Benchmark
+    public BatchResult putBatch() throws IOException {
+        int start = randomStart();
+        List<Put> putList = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            putList.add(newPut(rowKeys[start + i]));
+        }
+        return hBaseOperations.putBatch(TABLE, putList);
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) throws IOException {
+        Scan scan = new Scan().withStartRow(Bytes.toBytes(rowKeys[randomStart()])).setLimit(batchSize);
+        try (ResultScanner scanner = hBaseOperations.queryByScan(TABLE, scan)) {
+            for (Result result : scanner) {
+                blackhole.consume(result);
+            }
+        }
+    }
+
+    /**
+     * rowKey 编码，替代原先基于反射的 checkType
+     */
+    @Benchmark
+    public byte[] encodeRowKey() {
+        return RowKeyCodecRegistry.encode(ThreadLocalRandom.current().nextLong());
+    }
+
+    private String randomRowKey() {
+        return rowKeys[ThreadLocalRandom.current().nextInt(ROWS)];
+    }
+
+    private int randomStart() {
+        return ThreadLocalRandom.current().nextInt(ROWS - batchSize);
+    }
+
+    private Put newPut(String rowKey) {
+        Put put = new Put(Bytes.toBytes(rowKey));
+        for (int column = 0; column < COLUMNS; column++) {
+            put.addColumn(Bytes.toBytes(FAMILY), Bytes.toBytes("c" + column), value);
+        }
+        return put;
+    }
+}
@@ -0,0 +1,241 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionInfoBuilder;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableBuilder;
+import org.apache.hadoop.hbase.client.TableDescriptor;
+import org.apache.hadoop.hbase.security.User;
+import org.apache.hadoop.hbase.util.Pair;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description 进程内的 Connection，通过 hbase.client.connection.impl 配置替换真实连接，
+ * 组件的连接池、表句柄池、分组和切分逻辑都照常执行，只有 RPC 换成对 InMemoryStore 的读写。每张表只有一个 region
+ */
+public class InMemoryConnection implements Connection {
+
+    private static final ServerName SERVER = ServerName.valueOf("localhost", 16020, 1L);
+
+    private final Configuration configuration;
+    private volatile boolean closed = false;
+
+    /**
+     * ConnectionFactory 通过反射调用的构造方法
+     */
+    public InMemoryConnection(Configuration configuration, ExecutorService pool, User user) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public TableBuilder getTableBuilder(TableName tableName, ExecutorService pool) {
+        return new TableBuilder() {
+            @Override
+            public TableBuilder setOperationTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setReadRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setWriteRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public Table build() {
+                return new InMemoryTable(tableName, configuration);
+            }
+        };
+    }
+
+    @Override
+    public BufferedMutator getBufferedMutator(TableName tableName) {
+        return getBufferedMutator(new BufferedMutatorParams(tableName));
+    }
+
+    @Override
+    public BufferedMutator getBufferedMutator(BufferedMutatorParams params) {
+        TableName tableName = params.getTableName();
+        return new BufferedMutator() {
+            @Override
+            public TableName getName() {
+                return tableName;
+            }
+
+            @Override
+            public Configuration getConfiguration() {
+                return configuration;
+            }
+
+            @Override
+            public void mutate(Mutation mutation) throws IOException {
+                if (mutation instanceof Put) {
+                    InMemoryStore.put(tableName, (Put) mutation);
+                } else if (mutation instanceof Delete) {
+                    InMemoryStore.delete(tableName, (Delete) mutation);
+                } else {
+                    throw new IOException("unsupported mutation " + mutation.getClass().getName());
+                }
+            }
+
+            @Override
+            public void mutate(List<? extends Mutation> mutations) throws IOException {
+                for (Mutation mutation : mutations) {
+                    mutate(mutation);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public long getWriteBufferSize() {
+                return params.getWriteBufferSize();
+            }
+
+            @Override
+            public void setRpcTimeout(int timeout) {
+            }
+
+            @Override
+            public void setOperationTimeout(int timeout) {
+            }
+        };
+    }
+
+    @Override
+    public RegionLocator getRegionLocator(TableName tableName) {
+        HRegionLocation location = new HRegionLocation(RegionInfoBuilder.newBuilder(tableName).build(), SERVER);
+        return new RegionLocator() {
+            @Override
+            public HRegionLocation getRegionLocation(byte[] row) {
+                return location;
+            }
+
+            @Override
+            public HRegionLocation getRegionLocation(byte[] row, boolean reload) {
+                return location;
+            }
+
+            @Override
+            public List<HRegionLocation> getAllRegionLocations() {
+                return Collections.singletonList(location);
+            }
+
+            @Override
+            public byte[][] getStartKeys() {
+                return new byte[][]{HConstants.EMPTY_START_ROW};
+            }
+
+            @Override
+            public byte[][] getEndKeys() {
+                return new byte[][]{HConstants.EMPTY_END_ROW};
+            }
+
+            @Override
+            public Pair<byte[][], byte[][]> getStartEndKeys() {
+                return new Pair<>(getStartKeys(), getEndKeys());
+            }
+
+            @Override
+            public TableName getName() {
+                return tableName;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * 只实现建表、删表、清空表和判断表是否存在，其他管理操作抛出 UnsupportedOperationException
+     */
+    @Override
+    public Admin getAdmin() {
+        return (Admin) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Admin.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "tableExists":
+                    return InMemoryStore.exists((TableName) args[0]);
+                case "createTable":
+                    InMemoryStore.create(((TableDescriptor) args[0]).getTableName());
+                    return null;
+                case "deleteTable":
+                    InMemoryStore.drop((TableName) args[0]);
+                    return null;
+                case "truncateTable":
+                    InMemoryStore.truncate((TableName) args[0]);
+                    return null;
+                case "disableTable":
+                case "enableTable":
+                case "close":
+                    return null;
+                case "getConnection":
+                    return this;
+                case "getConfiguration":
+                    return configuration;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void abort(String why, Throwable e) {
+        closed = true;
+    }
+
+    @Override
+    public boolean isAborted() {
+        return closed;
+    }
+}
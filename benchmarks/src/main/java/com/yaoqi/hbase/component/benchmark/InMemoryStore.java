@@ -0,0 +1,159 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description 进程内的表数据，所有 InMemoryConnection 共用。每行保存为按 cell 顺序排好的 Result，
+ * 只保留每列最新的一个版本，足以覆盖组件自身的调用路径，不模拟服务端的过滤器和多版本语义
+ */
+public final class InMemoryStore {
+
+    private static final Map<TableName, ConcurrentSkipListMap<byte[], Result>> TABLES = new ConcurrentHashMap<>();
+
+    private InMemoryStore() {
+    }
+
+    public static boolean exists(TableName tableName) {
+        return TABLES.containsKey(tableName);
+    }
+
+    public static void create(TableName tableName) {
+        TABLES.putIfAbsent(tableName, new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR));
+    }
+
+    public static void drop(TableName tableName) {
+        TABLES.remove(tableName);
+    }
+
+    public static void truncate(TableName tableName) {
+        rows(tableName).clear();
+    }
+
+    /**
+     * 表的全部行，按 rowKey 排序
+     */
+    public static ConcurrentSkipListMap<byte[], Result> rows(TableName tableName) {
+        ConcurrentSkipListMap<byte[], Result> rows = TABLES.get(tableName);
+        if (rows == null) {
+            throw new IllegalStateException("table " + tableName + " does not exist");
+        }
+        return rows;
+    }
+
+    /**
+     * 写入一行，同一列的新值覆盖旧值
+     */
+    public static void put(TableName tableName, Put put) {
+        List<Cell> added = new ArrayList<>();
+        put.getFamilyCellMap().values().forEach(added::addAll);
+        rows(tableName).compute(put.getRow(), (row, current) -> merge(current, added));
+    }
+
+    /**
+     * 删除整行、列族或列
+     */
+    public static void delete(TableName tableName, Delete delete) {
+        if (delete.getFamilyCellMap().isEmpty()) {
+            rows(tableName).remove(delete.getRow());
+            return;
+        }
+        rows(tableName).computeIfPresent(delete.getRow(), (row, current) -> {
+            List<Cell> remaining = new ArrayList<>();
+            for (Cell cell : current.rawCells()) {
+                if (!deleted(delete, cell)) {
+                    remaining.add(cell);
+                }
+            }
+            return remaining.isEmpty() ? null : Result.create(remaining);
+        });
+    }
+
+    /**
+     * 按列族、列投影，familyMap 为空时返回整行
+     */
+    public static Result project(Result result, Map<byte[], NavigableSet<byte[]>> familyMap) {
+        if (result == null) {
+            return Result.EMPTY_RESULT;
+        }
+        if (familyMap == null || familyMap.isEmpty()) {
+            return result;
+        }
+        List<Cell> cells = new ArrayList<>();
+        for (Cell cell : result.rawCells()) {
+            for (Map.Entry<byte[], NavigableSet<byte[]>> entry : familyMap.entrySet()) {
+                if (CellUtil.matchingFamily(cell, entry.getKey())
+                        && (entry.getValue() == null || entry.getValue().isEmpty() || entry.getValue().contains(CellUtil.cloneQualifier(cell)))) {
+                    cells.add(cell);
+                    break;
+                }
+            }
+        }
+        return Result.create(cells);
+    }
+
+    /**
+     * [startRow, stopRow) 范围内的行，stopRow 为空表示到表尾
+     */
+    public static NavigableMap<byte[], Result> range(TableName tableName, byte[] startRow, boolean includeStartRow,
+                                                     byte[] stopRow, boolean includeStopRow) {
+        NavigableMap<byte[], Result> rows = rows(tableName);
+        if (stopRow != null && stopRow.length > 0) {
+            rows = rows.headMap(stopRow, includeStopRow);
+        }
+        if (startRow != null && startRow.length > 0) {
+            rows = rows.tailMap(startRow, includeStartRow);
+        }
+        return rows;
+    }
+
+    private static Result merge(Result current, List<Cell> added) {
+        List<Cell> cells = new ArrayList<>(added);
+        if (current != null) {
+            Collections.addAll(cells, current.rawCells());
+        }
+        // 排序是稳定的，新写入的 cell 排在同一列的旧 cell 之前
+        cells.sort(CellComparator.getInstance());
+        List<Cell> latest = new ArrayList<>(cells.size());
+        Cell previous = null;
+        for (Cell cell : cells) {
+            if (previous == null || !CellUtil.matchingColumn(previous, cell)) {
+                latest.add(cell);
+                previous = cell;
+            }
+        }
+        return Result.create(latest);
+    }
+
+    private static boolean deleted(Delete delete, Cell cell) {
+        for (Map.Entry<byte[], List<Cell>> entry : delete.getFamilyCellMap().entrySet()) {
+            if (!CellUtil.matchingFamily(cell, entry.getKey())) {
+                continue;
+            }
+            for (Cell marker : entry.getValue()) {
+                if (marker.getQualifierLength() == 0 || CellUtil.matchingQualifier(cell, marker)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
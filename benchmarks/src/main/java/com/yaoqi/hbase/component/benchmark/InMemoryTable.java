@@ -0,0 +1,181 @@
+package com.yaoqi.hbase.component.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableDescriptor;
+import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:40
+ * Modified
+ * Description 读写 InMemoryStore 的 Table，实现组件用到的 get、exists、put、delete、batch 和 scan
+ */
+public class InMemoryTable implements Table {
+
+    private final TableName tableName;
+    private final Configuration configuration;
+
+    public InMemoryTable(TableName tableName, Configuration configuration) {
+        this.tableName = tableName;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public TableName getName() {
+        return tableName;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public TableDescriptor getDescriptor() {
+        return TableDescriptorBuilder.newBuilder(tableName).build();
+    }
+
+    @Override
+    public boolean exists(Get get) {
+        return InMemoryStore.rows(tableName).containsKey(get.getRow());
+    }
+
+    @Override
+    public boolean[] exists(List<Get> gets) {
+        boolean[] results = new boolean[gets.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = exists(gets.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public Result get(Get get) {
+        return InMemoryStore.project(InMemoryStore.rows(tableName).get(get.getRow()), get.getFamilyMap());
+    }
+
+    @Override
+    public Result[] get(List<Get> gets) {
+        Result[] results = new Result[gets.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = get(gets.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public void put(Put put) {
+        InMemoryStore.put(tableName, put);
+    }
+
+    @Override
+    public void put(List<Put> puts) {
+        for (Put put : puts) {
+            put(put);
+        }
+    }
+
+    @Override
+    public void delete(Delete delete) {
+        InMemoryStore.delete(tableName, delete);
+    }
+
+    @Override
+    public void delete(List<Delete> deletes) {
+        for (Delete delete : deletes) {
+            delete(delete);
+        }
+    }
+
+    @Override
+    public void mutateRow(RowMutations rowMutations) throws IOException {
+        batch(rowMutations.getMutations(), null);
+    }
+
+    @Override
+    public void batch(List<? extends Row> actions, Object[] results) throws IOException {
+        for (int i = 0; i < actions.size(); i++) {
+            Row action = actions.get(i);
+            Object result;
+            if (action instanceof Get) {
+                result = get((Get) action);
+            } else if (action instanceof Put) {
+                put((Put) action);
+                result = Result.EMPTY_RESULT;
+            } else if (action instanceof Delete) {
+                delete((Delete) action);
+                result = Result.EMPTY_RESULT;
+            } else if (action instanceof RowMutations) {
+                mutateRow((RowMutations) action);
+                result = Result.EMPTY_RESULT;
+            } else {
+                throw new IOException("unsupported action " + action.getClass().getName());
+            }
+            if (results != null) {
+                results[i] = result;
+            }
+        }
+    }
+
+    @Override
+    public ResultScanner getScanner(Scan scan) {
+        Iterator<Result> rows = InMemoryStore.range(tableName, scan.getStartRow(), scan.includeStartRow(),
+                scan.getStopRow(), scan.includeStopRow()).values().iterator();
+        int limit = scan.getLimit() > 0 ? scan.getLimit() : Integer.MAX_VALUE;
+        return new ResultScanner() {
+            private int returned;
+
+            @Override
+            public Result next() {
+                if (returned >= limit || !rows.hasNext()) {
+                    return null;
+                }
+                returned++;
+                return InMemoryStore.project(rows.next(), scan.getFamilyMap());
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public boolean renewLease() {
+                return true;
+            }
+
+            @Override
+            public ScanMetrics getScanMetrics() {
+                return null;
+            }
+        };
+    }
+
+    @Override
+    public ResultScanner getScanner(byte[] family) {
+        return getScanner(new Scan().addFamily(family));
+    }
+
+    @Override
+    public ResultScanner getScanner(byte[] family, byte[] qualifier) {
+        return getScanner(new Scan().addColumn(family, qualifier));
+    }
+
+    @Override
+    public void close() {
+    }
+}
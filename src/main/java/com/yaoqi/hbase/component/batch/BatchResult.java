@@ -0,0 +1,46 @@
+package com.yaoqi.hbase.component.batch;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 13:52
+ * Modified
+ * Description 批量写入结果汇总，失败的分片不会抛出异常，需要通过 isSuccess()/getFailedChunks() 判断
+ */
+public class BatchResult {
+
+    private final List<ChunkResult> chunks;
+
+    public BatchResult(List<ChunkResult> chunks) {
+        this.chunks = Collections.unmodifiableList(chunks);
+    }
+
+    public List<ChunkResult> getChunks() {
+        return chunks;
+    }
+
+    public List<ChunkResult> getFailedChunks() {
+        return chunks.stream().filter(chunk -> !chunk.isSuccess()).collect(Collectors.toList());
+    }
+
+    public boolean isSuccess() {
+        return chunks.stream().allMatch(ChunkResult::isSuccess);
+    }
+
+    public int getSuccessCount() {
+        return chunks.stream().filter(ChunkResult::isSuccess).mapToInt(ChunkResult::getMutationCount).sum();
+    }
+
+    public int getFailedCount() {
+        return chunks.stream().filter(chunk -> !chunk.isSuccess()).mapToInt(ChunkResult::getMutationCount).sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{chunks=" + chunks.size() + ", successCount=" + getSuccessCount()
+                + ", failedCount=" + getFailedCount() + "}";
+    }
+}
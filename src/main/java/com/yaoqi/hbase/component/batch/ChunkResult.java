@@ -0,0 +1,60 @@
+package com.yaoqi.hbase.component.batch;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 13:52
+ * Modified
+ * Description 批量写入中单个分片的执行结果
+ */
+public class ChunkResult {
+
+    private final int index;
+    private final String server;
+    private final int mutationCount;
+    private final long heapSize;
+    private final long elapsedMillis;
+    private final Throwable error;
+
+    public ChunkResult(int index, String server, int mutationCount, long heapSize, long elapsedMillis, Throwable error) {
+        this.index = index;
+        this.server = server;
+        this.mutationCount = mutationCount;
+        this.heapSize = heapSize;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    public int getMutationCount() {
+        return mutationCount;
+    }
+
+    public long getHeapSize() {
+        return heapSize;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkResult{index=" + index + ", server=" + server + ", mutationCount=" + mutationCount
+                + ", heapSize=" + heapSize + ", elapsedMillis=" + elapsedMillis + ", success=" + isSuccess() + "}";
+    }
+}
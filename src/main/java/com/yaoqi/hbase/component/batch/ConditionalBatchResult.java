@@ -0,0 +1,74 @@
+package com.yaoqi.hbase.component.batch;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:10
+ * Modified
+ * Description 批量条件写入结果，下标与请求顺序一致。每条请求有三种结果：已写入、条件不满足、执行失败，
+ * 执行失败不会抛出异常，需要通过 isSuccess()/getError() 判断
+ */
+public class ConditionalBatchResult {
+
+    private final boolean[] applied;
+    private final Throwable[] errors;
+
+    public ConditionalBatchResult(boolean[] applied, Throwable[] errors) {
+        this.applied = applied;
+        this.errors = errors;
+    }
+
+    public int size() {
+        return applied.length;
+    }
+
+    /**
+     * 条件满足并已写入
+     */
+    public boolean isApplied(int index) {
+        return applied[index];
+    }
+
+    /**
+     * 执行失败的异常，未失败时返回 null
+     */
+    public Throwable getError(int index) {
+        return errors[index];
+    }
+
+    public boolean isSuccess() {
+        return getFailedCount() == 0;
+    }
+
+    public int getAppliedCount() {
+        int count = 0;
+        for (boolean value : applied) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailedCount() {
+        int count = 0;
+        for (Throwable error : errors) {
+            if (error != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 条件不满足的数量
+     */
+    public int getRejectedCount() {
+        return size() - getAppliedCount() - getFailedCount();
+    }
+
+    @Override
+    public String toString() {
+        return "ConditionalBatchResult{size=" + size() + ", appliedCount=" + getAppliedCount()
+                + ", rejectedCount=" + getRejectedCount() + ", failedCount=" + getFailedCount() + "}";
+    }
+}
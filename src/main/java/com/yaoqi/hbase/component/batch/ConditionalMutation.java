@@ -0,0 +1,161 @@
+package com.yaoqi.hbase.component.batch;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.constant.ExceptionMessage;
+import org.apache.hadoop.hbase.CompareOperator;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 00:10
+ * Modified
+ * Description 条件写入，检查同一行某一列的值满足条件时才执行写入，检查和写入在服务端原子完成。
+ * 检查的行就是写入的行，由写入操作的 rowKey 决定
+ */
+public class ConditionalMutation {
+
+    private final byte[] family;
+    private final byte[] qualifier;
+    private CompareOperator operator;
+    private byte[] value;
+    private Row action;
+
+    private ConditionalMutation(byte[] family, byte[] qualifier) {
+        this.family = family;
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * 检查一列
+     *
+     * @param family    列族名
+     * @param qualifier 列名
+     * @return 条件写入，默认条件为列不存在
+     */
+    public static ConditionalMutation check(String family, String qualifier) {
+        Assert.hasLengthBatch(family, qualifier);
+        return new ConditionalMutation(Bytes.toBytes(family), Bytes.toBytes(qualifier));
+    }
+
+    /**
+     * 列不存在时写入
+     *
+     * @return this
+     */
+    public ConditionalMutation ifNotExists() {
+        this.operator = null;
+        this.value = null;
+        return this;
+    }
+
+    /**
+     * 列的值等于 expected 时写入，expected 为 null 时等同于 ifNotExists
+     *
+     * @param expected 期望的值
+     * @return this
+     */
+    public ConditionalMutation ifEquals(byte[] expected) {
+        return ifMatches(CompareOperator.EQUAL, expected);
+    }
+
+    /**
+     * 列的值与 expected 的比较结果满足 operator 时写入，比较方式与 CompareOperator 一致：expected operator 列的值
+     *
+     * @param operator 比较操作
+     * @param expected 期望的值，为 null 时等同于 ifNotExists
+     * @return this
+     */
+    public ConditionalMutation ifMatches(CompareOperator operator, byte[] expected) {
+        Assert.notNull(operator);
+        if (expected == null) {
+            return ifNotExists();
+        }
+        this.operator = operator;
+        this.value = expected;
+        return this;
+    }
+
+    /**
+     * 条件满足时写入 put
+     *
+     * @param put put
+     * @return this
+     */
+    public ConditionalMutation thenPut(Put put) {
+        Assert.notNull(put);
+        this.action = put;
+        return this;
+    }
+
+    /**
+     * 条件满足时执行 delete
+     *
+     * @param delete delete
+     * @return this
+     */
+    public ConditionalMutation thenDelete(Delete delete) {
+        Assert.notNull(delete);
+        this.action = delete;
+        return this;
+    }
+
+    /**
+     * 条件满足时原子执行同一行的多个 put、delete
+     *
+     * @param rowMutations 同一行的写入操作
+     * @return this
+     */
+    public ConditionalMutation thenMutate(RowMutations rowMutations) {
+        Assert.notNull(rowMutations);
+        this.action = rowMutations;
+        return this;
+    }
+
+    /**
+     * 检查和写入的行
+     */
+    public byte[] getRow() {
+        return checkAction().getRow();
+    }
+
+    /**
+     * 写入操作，Put、Delete 或 RowMutations
+     */
+    public Row getAction() {
+        return action;
+    }
+
+    /**
+     * 在 table 上执行
+     *
+     * @param table table
+     * @return 条件满足并已写入时返回 true
+     * @throws IOException
+     */
+    public boolean apply(Table table) throws IOException {
+        Row row = checkAction();
+        Table.CheckAndMutateBuilder builder = table.checkAndMutate(row.getRow(), family).qualifier(qualifier);
+        builder = operator == null ? builder.ifNotExists() : builder.ifMatches(operator, value);
+        if (row instanceof Put) {
+            return builder.thenPut((Put) row);
+        }
+        if (row instanceof Delete) {
+            return builder.thenDelete((Delete) row);
+        }
+        return builder.thenMutate((RowMutations) row);
+    }
+
+    private Row checkAction() {
+        if (action == null) {
+            throw new IllegalArgumentException(ExceptionMessage.CONDITIONAL_ACTION_MISSING_MSG);
+        }
+        return action;
+    }
+}
@@ -0,0 +1,53 @@
+package com.yaoqi.hbase.component.batch;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 15:02
+ * Modified
+ * Description 并行批量查询结果，结果顺序与请求顺序一致，超时或失败的请求对应位置为 null
+ */
+public class MultiGetResult {
+
+    private final Result[] results;
+    private final int missingCount;
+    private final List<Throwable> errors;
+
+    public MultiGetResult(Result[] results, List<Throwable> errors) {
+        this.results = results;
+        this.errors = Collections.unmodifiableList(errors);
+        int missing = 0;
+        for (Result result : results) {
+            if (result == null) {
+                missing++;
+            }
+        }
+        this.missingCount = missing;
+    }
+
+    /**
+     * @return 按请求顺序排列的结果，未返回的请求对应位置为 null
+     */
+    public Result[] getResults() {
+        return results;
+    }
+
+    /**
+     * @return 是否所有请求都在截止时间前返回
+     */
+    public boolean isComplete() {
+        return missingCount == 0;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public List<Throwable> getErrors() {
+        return errors;
+    }
+}
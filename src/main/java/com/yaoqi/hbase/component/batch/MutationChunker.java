@@ -0,0 +1,69 @@
+package com.yaoqi.hbase.component.batch;
+
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.RegionLocator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 13:52
+ * Modified
+ * Description 批量写入分片工具，按 RegionServer 分组，再按条数和内存占用切分
+ */
+public class MutationChunker {
+
+    private MutationChunker() {
+    }
+
+    /**
+     * 按 RegionServer 分组，组内再按条数和内存占用切分
+     *
+     * @param locator     RegionLocator
+     * @param mutations   需要写入的数据
+     * @param maxCount    每个分片最大条数
+     * @param maxHeapSize 每个分片最大内存占用
+     * @return key 为 RegionServer，value 为该 RegionServer 下的分片
+     */
+    public static <M extends Mutation> Map<String, List<List<M>>> chunkByServer(RegionLocator locator, List<M> mutations,
+                                                                               int maxCount, long maxHeapSize) {
+        Map<String, List<M>> groups = new LinkedHashMap<>();
+        for (M mutation : mutations) {
+            groups.computeIfAbsent(RegionGrouper.serverOf(locator, mutation.getRow()), key -> new ArrayList<>()).add(mutation);
+        }
+        Map<String, List<List<M>>> chunks = new LinkedHashMap<>(groups.size());
+        groups.forEach((server, group) -> chunks.put(server, chunk(group, maxCount, maxHeapSize)));
+        return chunks;
+    }
+
+    /**
+     * 按条数和内存占用切分，任一阈值达到即开始新分片，单条超过内存阈值时独占一个分片
+     *
+     * @param mutations   需要写入的数据
+     * @param maxCount    每个分片最大条数
+     * @param maxHeapSize 每个分片最大内存占用
+     * @return 分片集合
+     */
+    public static <M extends Mutation> List<List<M>> chunk(List<M> mutations, int maxCount, long maxHeapSize) {
+        List<List<M>> chunks = new ArrayList<>();
+        List<M> current = new ArrayList<>();
+        long currentHeapSize = 0;
+        for (M mutation : mutations) {
+            long heapSize = mutation.heapSize();
+            if (!current.isEmpty() && (current.size() >= maxCount || currentHeapSize + heapSize > maxHeapSize)) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                currentHeapSize = 0;
+            }
+            current.add(mutation);
+            currentHeapSize += heapSize;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
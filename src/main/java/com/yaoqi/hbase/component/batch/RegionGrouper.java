@@ -0,0 +1,96 @@
+package com.yaoqi.hbase.component.batch;
+
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Row;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 15:02
+ * Modified
+ * Description 按 RegionServer 或 region 对请求分组，定位信息来自客户端的 region 缓存
+ */
+public class RegionGrouper {
+
+    /**
+     * 无法定位 RegionServer 时使用的分组
+     */
+    public static final String UNKNOWN_SERVER = "unknown";
+
+    private RegionGrouper() {
+    }
+
+    /**
+     * 按 RegionServer 分组，保持组内原有顺序
+     *
+     * @param locator RegionLocator
+     * @param rows    Get、Put、Delete 等请求
+     * @return key 为 RegionServer，value 为请求在原集合中的下标
+     */
+    public static Map<String, List<Integer>> groupIndexesByServer(RegionLocator locator, List<? extends Row> rows) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            groups.computeIfAbsent(serverOf(locator, rows.get(i).getRow()), key -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 按 region 分组，保持组内原有顺序
+     *
+     * @param locator RegionLocator
+     * @param rows    rowKey 集合
+     * @return key 为 region 的 encodedName，value 为 rowKey 在原集合中的下标
+     */
+    public static Map<String, List<Integer>> groupIndexesByRegion(RegionLocator locator, List<byte[]> rows) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            groups.computeIfAbsent(regionOf(locator, rows.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 定位 rowKey 所在的 region
+     *
+     * @param locator RegionLocator
+     * @param row     rowKey
+     * @return region 的 encodedName，定位失败时返回 UNKNOWN_SERVER
+     */
+    public static String regionOf(RegionLocator locator, byte[] row) {
+        try {
+            HRegionLocation location = locator.getRegionLocation(row);
+            if (location != null && location.getRegion() != null) {
+                return location.getRegion().getEncodedName();
+            }
+        } catch (IOException e) {
+            // 定位失败时交给客户端在请求时重新定位
+        }
+        return UNKNOWN_SERVER;
+    }
+
+    /**
+     * 定位 rowKey 所在的 RegionServer
+     *
+     * @param locator RegionLocator
+     * @param row     rowKey
+     * @return RegionServer 名称，定位失败时返回 UNKNOWN_SERVER
+     */
+    public static String serverOf(RegionLocator locator, byte[] row) {
+        try {
+            HRegionLocation location = locator.getRegionLocation(row);
+            if (location != null && location.getServerName() != null) {
+                return location.getServerName().getServerName();
+            }
+        } catch (IOException e) {
+            // 定位失败时交给客户端在请求时重新定位
+        }
+        return UNKNOWN_SERVER;
+    }
+}
@@ -0,0 +1,70 @@
+package com.yaoqi.hbase.component.cache;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:40
+ * Modified
+ * Description 将一行的 cell 紧凑地存放在一个字节数组中，每个 cell 为 4 字节长度加 KeyValue 格式的内容。
+ * 缓存中只保留这一个数组，不保留 Result、Cell 对象，还原时 KeyValue 直接引用该数组，不复制数据
+ */
+public class PackedCells {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private PackedCells() {
+    }
+
+    /**
+     * 打包一行数据
+     *
+     * @param result 查询结果
+     * @return 打包后的字节数组，空结果返回长度为 0 的数组
+     */
+    public static byte[] pack(Result result) {
+        Cell[] cells = result.rawCells();
+        if (cells == null || cells.length == 0) {
+            return EMPTY;
+        }
+        int size = 0;
+        for (Cell cell : cells) {
+            size += Bytes.SIZEOF_INT + KeyValueUtil.length(cell);
+        }
+        byte[] packed = new byte[size];
+        int offset = 0;
+        for (Cell cell : cells) {
+            offset = Bytes.putInt(packed, offset, KeyValueUtil.length(cell));
+            offset = KeyValueUtil.appendToByteArray(cell, packed, offset, true);
+        }
+        return packed;
+    }
+
+    /**
+     * 还原为 Result
+     *
+     * @param packed 打包后的字节数组
+     * @return 查询结果，cell 共享 packed 数组
+     */
+    public static Result unpack(byte[] packed) {
+        if (packed.length == 0) {
+            return Result.EMPTY_RESULT;
+        }
+        int count = 0;
+        for (int offset = 0; offset < packed.length; offset += Bytes.SIZEOF_INT + Bytes.toInt(packed, offset)) {
+            count++;
+        }
+        Cell[] cells = new Cell[count];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int length = Bytes.toInt(packed, offset);
+            cells[i] = new KeyValue(packed, offset + Bytes.SIZEOF_INT, length);
+            offset += Bytes.SIZEOF_INT + length;
+        }
+        return Result.create(cells);
+    }
+}
@@ -0,0 +1,163 @@
+package com.yaoqi.hbase.component.cache;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.metrics.HBaseMetrics;
+import com.yaoqi.hbase.component.pool.TableSettings;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:40
+ * Modified
+ * Description 客户端行缓存，缓存按 rowKey 查询整行的结果，按表配置 rowCacheMaxBytes 和 rowCacheTtl，未配置的表不缓存。
+ * 只对本组件发起的写入失效，其他客户端的写入在过期前不可见
+ */
+@Component
+public class RowCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowCache.class);
+
+    /**
+     * 未开启缓存的表
+     */
+    private static final TableRowCache DISABLED = new TableRowCache(0L, 0L);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private HBaseMetrics hBaseMetrics;
+
+    private final ConcurrentHashMap<String, TableRowCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 获取某张表的缓存
+     *
+     * @param tableName 表名
+     * @return 未开启缓存时返回 null
+     */
+    public TableRowCache getCache(String tableName) {
+        TableRowCache cache = caches.computeIfAbsent(tableName, this::create);
+        return cache == DISABLED ? null : cache;
+    }
+
+    private TableRowCache create(String tableName) {
+        long maxBytes = TableSettings.get(hBaseConfig, tableName, CommonConstant.ROW_CACHE_MAX_BYTES, CommonConstant.DEFAULT_ROW_CACHE_MAX_BYTES);
+        long ttl = TableSettings.get(hBaseConfig, tableName, CommonConstant.ROW_CACHE_TTL, CommonConstant.DEFAULT_ROW_CACHE_TTL);
+        if (maxBytes <= 0 || ttl <= 0) {
+            return DISABLED;
+        }
+        logger.info("row cache of table {} enabled, maxBytes : {}, ttl : {}ms", tableName, maxBytes, ttl);
+        TableRowCache cache = new TableRowCache(maxBytes, ttl);
+        hBaseMetrics.registerRowCache(tableName, cache);
+        return cache;
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param tableName 表名
+     * @param row       rowKey
+     * @return 未开启缓存、未缓存或已过期时返回 null
+     */
+    public Result get(String tableName, byte[] row) {
+        TableRowCache cache = getCache(tableName);
+        return cache == null ? null : cache.get(row);
+    }
+
+    /**
+     * 写入成功或失败后使涉及的行失效，失败的写入也可能已经部分生效
+     *
+     * @param tableName 表名
+     * @param mutations 写入的数据
+     */
+    public void invalidate(String tableName, Collection<? extends Mutation> mutations) {
+        TableRowCache cache = getCache(tableName);
+        if (cache != null && mutations != null) {
+            for (Mutation mutation : mutations) {
+                cache.invalidate(mutation.getRow());
+            }
+        }
+    }
+
+    /**
+     * 使某一行失效
+     *
+     * @param tableName 表名
+     * @param row       rowKey
+     */
+    public void invalidate(String tableName, byte[] row) {
+        TableRowCache cache = getCache(tableName);
+        if (cache != null) {
+            cache.invalidate(row);
+        }
+    }
+
+    /**
+     * 缓冲写入进入缓冲区前调用，提交完成前这些行不填充缓存
+     *
+     * @param tableName 表名
+     * @param mutations 缓冲的数据
+     */
+    public void beginWrite(String tableName, Collection<? extends Mutation> mutations) {
+        TableRowCache cache = getCache(tableName);
+        if (cache != null) {
+            for (Mutation mutation : mutations) {
+                cache.beginWrite(mutation.getRow());
+            }
+        }
+    }
+
+    /**
+     * 缓冲写入提交完成（成功或失败）后调用，使这些行失效并恢复填充
+     *
+     * @param tableName 表名
+     * @param rows      提交的行
+     */
+    public void endWrite(String tableName, Collection<byte[]> rows) {
+        TableRowCache cache = getCache(tableName);
+        if (cache != null) {
+            for (byte[] row : rows) {
+                cache.endWrite(row);
+            }
+        }
+    }
+
+    /**
+     * 清空某张表的缓存，删除表、清空表时调用
+     *
+     * @param tableName 表名
+     */
+    public void invalidateTable(String tableName) {
+        TableRowCache cache = caches.get(tableName);
+        if (cache != null && cache != DISABLED) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 获取所有开启缓存的表的统计信息
+     *
+     * @return 表名到统计信息的映射
+     */
+    public Map<String, RowCacheStats> getStats() {
+        Map<String, RowCacheStats> stats = new LinkedHashMap<>();
+        caches.forEach((tableName, cache) -> {
+            if (cache != DISABLED) {
+                stats.put(tableName, cache.getStats());
+            }
+        });
+        return stats;
+    }
+}
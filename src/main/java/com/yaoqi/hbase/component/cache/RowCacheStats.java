@@ -0,0 +1,97 @@
+package com.yaoqi.hbase.component.cache;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:40
+ * Modified
+ * Description 行缓存统计信息快照
+ */
+public class RowCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expiredCount;
+    private final long invalidationCount;
+    private final long entryCount;
+    private final long byteSize;
+    private final long maxBytes;
+
+    public RowCacheStats(long hitCount, long missCount, long evictionCount, long expiredCount,
+                         long invalidationCount, long entryCount, long byteSize, long maxBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+        this.invalidationCount = invalidationCount;
+        this.entryCount = entryCount;
+        this.byteSize = byteSize;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 命中率，没有请求时为 0
+     *
+     * @return 命中率
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 因超过字节上限被淘汰的行数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * 因写入被失效的次数
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * 估算的内存占用，单位：字节
+     */
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "RowCacheStats{" +
+                "hitRate=" + String.format("%.4f", getHitRate()) +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", expiredCount=" + expiredCount +
+                ", invalidationCount=" + invalidationCount +
+                ", entryCount=" + entryCount +
+                ", byteSize=" + byteSize +
+                ", maxBytes=" + maxBytes +
+                '}';
+    }
+}
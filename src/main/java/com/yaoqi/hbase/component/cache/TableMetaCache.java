@@ -0,0 +1,207 @@
+package com.yaoqi.hbase.component.cache;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 10:12
+ * Modified
+ * Description 表元数据缓存，缓存表是否存在的判断结果，避免每次数据操作都通过 Admin 访问 master。
+ * 表不存在的结果使用较短的过期时间，同一张表同一时刻只有一个查询访问 master，其他调用等待其结果
+ */
+@Component
+public class TableMetaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableMetaCache.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> loads = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long ttlMillis;
+    private long negativeTtlMillis;
+
+    @PostConstruct
+    private void init() {
+        long ttl = hBaseConfig.getLongConfig(CommonConstant.TABLE_CACHE_TTL, CommonConstant.DEFAULT_TABLE_CACHE_TTL);
+        long negativeTtl = Math.min(ttl, hBaseConfig.getLongConfig(CommonConstant.TABLE_CACHE_NEGATIVE_TTL, CommonConstant.DEFAULT_TABLE_CACHE_NEGATIVE_TTL));
+        ttlMillis = TimeUnit.SECONDS.toMillis(ttl);
+        negativeTtlMillis = TimeUnit.SECONDS.toMillis(negativeTtl);
+        logger.info("table meta cache ttl : {}s, negative ttl : {}s", ttl, negativeTtl);
+    }
+
+    /**
+     * 获取缓存的表是否存在结果
+     *
+     * @param tableName 表名
+     * @return 未缓存或已过期时返回 null
+     */
+    public Boolean get(String tableName) {
+        Entry entry = cache.get(tableName);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis()) {
+            cache.remove(tableName, entry);
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.exists;
+    }
+
+    /**
+     * 获取表是否存在，未缓存时调用 loader 查询并缓存结果；同一张表并发的查询只执行一次 loader
+     *
+     * @param tableName 表名
+     * @param loader    查询表是否存在
+     * @return 表是否存在
+     * @throws IOException 查询失败
+     */
+    public boolean load(String tableName, Loader loader) throws IOException {
+        CompletableFuture<Boolean> future = loadAsync(tableName, () -> {
+            try {
+                return CompletableFuture.completedFuture(loader.load());
+            } catch (IOException e) {
+                CompletableFuture<Boolean> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        });
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("load table meta of " + tableName + " interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 异步获取表是否存在，未缓存时调用 loader 查询并缓存结果；同一张表并发的查询只执行一次 loader
+     *
+     * @param tableName 表名
+     * @param loader    发起查询
+     * @return 表是否存在
+     */
+    public CompletableFuture<Boolean> loadAsync(String tableName, Supplier<CompletableFuture<Boolean>> loader) {
+        Boolean cached = get(tableName);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> loading = loads.putIfAbsent(tableName, created);
+        if (loading != null) {
+            return loading;
+        }
+        CompletableFuture<Boolean> future;
+        try {
+            future = loader.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((exists, e) -> {
+            // 先写入缓存再移除查询，之后的调用直接命中缓存
+            if (e == null) {
+                put(tableName, exists);
+            }
+            loads.remove(tableName, created);
+            if (e == null) {
+                created.complete(exists);
+            } else {
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * 更新缓存，表不存在的结果按 tableCacheNegativeTtl 过期
+     *
+     * @param tableName 表名
+     * @param exists    表是否存在
+     */
+    public void put(String tableName, boolean exists) {
+        long ttl = exists ? ttlMillis : negativeTtlMillis;
+        if (ttl <= 0) {
+            cache.remove(tableName);
+            return;
+        }
+        cache.put(tableName, new Entry(exists, System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * 使某张表的缓存失效
+     *
+     * @param tableName 表名
+     */
+    public void invalidate(String tableName) {
+        cache.remove(tableName);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 查询表是否存在
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        boolean load() throws IOException;
+    }
+
+    private static final class Entry {
+        private final boolean exists;
+        private final long expireAt;
+
+        private Entry(boolean exists, long expireAt) {
+            this.exists = exists;
+            this.expireAt = expireAt;
+        }
+    }
+}
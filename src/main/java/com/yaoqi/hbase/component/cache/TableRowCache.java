@@ -0,0 +1,267 @@
+package com.yaoqi.hbase.component.cache;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:40
+ * Modified
+ * Description 单张表的行缓存，按 rowKey 分段加锁，每段是按访问顺序排列的 LRU，超过该段的字节上限时淘汰最久未访问的行。
+ * 写入与缓存填充之间的竞争通过失效版本号解决：查询前取版本号，该段在查询期间发生过失效时不填充缓存。
+ * 缓冲写入在提交完成前不知道何时生效，期间该行标记为待提交，不填充缓存，提交完成后再次失效
+ */
+public class TableRowCache {
+
+    /**
+     * 默认分段数
+     */
+    static final int DEFAULT_SEGMENTS = 16;
+
+    /**
+     * 每个缓存项除数据以外的估算内存占用：LinkedHashMap 节点、key、缓存项对象和数组头
+     */
+    static final int ENTRY_OVERHEAD = 112;
+
+    private final Segment[] segments;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public TableRowCache(long maxBytes, long ttlMillis) {
+        this(maxBytes, ttlMillis, DEFAULT_SEGMENTS, System::currentTimeMillis);
+    }
+
+    TableRowCache(long maxBytes, long ttlMillis, int segmentCount, LongSupplier clock) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxBytes / segmentCount);
+        }
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param row rowKey
+     * @return 未缓存或已过期时返回 null
+     */
+    public Result get(byte[] row) {
+        Key key = new Key(row);
+        Segment segment = segmentFor(key);
+        byte[] packed;
+        synchronized (segment) {
+            Entry entry = segment.map.get(key);
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            if (entry.expireAt < clock.getAsLong()) {
+                segment.remove(key);
+                expiredCount.increment();
+                missCount.increment();
+                return null;
+            }
+            packed = entry.packed;
+        }
+        hitCount.increment();
+        return PackedCells.unpack(packed);
+    }
+
+    /**
+     * 查询 HBase 之前获取该行所在段的失效版本号
+     *
+     * @param row rowKey
+     * @return 版本号
+     */
+    public long stamp(byte[] row) {
+        Segment segment = segmentFor(new Key(row));
+        synchronized (segment) {
+            return segment.invalidations;
+        }
+    }
+
+    /**
+     * 填充缓存，查询期间该段发生过失效时放弃填充，避免缓存旧数据
+     *
+     * @param row    rowKey
+     * @param result 查询结果
+     * @param stamp  查询前获取的版本号
+     * @return 是否填充成功
+     */
+    public boolean put(byte[] row, Result result, long stamp) {
+        byte[] packed = PackedCells.pack(result);
+        Key key = new Key(row);
+        Segment segment = segmentFor(key);
+        long weight = ENTRY_OVERHEAD + row.length + packed.length;
+        if (weight > segment.maxBytes) {
+            return false;
+        }
+        synchronized (segment) {
+            if (segment.invalidations != stamp || segment.pending.containsKey(key)) {
+                return false;
+            }
+            segment.remove(key);
+            segment.map.put(key, new Entry(packed, weight, clock.getAsLong() + ttlMillis));
+            segment.bytes += weight;
+            Iterator<Entry> iterator = segment.map.values().iterator();
+            while (segment.bytes > segment.maxBytes && iterator.hasNext()) {
+                segment.bytes -= iterator.next().weight;
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使某行失效
+     *
+     * @param row rowKey
+     */
+    public void invalidate(byte[] row) {
+        Key key = new Key(row);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.remove(key);
+        }
+        invalidationCount.increment();
+    }
+
+    /**
+     * 标记一行有尚未确认提交的缓冲写入，在 endWrite 之前不填充缓存
+     *
+     * @param row rowKey
+     */
+    public void beginWrite(byte[] row) {
+        Key key = new Key(row);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.remove(key);
+            segment.pending.merge(key, 1, Integer::sum);
+        }
+        invalidationCount.increment();
+    }
+
+    /**
+     * 缓冲写入提交完成（成功或失败）后调用，使该行失效，最后一个待提交的写入结束后恢复填充
+     *
+     * @param row rowKey
+     */
+    public void endWrite(byte[] row) {
+        Key key = new Key(row);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.remove(key);
+            segment.pending.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+        invalidationCount.increment();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.invalidations++;
+                segment.map.clear();
+                segment.bytes = 0;
+            }
+        }
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return 统计信息快照
+     */
+    public RowCacheStats getStats() {
+        long entries = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries += segment.map.size();
+                bytes += segment.bytes;
+            }
+        }
+        return new RowCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expiredCount.sum(),
+                invalidationCount.sum(), entries, bytes, maxBytes);
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hash ^ (key.hash >>> 16);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private static final class Segment {
+        private final long maxBytes;
+        private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+        /**
+         * 有待提交缓冲写入的行及其写入次数
+         */
+        private final HashMap<Key, Integer> pending = new HashMap<>();
+        private long bytes;
+        private long invalidations;
+
+        private Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private void remove(Key key) {
+            Entry removed = map.remove(key);
+            if (removed != null) {
+                bytes -= removed.weight;
+            }
+        }
+    }
+
+    private static final class Key {
+        private final byte[] row;
+        private final int hash;
+
+        private Key(byte[] row) {
+            this.row = row;
+            this.hash = Arrays.hashCode(row);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(row, ((Key) o).row);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] packed;
+        private final long weight;
+        private final long expireAt;
+
+        private Entry(byte[] packed, long weight, long expireAt) {
+            this.packed = packed;
+            this.weight = weight;
+            this.expireAt = expireAt;
+        }
+    }
+}
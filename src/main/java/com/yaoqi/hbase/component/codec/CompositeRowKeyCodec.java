@@ -0,0 +1,104 @@
+package com.yaoqi.hbase.component.codec;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.constant.ExceptionMessage;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 18:30
+ * Modified
+ * Description 组合 rowKey 编解码器，各部分按顺序直接拼接，不加分隔符。
+ * 只有最后一部分可以是变长编码，其余部分必须定长，解码时按偏移量切分
+ */
+public class CompositeRowKeyCodec implements RowKeyCodec<Object[]> {
+
+    private final RowKeyCodec<Object>[] codecs;
+    private final int fixedLength;
+
+    @SuppressWarnings("unchecked")
+    public CompositeRowKeyCodec(RowKeyCodec<?>... codecs) {
+        Assert.notNull(codecs);
+        int length = 0;
+        for (int i = 0; i < codecs.length; i++) {
+            Assert.notNull(codecs[i]);
+            int partLength = codecs[i].fixedLength();
+            if (partLength < 0) {
+                if (i != codecs.length - 1) {
+                    throw new IllegalArgumentException(ExceptionMessage.VARIABLE_LENGTH_PART_MSG + i);
+                }
+                length = -1;
+            } else if (length >= 0) {
+                length += partLength;
+            }
+        }
+        this.codecs = (RowKeyCodec<Object>[]) codecs.clone();
+        this.fixedLength = length;
+    }
+
+    @Override
+    public byte[] encode(Object[] value) {
+        if (value.length != codecs.length) {
+            throw new IllegalArgumentException(ExceptionMessage.COMPOSITE_PART_COUNT_MSG + codecs.length);
+        }
+        byte[][] parts = new byte[value.length][];
+        for (int i = 0; i < value.length; i++) {
+            parts[i] = codecs[i].encode(value[i]);
+        }
+        return concat(parts);
+    }
+
+    @Override
+    public Object[] decode(byte[] bytes, int offset, int length) {
+        Object[] value = new Object[codecs.length];
+        int position = offset;
+        int end = offset + length;
+        for (int i = 0; i < codecs.length; i++) {
+            int partLength = codecs[i].fixedLength();
+            if (partLength < 0) {
+                partLength = end - position;
+            }
+            value[i] = codecs[i].decode(bytes, position, partLength);
+            position += partLength;
+        }
+        return value;
+    }
+
+    @Override
+    public int fixedLength() {
+        return fixedLength;
+    }
+
+    /**
+     * 按各部分的运行时类型查找编解码器并拼接
+     *
+     * @param parts 组合 rowKey 的各部分
+     * @return 编码后的字节数组
+     */
+    @SuppressWarnings("unchecked")
+    static byte[] encodeParts(Object[] parts) {
+        byte[][] encoded = new byte[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            Assert.notNull(parts[i]);
+            RowKeyCodec<Object> codec = (RowKeyCodec<Object>) RowKeyCodecRegistry.get(parts[i].getClass());
+            if (codec.fixedLength() < 0 && i != parts.length - 1) {
+                throw new IllegalArgumentException(ExceptionMessage.VARIABLE_LENGTH_PART_MSG + i);
+            }
+            encoded[i] = codec.encode(parts[i]);
+        }
+        return concat(encoded);
+    }
+
+    private static byte[] concat(byte[][] parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int position = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yaoqi.hbase.component.codec;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 18:10
+ * Modified
+ * Description rowKey 编解码接口
+ */
+public interface RowKeyCodec<T> {
+
+    /**
+     * 编码为 rowKey
+     *
+     * @param value 值
+     * @return rowKey
+     */
+    byte[] encode(T value);
+
+    /**
+     * 从字节数组的指定区间解码
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 值
+     */
+    T decode(byte[] bytes, int offset, int length);
+
+    /**
+     * 解码整个字节数组
+     *
+     * @param bytes rowKey
+     * @return 值
+     */
+    default T decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 编码后的固定长度，变长编码返回 -1
+     *
+     * @return 固定长度
+     */
+    default int fixedLength() {
+        return -1;
+    }
+}
@@ -0,0 +1,109 @@
+package com.yaoqi.hbase.component.codec;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.constant.ExceptionMessage;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 18:20
+ * Modified
+ * Description rowKey 编解码器注册表，按类型查找编解码器。
+ * 查找结果（包括按父类、接口匹配到的结果）按类型缓存，热路径上只有一次 map 查询
+ */
+public class RowKeyCodecRegistry {
+
+    /**
+     * 显式注册的编解码器
+     */
+    private static final Map<Class<?>, RowKeyCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * 已解析的编解码器，register 时清空
+     */
+    private static final Map<Class<?>, RowKeyCodec<?>> RESOLVED = new ConcurrentHashMap<>();
+
+    static {
+        CODECS.put(String.class, RowKeyCodecs.STRING);
+        CODECS.put(Long.class, RowKeyCodecs.LONG);
+        CODECS.put(Integer.class, RowKeyCodecs.INTEGER);
+        CODECS.put(Double.class, RowKeyCodecs.DOUBLE);
+        CODECS.put(Short.class, RowKeyCodecs.SHORT);
+        CODECS.put(Float.class, RowKeyCodecs.FLOAT);
+        CODECS.put(Boolean.class, RowKeyCodecs.BOOLEAN);
+        CODECS.put(byte[].class, RowKeyCodecs.BYTES);
+        CODECS.put(UUID.class, RowKeyCodecs.UUID_CODEC);
+    }
+
+    private RowKeyCodecRegistry() {
+    }
+
+    /**
+     * 注册编解码器，覆盖同类型已有的编解码器
+     *
+     * @param type  类型
+     * @param codec 编解码器
+     * @param <T>   泛型
+     */
+    public static <T> void register(Class<T> type, RowKeyCodec<? super T> codec) {
+        Assert.notNullBatch(type, codec);
+        CODECS.put(type, codec);
+        RESOLVED.clear();
+    }
+
+    /**
+     * 获取类型对应的编解码器，没有精确匹配时按父类、接口查找
+     *
+     * @param type 类型
+     * @param <T>  泛型
+     * @return 编解码器
+     * @throws IllegalArgumentException 没有可用的编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowKeyCodec<T> get(Class<T> type) {
+        Assert.notNull(type);
+        RowKeyCodec<?> codec = RESOLVED.get(type);
+        if (codec == null) {
+            codec = resolve(type);
+            if (codec == null) {
+                throw new IllegalArgumentException(ExceptionMessage.UNSUPPORTED_ROW_KEY_TYPE_MSG + type.getName());
+            }
+            RESOLVED.put(type, codec);
+        }
+        return (RowKeyCodec<T>) codec;
+    }
+
+    /**
+     * 编码 rowKey，Object[] 按组合 rowKey 依次编码各部分
+     *
+     * @param value rowKey
+     * @return 编码后的字节数组
+     * @throws IllegalArgumentException 没有可用的编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static byte[] encode(Object value) {
+        Assert.notNull(value);
+        if (value instanceof Object[]) {
+            return CompositeRowKeyCodec.encodeParts((Object[]) value);
+        }
+        return ((RowKeyCodec<Object>) get(value.getClass())).encode(value);
+    }
+
+    private static RowKeyCodec<?> resolve(Class<?> type) {
+        RowKeyCodec<?> codec = CODECS.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            codec = resolve(iface);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        Class<?> superclass = type.getSuperclass();
+        return superclass == null ? null : resolve(superclass);
+    }
+}
@@ -0,0 +1,192 @@
+package com.yaoqi.hbase.component.codec;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 18:10
+ * Modified
+ * Description 内置 rowKey 编解码器。
+ * STRING、LONG、INTEGER、DOUBLE、SHORT、FLOAT、BOOLEAN 与 Bytes.toBytes 的编码一致，也用于实体映射中列值的编解码；
+ * ORDERED_* 为保序编码，编码后的字节序与数值大小顺序一致，负数排在正数之前，适合做范围扫描
+ */
+public class RowKeyCodecs {
+
+    private RowKeyCodecs() {
+    }
+
+    public static final RowKeyCodec<String> STRING = new RowKeyCodec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return Bytes.toBytes(value);
+        }
+
+        @Override
+        public String decode(byte[] bytes, int offset, int length) {
+            return Bytes.toString(bytes, offset, length);
+        }
+    };
+
+    public static final RowKeyCodec<byte[]> BYTES = new RowKeyCodec<byte[]>() {
+        @Override
+        public byte[] encode(byte[] value) {
+            return value;
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes, int offset, int length) {
+            return Arrays.copyOfRange(bytes, offset, offset + length);
+        }
+    };
+
+    public static final RowKeyCodec<Long> LONG = new FixedLengthCodec<Long>(Bytes.SIZEOF_LONG) {
+        @Override
+        public byte[] encode(Long value) {
+            return Bytes.toBytes(value.longValue());
+        }
+
+        @Override
+        public Long decode(byte[] bytes, int offset, int length) {
+            return Bytes.toLong(bytes, offset, length);
+        }
+    };
+
+    public static final RowKeyCodec<Integer> INTEGER = new FixedLengthCodec<Integer>(Bytes.SIZEOF_INT) {
+        @Override
+        public byte[] encode(Integer value) {
+            return Bytes.toBytes(value.intValue());
+        }
+
+        @Override
+        public Integer decode(byte[] bytes, int offset, int length) {
+            return Bytes.toInt(bytes, offset, length);
+        }
+    };
+
+    public static final RowKeyCodec<Double> DOUBLE = new FixedLengthCodec<Double>(Bytes.SIZEOF_DOUBLE) {
+        @Override
+        public byte[] encode(Double value) {
+            return Bytes.toBytes(value.doubleValue());
+        }
+
+        @Override
+        public Double decode(byte[] bytes, int offset, int length) {
+            return Bytes.toDouble(bytes, offset);
+        }
+    };
+
+    public static final RowKeyCodec<Short> SHORT = new FixedLengthCodec<Short>(Bytes.SIZEOF_SHORT) {
+        @Override
+        public byte[] encode(Short value) {
+            return Bytes.toBytes(value.shortValue());
+        }
+
+        @Override
+        public Short decode(byte[] bytes, int offset, int length) {
+            return Bytes.toShort(bytes, offset, length);
+        }
+    };
+
+    public static final RowKeyCodec<Float> FLOAT = new FixedLengthCodec<Float>(Bytes.SIZEOF_FLOAT) {
+        @Override
+        public byte[] encode(Float value) {
+            return Bytes.toBytes(value.floatValue());
+        }
+
+        @Override
+        public Float decode(byte[] bytes, int offset, int length) {
+            return Bytes.toFloat(bytes, offset);
+        }
+    };
+
+    public static final RowKeyCodec<Boolean> BOOLEAN = new FixedLengthCodec<Boolean>(Bytes.SIZEOF_BOOLEAN) {
+        @Override
+        public byte[] encode(Boolean value) {
+            return Bytes.toBytes(value.booleanValue());
+        }
+
+        @Override
+        public Boolean decode(byte[] bytes, int offset, int length) {
+            return bytes[offset] != 0;
+        }
+    };
+
+    public static final RowKeyCodec<UUID> UUID_CODEC = new FixedLengthCodec<UUID>(2 * Bytes.SIZEOF_LONG) {
+        @Override
+        public byte[] encode(UUID value) {
+            byte[] bytes = new byte[2 * Bytes.SIZEOF_LONG];
+            Bytes.putLong(bytes, 0, value.getMostSignificantBits());
+            Bytes.putLong(bytes, Bytes.SIZEOF_LONG, value.getLeastSignificantBits());
+            return bytes;
+        }
+
+        @Override
+        public UUID decode(byte[] bytes, int offset, int length) {
+            return new UUID(Bytes.toLong(bytes, offset), Bytes.toLong(bytes, offset + Bytes.SIZEOF_LONG));
+        }
+    };
+
+    /**
+     * 保序 long 编码，翻转符号位
+     */
+    public static final RowKeyCodec<Long> ORDERED_LONG = new FixedLengthCodec<Long>(Bytes.SIZEOF_LONG) {
+        @Override
+        public byte[] encode(Long value) {
+            return Bytes.toBytes(value ^ Long.MIN_VALUE);
+        }
+
+        @Override
+        public Long decode(byte[] bytes, int offset, int length) {
+            return Bytes.toLong(bytes, offset, length) ^ Long.MIN_VALUE;
+        }
+    };
+
+    /**
+     * 保序 int 编码，翻转符号位
+     */
+    public static final RowKeyCodec<Integer> ORDERED_INTEGER = new FixedLengthCodec<Integer>(Bytes.SIZEOF_INT) {
+        @Override
+        public byte[] encode(Integer value) {
+            return Bytes.toBytes(value ^ Integer.MIN_VALUE);
+        }
+
+        @Override
+        public Integer decode(byte[] bytes, int offset, int length) {
+            return Bytes.toInt(bytes, offset, length) ^ Integer.MIN_VALUE;
+        }
+    };
+
+    /**
+     * 保序 double 编码，正数翻转符号位，负数翻转全部位
+     */
+    public static final RowKeyCodec<Double> ORDERED_DOUBLE = new FixedLengthCodec<Double>(Bytes.SIZEOF_DOUBLE) {
+        @Override
+        public byte[] encode(Double value) {
+            long bits = Double.doubleToLongBits(value);
+            return Bytes.toBytes(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+        }
+
+        @Override
+        public Double decode(byte[] bytes, int offset, int length) {
+            long bits = Bytes.toLong(bytes, offset, length);
+            bits = bits < 0 ? bits ^ Long.MIN_VALUE : ~bits;
+            return Double.longBitsToDouble(bits);
+        }
+    };
+
+    private abstract static class FixedLengthCodec<T> implements RowKeyCodec<T> {
+        private final int length;
+
+        private FixedLengthCodec(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int fixedLength() {
+            return length;
+        }
+    }
+}
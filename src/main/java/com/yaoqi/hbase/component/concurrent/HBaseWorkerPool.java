@@ -0,0 +1,127 @@
+package com.yaoqi.hbase.component.concurrent;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import org.apache.hadoop.hbase.shaded.org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 13:40
+ * Modified
+ * Description 组件工作线程池，批量写入、并行查询等操作共用，线程数由 workerThreads 配置
+ */
+@Component
+public class HBaseWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(HBaseWorkerPool.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    private void init() {
+        int threads = hBaseConfig.getIntConfig(CommonConstant.WORKER_THREADS, CommonConstant.DEFAULT_WORKER_THREADS);
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern("hbase-worker-pool-%d").daemon(true).build());
+        logger.info("hbase worker pool threads : {}", threads);
+    }
+
+    /**
+     * 提交单个任务
+     *
+     * @param task 任务
+     * @return Future
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * 以有限并发执行一批任务，同一时刻最多 parallelism 个任务在执行，返回结果与任务顺序一致
+     *
+     * @param tasks       任务集合
+     * @param parallelism 最大并发数
+     * @return 按任务顺序排列的结果
+     * @throws InterruptedException
+     * @throws ExecutionException   任一任务抛出异常时取消其余任务并抛出
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int parallelism) throws InterruptedException, ExecutionException {
+        return invokeAll(tasks, parallelism, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 以有限并发执行一批任务，超过截止时间后取消未完成的任务，未完成任务对应的结果为 null
+     *
+     * @param tasks       任务集合
+     * @param parallelism 最大并发数
+     * @param timeout     超时时间，小于等于0时不限制
+     * @param unit        时间单位
+     * @return 按任务顺序排列的结果
+     * @throws InterruptedException
+     * @throws ExecutionException   任一任务抛出异常时取消其余任务并抛出
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int parallelism, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException {
+        int size = tasks.size();
+        List<T> results = new ArrayList<>(Collections.nCopies(size, null));
+        if (size == 0) {
+            return results;
+        }
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0L;
+        CompletionService<Map.Entry<Integer, T>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Map.Entry<Integer, T>>> futures = new ArrayList<>(size);
+        int submitted = 0;
+        int limit = Math.max(1, Math.min(parallelism, size));
+        try {
+            for (; submitted < limit; submitted++) {
+                futures.add(submitIndexed(completionService, tasks, submitted));
+            }
+            for (int done = 0; done < size; done++) {
+                Future<Map.Entry<Integer, T>> future;
+                if (deadline == 0L) {
+                    future = completionService.take();
+                } else {
+                    future = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (future == null) {
+                        logger.warn("{} of {} tasks not finished before deadline", size - done, size);
+                        break;
+                    }
+                }
+                Map.Entry<Integer, T> entry = future.get();
+                results.set(entry.getKey(), entry.getValue());
+                if (submitted < size) {
+                    futures.add(submitIndexed(completionService, tasks, submitted++));
+                }
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    private static <T> Future<Map.Entry<Integer, T>> submitIndexed(CompletionService<Map.Entry<Integer, T>> completionService,
+                                                                   List<? extends Callable<T>> tasks, int index) {
+        Callable<T> task = tasks.get(index);
+        return completionService.submit(() -> new AbstractMap.SimpleImmutableEntry<>(index, task.call()));
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,35 @@
+package com.yaoqi.hbase.component.config;
+
+import org.apache.hadoop.hbase.client.AsyncConnection;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 04:40
+ * Modified
+ * Description 异步连接租约，持有期间连接不会因刷新而关闭，请求的 future 完成后关闭，重复关闭无影响
+ */
+public class AsyncConnectionLease implements AutoCloseable {
+
+    private final PooledAsyncConnection pooledConnection;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    AsyncConnectionLease(PooledAsyncConnection pooledConnection) {
+        this.pooledConnection = pooledConnection;
+    }
+
+    public AsyncConnection getConnection() {
+        return pooledConnection.getConnection();
+    }
+
+    /**
+     * 归还租约
+     */
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pooledConnection.release();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.yaoqi.hbase.component.config;
+
+import org.apache.hadoop.hbase.client.Connection;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:00
+ * Modified
+ * Description 连接租约，持有期间连接不会因刷新而关闭，使用完毕后必须关闭，重复关闭无影响
+ */
+public class ConnectionLease implements AutoCloseable {
+
+    private final PooledConnection pooledConnection;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    ConnectionLease(PooledConnection pooledConnection) {
+        this.pooledConnection = pooledConnection;
+    }
+
+    public Connection getConnection() {
+        return pooledConnection.getConnection();
+    }
+
+    public PooledConnection getPooledConnection() {
+        return pooledConnection;
+    }
+
+    /**
+     * 归还租约
+     */
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pooledConnection.release();
+        }
+    }
+}
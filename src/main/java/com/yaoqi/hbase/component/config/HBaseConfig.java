@@ -1,10 +1,12 @@
 package com.yaoqi.hbase.component.config;
 
+import com.yaoqi.hbase.component.constant.CommonConstant;
 import com.yaoqi.hbase.component.constant.KerberosConstant;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.client.AsyncConnection;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.security.User;
@@ -16,12 +18,20 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author YaoQi
@@ -40,8 +50,16 @@ public class HBaseConfig {
     private String znodeParent;
     private Map<String, String> config;
     private User user = null;
-    private volatile Connection connection;
-    private static ConcurrentLinkedQueue<Connection> queue = new ConcurrentLinkedQueue<>();
+    private volatile PooledConnection[] connections;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private int poolSize = CommonConstant.DEFAULT_CONNECTION_POOL_SIZE;
+    private boolean leastInFlight = false;
+    private static ConcurrentLinkedQueue<PooledConnection> queue = new ConcurrentLinkedQueue<>();
+    private volatile ScheduledExecutorService scheduler;
+    private volatile PooledAsyncConnection asyncConnection;
+    private final ConcurrentLinkedQueue<PooledAsyncConnection> retiredAsyncConnections = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<Connection>> connectionListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
 
     /**
      * 初始化配置
@@ -74,9 +92,6 @@ public class HBaseConfig {
                 configuration.set("hbase.regionserver.kerberos.principal", regionserverPrincipal);
             }
             UserGroupInformation.setConfiguration(configuration);
-            UserGroupInformation.loginUserFromKeytab(masterPrincipal, keytabPath);
-            UserGroupInformation loginUser = UserGroupInformation.getLoginUser();
-            user = User.create(loginUser);
         }
         // 将config中的配置加入到configuration中
         if (config != null && !config.isEmpty()) {
@@ -85,9 +100,28 @@ public class HBaseConfig {
         return configuration;
     }
 
+    /**
+     * 认证环境下用 keytab 登录一个新的用户，每个连接使用自己的登录用户，凭证互不影响
+     *
+     * @return 登录用户，非认证环境返回 null
+     * @throws IOException
+     */
+    private User login() throws IOException {
+        if (!isKerberos()) {
+            return null;
+        }
+        UserGroupInformation ugi = UserGroupInformation.loginUserFromKeytabAndReturnUGI(config.get("masterPrincipal"), config.get("user-keytab"));
+        return User.create(ugi);
+    }
+
+    private boolean isKerberos() {
+        return config != null && KerberosConstant.KERBEROS.equals(config.get(KerberosConstant.AUTH_METHOD));
+    }
+
     /**
      * 重新初始化连接，解决认证过期问题，默认过期时间为24h，因此reInitial() 的执行周期应该小于24h
-     * 认证环境下才会开启
+     * 认证环境下才会开启，连接池中的连接依次错开刷新，每个连接的刷新周期都是 refreshAuth 小时。
+     * 被替换的连接在所有租约归还后关闭，超过 connectionCloseTimeout 仍未归还时强制关闭
      */
     @PostConstruct
     private void reInitial() {
@@ -107,75 +141,461 @@ public class HBaseConfig {
         if (openReInitial) {
             // 认证环境下才会开启
             logger.info("create new thread refresh connection.");
-            ScheduledExecutorService executorService = new ScheduledThreadPoolExecutor(1,
-                    new BasicThreadFactory.Builder().namingPattern("renew-connection-pool-%d").daemon(true).build());
-            final int finalRefreshAuth = refreshAuth;
-            executorService.submit((Runnable) () -> {
-                while (true) {
-                    try {
-                        TimeUnit.HOURS.sleep(finalRefreshAuth);
-                    } catch (InterruptedException e) {
-                        logger.error("reLogin kerberos error ,error info : {}", e.getMessage());
-                    }
-                    initial();
+            final int size = Math.max(1, getIntConfig(CommonConstant.CONNECTION_POOL_SIZE, CommonConstant.DEFAULT_CONNECTION_POOL_SIZE));
+            final long interval = TimeUnit.HOURS.toMillis(refreshAuth) / size;
+            final AtomicInteger slot = new AtomicInteger();
+            getScheduler().scheduleAtFixedRate(() -> {
+                try {
+                    renew(slot.getAndIncrement() % size);
                     closeOldConnection();
-                    logger.info("renew connection:{}", connection);
+                } catch (RuntimeException e) {
+                    // 异常不能抛出，否则后续的刷新任务不会再执行
+                    logger.error("renew connection error, message:{}", e.getMessage());
                 }
-            });
+            }, interval, interval, TimeUnit.MILLISECONDS);
         }
     }
 
     /**
-     * 获取连接
+     * 获取连接，连接池有多个连接时按配置的策略选择
      *
      * @return
      */
     public Connection getConnection() {
-        if (connection == null) {
-            connection = initial();
+        PooledConnection pooledConnection = select();
+        return pooledConnection == null ? null : pooledConnection.getConnection();
+    }
+
+    /**
+     * 获取连接租约，租约关闭前连接不会因刷新而关闭，适合扫描等持续时间较长的调用
+     *
+     * @return 连接租约，需要在 try-with-resources 中使用；没有可用连接时返回 null
+     */
+    public ConnectionLease acquireConnection() {
+        // 选中的连接恰好被替换并关闭时重新选择
+        for (int i = 0; i <= poolSize; i++) {
+            PooledConnection pooledConnection = select();
+            if (pooledConnection == null) {
+                return null;
+            }
+            if (pooledConnection.tryAcquire()) {
+                return new ConnectionLease(pooledConnection);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 连接是否仍在连接池中，被替换的连接返回 false
+     *
+     * @param connection 连接
+     * @return
+     */
+    public boolean isActive(Connection connection) {
+        PooledConnection[] current = connections;
+        if (current == null) {
+            return false;
         }
-        return connection;
+        for (PooledConnection pooledConnection : current) {
+            if (pooledConnection != null && pooledConnection.getConnection() == connection) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * 初始化连接，如果存在老的连接则加入队列
+     * 当前连接池的快照
      *
      * @return
      */
+    public List<PooledConnection> getPooledConnections() {
+        PooledConnection[] current = connections;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        List<PooledConnection> pooledConnections = new ArrayList<>(current.length);
+        for (PooledConnection pooledConnection : current) {
+            if (pooledConnection != null) {
+                pooledConnections.add(pooledConnection);
+            }
+        }
+        return Collections.unmodifiableList(pooledConnections);
+    }
+
+    private PooledConnection select() {
+        PooledConnection[] current = connections;
+        if (current == null) {
+            current = initial();
+        }
+        if (current.length == 0) {
+            return null;
+        }
+        int start = (nextSlot.getAndIncrement() & Integer.MAX_VALUE) % current.length;
+        // 创建失败、等待补建的位置为空，跳过
+        PooledConnection selected = current[start];
+        for (int i = 1; selected == null && i < current.length; i++) {
+            selected = current[(start + i) % current.length];
+        }
+        if (selected == null || !leastInFlight || current.length == 1) {
+            return selected;
+        }
+        // 从轮询位置开始找在途调用最少的连接，在途数相同时按轮询顺序分散
+        for (int i = 1; i < current.length && selected.getInFlight() > 0; i++) {
+            PooledConnection candidate = current[(start + i) % current.length];
+            if (candidate != null && candidate.getInFlight() < selected.getInFlight()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 初始化连接池，连接池长度固定为 connectionPoolSize。部分连接创建失败时先使用已创建的连接，
+     * 失败的位置为空，每隔 connectionRepairInterval 毫秒重新创建，直到创建成功
+     *
+     * @return 全部创建失败时返回空数组，下次获取连接时重新初始化
+     */
     @PostConstruct
-    private Connection initial() {
-        Connection newConnection;
+    private synchronized PooledConnection[] initial() {
+        if (connections != null) {
+            return connections;
+        }
+        if (closed) {
+            return new PooledConnection[0];
+        }
+        poolSize = Math.max(1, getIntConfig(CommonConstant.CONNECTION_POOL_SIZE, CommonConstant.DEFAULT_CONNECTION_POOL_SIZE));
+        leastInFlight = CommonConstant.LEAST_IN_FLIGHT.equals(config == null ? null : config.get(CommonConstant.CONNECTION_POOL_STRATEGY));
+        PooledConnection[] created = new PooledConnection[poolSize];
+        List<Integer> missing = new ArrayList<>();
         try {
-            newConnection = ConnectionFactory.createConnection(configuration(), user);
-            Connection oldConnection = connection;
-            if (newConnection != null) {
-                connection = newConnection;
-                if (oldConnection != null) {
-                    queue.add(oldConnection);
+            Configuration configuration = configuration();
+            for (int slot = 0; slot < poolSize; slot++) {
+                try {
+                    created[slot] = createConnection(slot, configuration);
+                } catch (IOException e) {
+                    logger.error("create connection {} failed, message:{}", slot, e.getMessage());
+                    missing.add(slot);
                 }
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            logger.error("create connection failed, message:{}", e.getMessage());
+            return new PooledConnection[0];
         }
-        return connection;
+        if (missing.size() == poolSize) {
+            return new PooledConnection[0];
+        }
+        connections = created;
+        logger.info("create {} connections, strategy : {}", poolSize - missing.size(), leastInFlight ? CommonConstant.LEAST_IN_FLIGHT : CommonConstant.ROUND_ROBIN);
+        missing.forEach(this::scheduleRepair);
+        return connections;
+    }
+
+    private PooledConnection createConnection(int slot, Configuration configuration) throws IOException {
+        User slotUser = login();
+        if (slotUser != null) {
+            user = slotUser;
+        }
+        return new PooledConnection(slot, ConnectionFactory.createConnection(configuration, slotUser), slotUser);
     }
 
     /**
-     * 关闭老的连接
+     * 每隔 connectionRepairInterval 毫秒重新创建初始化时失败的连接，直到创建成功
+     *
+     * @param slot 连接位置
      */
-    private void closeOldConnection() {
-        if (queue != null && !queue.isEmpty() && queue.size() > 1) {
-            // 在创建connection的第二个周期开始清空队列
-            Connection oldConnection = queue.poll();
-            if (oldConnection != null && !oldConnection.isClosed()) {
-                try {
-                    oldConnection.close();
-                } catch (IOException e) {
-                    logger.error("oldConnection close failed.");
-                    e.printStackTrace();
+    private void scheduleRepair(int slot) {
+        long interval = getLongConfig(CommonConstant.CONNECTION_REPAIR_INTERVAL, CommonConstant.DEFAULT_CONNECTION_REPAIR_INTERVAL);
+        getScheduler().schedule(() -> {
+            try {
+                if (!repair(slot)) {
+                    scheduleRepair(slot);
+                }
+            } catch (RuntimeException e) {
+                logger.error("repair connection {} error, message:{}", slot, e.getMessage());
+            }
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 创建缺失的连接，该位置已经有连接时（例如已被认证刷新补建）不做处理
+     *
+     * @param slot 连接位置
+     * @return 该位置是否已经有连接
+     */
+    private synchronized boolean repair(int slot) {
+        PooledConnection[] current = connections;
+        if (current != null && current[slot] == null) {
+            replace(slot);
+        }
+        current = connections;
+        return current == null || current[slot] != null;
+    }
+
+    /**
+     * 重新登录并替换一个连接，老的连接退役，租约全部归还后关闭；该位置没有连接时创建。
+     * 连接切换监听在锁外回调，监听中提交缓冲写入等耗时操作不会阻塞连接池初始化和其他连接的刷新
+     *
+     * @param slot 连接位置
+     */
+    private void renew(int slot) {
+        PooledConnection oldConnection = replace(slot);
+        if (oldConnection == null) {
+            return;
+        }
+        notifyConnectionListeners(oldConnection.getConnection());
+        queue.add(oldConnection);
+        oldConnection.retire();
+        long closeTimeout = getLongConfig(CommonConstant.CONNECTION_CLOSE_TIMEOUT, CommonConstant.DEFAULT_CONNECTION_CLOSE_TIMEOUT);
+        getScheduler().schedule(() -> forceClose(oldConnection), closeTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 创建新连接并放入连接池
+     *
+     * @param slot 连接位置
+     * @return 被替换下来的老连接，该位置原来没有连接或创建失败时返回 null
+     */
+    private synchronized PooledConnection replace(int slot) {
+        PooledConnection[] current = connections;
+        if (current == null) {
+            initial();
+            return null;
+        }
+        if (closed) {
+            return null;
+        }
+        try {
+            Configuration configuration = configuration();
+            PooledConnection newConnection = createConnection(slot, configuration);
+            PooledConnection[] renewed = current.clone();
+            renewed[slot] = newConnection;
+            connections = renewed;
+            PooledConnection oldConnection = current[slot];
+            if (oldConnection == null) {
+                logger.info("create missing connection {} : {}", slot, newConnection.getConnection());
+                return null;
+            }
+            logger.info("renew connection {} : {}", slot, newConnection.getConnection());
+            // 异步连接只有在使用过之后才会随第一个连接一起刷新，老的异步连接同样在在途请求完成后关闭
+            if (slot == 0 && asyncConnection != null) {
+                renewAsyncConnection(configuration);
+            }
+            return oldConnection;
+        } catch (IOException e) {
+            logger.error("renew connection {} failed, message:{}", slot, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 替换异步连接，创建失败时继续使用老的异步连接，不影响已经完成的同步连接替换
+     */
+    private void renewAsyncConnection(Configuration configuration) {
+        try {
+            PooledAsyncConnection oldAsyncConnection = asyncConnection;
+            asyncConnection = new PooledAsyncConnection(createAsyncConnection(configuration));
+            retiredAsyncConnections.add(oldAsyncConnection);
+            oldAsyncConnection.retire();
+            long closeTimeout = getLongConfig(CommonConstant.CONNECTION_CLOSE_TIMEOUT, CommonConstant.DEFAULT_CONNECTION_CLOSE_TIMEOUT);
+            getScheduler().schedule(() -> forceClose(oldAsyncConnection), closeTimeout, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            logger.error("renew async connection failed, message:{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取异步连接，第一次使用时创建，认证环境下随连接池中的第一个连接一起刷新。
+     * 返回的连接没有租约，刷新后会被关闭，发起请求请使用 acquireAsyncConnection
+     *
+     * @return 创建失败时返回 null
+     */
+    public AsyncConnection getAsyncConnection() {
+        PooledAsyncConnection pooledAsyncConnection = getPooledAsyncConnection();
+        return pooledAsyncConnection == null ? null : pooledAsyncConnection.getConnection();
+    }
+
+    /**
+     * 获取异步连接租约，请求的 future 完成后关闭租约，租约关闭前连接不会因刷新而关闭
+     *
+     * @return 异步连接租约；没有可用连接时返回 null
+     */
+    public AsyncConnectionLease acquireAsyncConnection() {
+        // 选中的连接恰好被替换并关闭时重新获取
+        for (int i = 0; i < 2; i++) {
+            PooledAsyncConnection pooledAsyncConnection = getPooledAsyncConnection();
+            if (pooledAsyncConnection == null) {
+                return null;
+            }
+            if (pooledAsyncConnection.tryAcquire()) {
+                return new AsyncConnectionLease(pooledAsyncConnection);
+            }
+        }
+        return null;
+    }
+
+    private PooledAsyncConnection getPooledAsyncConnection() {
+        if (asyncConnection == null) {
+            synchronized (this) {
+                if (asyncConnection == null && !closed) {
+                    try {
+                        Configuration configuration = configuration();
+                        if (user == null && isKerberos()) {
+                            user = login();
+                        }
+                        asyncConnection = new PooledAsyncConnection(createAsyncConnection(configuration));
+                    } catch (IOException e) {
+                        logger.error("create async connection failed, message:{}", e.getMessage());
+                    }
+                }
+            }
+        }
+        return asyncConnection;
+    }
+
+    private AsyncConnection createAsyncConnection(Configuration configuration) throws IOException {
+        try {
+            return ConnectionFactory.createAsyncConnection(configuration, user).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("create async connection interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * 注册连接切换监听，连接被替换后回调，参数为被替换下来的老连接
+     *
+     * @param listener 监听
+     */
+    public void addConnectionListener(Consumer<Connection> listener) {
+        connectionListeners.add(listener);
+    }
+
+    private void notifyConnectionListeners(Connection oldConnection) {
+        for (Consumer<Connection> listener : connectionListeners) {
+            try {
+                listener.accept(oldConnection);
+            } catch (RuntimeException e) {
+                logger.error("connection listener error, message:{}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 超时后强制关闭仍有租约未归还的老连接
+     *
+     * @param oldConnection 老连接
+     */
+    private void forceClose(PooledConnection oldConnection) {
+        queue.remove(oldConnection);
+        if (oldConnection.forceClose()) {
+            logger.warn("old connection {} is not drained in time, force closed", oldConnection.getSlot());
+        }
+    }
+
+    /**
+     * 超时后强制关闭仍有在途请求的老异步连接
+     *
+     * @param oldAsyncConnection 老异步连接
+     */
+    private void forceClose(PooledAsyncConnection oldAsyncConnection) {
+        retiredAsyncConnections.remove(oldAsyncConnection);
+        if (oldAsyncConnection.forceClose()) {
+            logger.warn("old async connection is not drained in time, force closed");
+        }
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    scheduler = new ScheduledThreadPoolExecutor(1,
+                            new BasicThreadFactory.Builder().namingPattern("renew-connection-pool-%d").daemon(true).build());
                 }
             }
         }
+        return scheduler;
+    }
+
+    /**
+     * 关闭连接池中的连接、异步连接和等待租约归还的老连接，停止刷新任务，应用关闭时自动调用。
+     * BufferedMutatorManager、IncrementCoalescer、TablePool 都注入了本配置，Spring 先销毁依赖方，
+     * 缓冲的写入和累加在连接关闭前已经提交
+     */
+    @PreDestroy
+    public void close() {
+        PooledConnection[] current;
+        PooledAsyncConnection currentAsyncConnection;
+        synchronized (this) {
+            closed = true;
+            current = connections;
+            currentAsyncConnection = asyncConnection;
+            connections = null;
+            asyncConnection = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (current != null) {
+            for (PooledConnection pooledConnection : current) {
+                if (pooledConnection != null) {
+                    pooledConnection.retire();
+                    pooledConnection.forceClose();
+                }
+            }
+        }
+        PooledConnection oldConnection;
+        while ((oldConnection = queue.poll()) != null) {
+            oldConnection.forceClose();
+        }
+        if (currentAsyncConnection != null) {
+            currentAsyncConnection.retire();
+            currentAsyncConnection.forceClose();
+        }
+        PooledAsyncConnection oldAsyncConnection;
+        while ((oldAsyncConnection = retiredAsyncConnections.poll()) != null) {
+            oldAsyncConnection.forceClose();
+        }
+        logger.info("hbase connections closed");
+    }
+
+    /**
+     * 清理已经关闭的老连接
+     */
+    private void closeOldConnection() {
+        queue.removeIf(PooledConnection::isClosed);
+    }
+
+    /**
+     * 获取 config 中的整型配置，未配置或配置错误时返回默认值
+     *
+     * @param key          配置项
+     * @param defaultValue 默认值
+     * @return
+     */
+    public int getIntConfig(String key, int defaultValue) {
+        return (int) getLongConfig(key, defaultValue);
+    }
+
+    /**
+     * 获取 config 中的长整型配置，未配置或配置错误时返回默认值
+     *
+     * @param key          配置项
+     * @param defaultValue 默认值
+     * @return
+     */
+    public long getLongConfig(String key, long defaultValue) {
+        if (config == null || StringUtils.isBlank(config.get(key))) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(config.get(key).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("config {} is not a number : {}, use default value {}", key, config.get(key), defaultValue);
+            return defaultValue;
+        }
     }
 
     public String getQuorum() {
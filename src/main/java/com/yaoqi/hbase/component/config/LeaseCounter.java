@@ -0,0 +1,106 @@
+package com.yaoqi.hbase.component.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 15:30
+ * Modified
+ * Description 连接的租约计数，PooledConnection 和 PooledAsyncConnection 共用。
+ * 退役后不再分配新的租约，最后一个租约归还时关闭；关闭后计数为负数，迟到的归还不再生效
+ */
+final class LeaseCounter {
+
+    /**
+     * 已关闭标记
+     */
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Runnable closer;
+    private volatile boolean retired = false;
+
+    /**
+     * @param closer 关闭连接，只会执行一次
+     */
+    LeaseCounter(Runnable closer) {
+        this.closer = closer;
+    }
+
+    /**
+     * 申请一个租约
+     *
+     * @return 连接已退役或已关闭时返回 false
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current < 0 || retired) {
+                return false;
+            }
+            // 与 retire 并发时，先于关闭完成的申请仍然有效，最后一个租约归还时关闭
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还一个租约，退役后最后一个租约归还时关闭连接
+     */
+    void release() {
+        while (true) {
+            int current = inFlight.get();
+            if (current <= 0) {
+                // 已被强制关闭
+                return;
+            }
+            if (inFlight.compareAndSet(current, current - 1)) {
+                if (current == 1 && retired) {
+                    closeIfIdle();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 退役，不再分配新的租约，没有在途调用时立即关闭
+     */
+    void retire() {
+        retired = true;
+        closeIfIdle();
+    }
+
+    /**
+     * 强制关闭，不再等待在途调用
+     *
+     * @return 关闭前的在途调用数，已经关闭时返回 -1
+     */
+    int forceClose() {
+        int previous = inFlight.getAndSet(CLOSED);
+        if (previous == CLOSED) {
+            return -1;
+        }
+        closer.run();
+        return previous;
+    }
+
+    private void closeIfIdle() {
+        if (inFlight.compareAndSet(0, CLOSED)) {
+            closer.run();
+        }
+    }
+
+    int getInFlight() {
+        return Math.max(0, inFlight.get());
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    boolean isClosed() {
+        return inFlight.get() < 0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.yaoqi.hbase.component.config;
+
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 04:40
+ * Modified
+ * Description 异步连接，与 PooledConnection 一样按租约计数在途请求。租约在请求的 future 完成时归还，
+ * 连接被替换后不再分配新的租约，最后一个租约归还时关闭，超过 connectionCloseTimeout 仍未归还时强制关闭
+ */
+public class PooledAsyncConnection {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledAsyncConnection.class);
+
+    private final AsyncConnection connection;
+    private final LeaseCounter leases = new LeaseCounter(this::closeConnection);
+
+    PooledAsyncConnection(AsyncConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * 申请一个租约
+     *
+     * @return 连接已退役或已关闭时返回 false
+     */
+    boolean tryAcquire() {
+        return leases.tryAcquire();
+    }
+
+    /**
+     * 归还一个租约，退役后最后一个租约归还时关闭连接
+     */
+    void release() {
+        leases.release();
+    }
+
+    /**
+     * 退役，不再分配新的租约，没有在途请求时立即关闭
+     */
+    void retire() {
+        leases.retire();
+    }
+
+    /**
+     * 强制关闭，不再等待在途请求
+     *
+     * @return 本次调用是否关闭了连接
+     */
+    boolean forceClose() {
+        int previous = leases.forceClose();
+        if (previous > 0) {
+            logger.warn("force close async connection with {} requests in flight", previous);
+        }
+        return previous >= 0;
+    }
+
+    private void closeConnection() {
+        try {
+            connection.close();
+            logger.info("old async connection closed : {}", connection);
+        } catch (IOException e) {
+            logger.error("oldAsyncConnection close failed, message:{}", e.getMessage());
+        }
+    }
+
+    public int getInFlight() {
+        return leases.getInFlight();
+    }
+
+    public boolean isRetired() {
+        return leases.isRetired();
+    }
+
+    public boolean isClosed() {
+        return leases.isClosed();
+    }
+
+    public AsyncConnection getConnection() {
+        return connection;
+    }
+}
@@ -0,0 +1,107 @@
+package com.yaoqi.hbase.component.config;
+
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.security.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 20:40
+ * Modified
+ * Description 连接池中的一个连接，按租约计数在途调用，计数同时用于按最少在途调用分配连接。
+ * 每个连接有自己的 RPC 客户端，认证环境下有自己的 kerberos 登录用户，单独刷新。
+ * 连接被替换后进入退役状态，不再分配新的租约，最后一个租约归还时关闭
+ */
+public class PooledConnection {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledConnection.class);
+
+    private final int slot;
+    private final Connection connection;
+    private final User user;
+    private final long createTime;
+    private final LeaseCounter leases = new LeaseCounter(this::closeConnection);
+
+    PooledConnection(int slot, Connection connection, User user) {
+        this.slot = slot;
+        this.connection = connection;
+        this.user = user;
+        this.createTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 申请一个租约
+     *
+     * @return 连接已退役或已关闭时返回 false
+     */
+    boolean tryAcquire() {
+        return leases.tryAcquire();
+    }
+
+    /**
+     * 归还一个租约，退役后最后一个租约归还时关闭连接
+     */
+    void release() {
+        leases.release();
+    }
+
+    /**
+     * 退役，不再分配新的租约，没有在途调用时立即关闭
+     */
+    void retire() {
+        leases.retire();
+    }
+
+    /**
+     * 强制关闭，不再等待在途调用
+     *
+     * @return 本次调用是否关闭了连接
+     */
+    boolean forceClose() {
+        int previous = leases.forceClose();
+        if (previous > 0) {
+            logger.warn("force close connection {} with {} calls in flight", slot, previous);
+        }
+        return previous >= 0;
+    }
+
+    private void closeConnection() {
+        try {
+            connection.close();
+            logger.info("old connection {} closed : {}", slot, connection);
+        } catch (IOException e) {
+            logger.error("oldConnection close failed, message:{}", e.getMessage());
+        }
+    }
+
+    public int getInFlight() {
+        return leases.getInFlight();
+    }
+
+    public boolean isRetired() {
+        return leases.isRetired();
+    }
+
+    public boolean isClosed() {
+        return leases.isClosed();
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+}
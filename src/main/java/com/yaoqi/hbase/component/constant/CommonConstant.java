@@ -9,7 +9,378 @@ package com.yaoqi.hbase.component.constant;
 public class CommonConstant {
 
     /**
-     * 批量插入最大长度限制
+     * 工作线程池线程数配置，批量写入、并行查询共用该线程池
      */
-    public static final Integer BATCH_PUT_LIMIT = 2000000;
+    public static final String WORKER_THREADS = "workerThreads";
+
+    /**
+     * 工作线程池默认线程数
+     */
+    public static final int DEFAULT_WORKER_THREADS = 16;
+
+    /**
+     * 批量写入每个分片的最大条数配置
+     */
+    public static final String BATCH_CHUNK_SIZE = "batchChunkSize";
+
+    /**
+     * 批量写入每个分片默认最大条数
+     */
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+
+    /**
+     * 批量写入每个分片的最大内存占用配置，单位：字节
+     */
+    public static final String BATCH_CHUNK_HEAP_SIZE = "batchChunkHeapSize";
+
+    /**
+     * 批量写入每个分片默认最大内存占用，4MB
+     */
+    public static final long DEFAULT_BATCH_CHUNK_HEAP_SIZE = 4L * 1024L * 1024L;
+
+    /**
+     * 单次批量操作的最大并发分片数配置
+     */
+    public static final String BATCH_PARALLELISM = "batchParallelism";
+
+    /**
+     * 单次批量操作默认最大并发分片数
+     */
+    public static final int DEFAULT_BATCH_PARALLELISM = 8;
+
+    /**
+     * 表元数据缓存过期时间配置，单位：秒，小于等于0时不缓存
+     */
+    public static final String TABLE_CACHE_TTL = "tableCacheTtl";
+
+    /**
+     * 表元数据缓存默认过期时间，单位：秒
+     */
+    public static final long DEFAULT_TABLE_CACHE_TTL = 300L;
+
+    /**
+     * 表不存在的结果的缓存过期时间配置，单位：秒，不超过 tableCacheTtl，小于等于0时不缓存
+     */
+    public static final String TABLE_CACHE_NEGATIVE_TTL = "tableCacheNegativeTtl";
+
+    /**
+     * 表不存在的结果的默认缓存过期时间，单位：秒
+     */
+    public static final long DEFAULT_TABLE_CACHE_NEGATIVE_TTL = 5L;
+
+    /**
+     * 缓冲写入的缓冲区大小配置，单位：字节，缓冲区满时提交
+     */
+    public static final String WRITE_BUFFER_SIZE = "writeBufferSize";
+
+    /**
+     * 缓冲写入默认缓冲区大小，2MB
+     */
+    public static final long DEFAULT_WRITE_BUFFER_SIZE = 2L * 1024L * 1024L;
+
+    /**
+     * 缓冲写入的条数阈值配置，缓冲的mutation数量达到阈值时提交
+     */
+    public static final String WRITE_BUFFER_MAX_MUTATIONS = "writeBufferMaxMutations";
+
+    /**
+     * 缓冲写入默认条数阈值
+     */
+    public static final int DEFAULT_WRITE_BUFFER_MAX_MUTATIONS = 1000;
+
+    /**
+     * 缓冲写入的定时提交周期配置，单位：毫秒，小于等于0时不定时提交
+     */
+    public static final String WRITE_BUFFER_FLUSH_INTERVAL = "writeBufferFlushInterval";
+
+    /**
+     * 缓冲写入默认定时提交周期，单位：毫秒
+     */
+    public static final long DEFAULT_WRITE_BUFFER_FLUSH_INTERVAL = 1000L;
+
+    /**
+     * 扫描时每次 RPC 返回的最大行数配置，scan 未设置 caching 时生效
+     */
+    public static final String SCANNER_CACHING = "scannerCaching";
+
+    /**
+     * 扫描时每次 RPC 默认返回的最大行数
+     */
+    public static final int DEFAULT_SCANNER_CACHING = 1000;
+
+    /**
+     * 扫描时每次 RPC 返回的最大字节数配置，scan 未设置 maxResultSize 时生效
+     */
+    public static final String SCANNER_MAX_RESULT_SIZE = "scannerMaxResultSize";
+
+    /**
+     * 扫描时每次 RPC 默认返回的最大字节数，8MB
+     */
+    public static final long DEFAULT_SCANNER_MAX_RESULT_SIZE = 8L * 1024L * 1024L;
+
+    /**
+     * 并行扫描时每个 region 再切分的份数配置，只对有明确起止 rowKey 的 region 生效
+     */
+    public static final String SCAN_SPLITS_PER_REGION = "scanSplitsPerRegion";
+
+    /**
+     * 并行扫描时每个 region 默认切分份数
+     */
+    public static final int DEFAULT_SCAN_SPLITS_PER_REGION = 1;
+
+    /**
+     * 有序并行扫描时每个分片的缓冲行数配置
+     */
+    public static final String SCAN_BUFFER_SIZE = "scanBufferSize";
+
+    /**
+     * 有序并行扫描时每个分片默认缓冲行数
+     */
+    public static final int DEFAULT_SCAN_BUFFER_SIZE = 1000;
+
+    /**
+     * 单表配置项前缀，table.{表名}.{配置项} 覆盖同名的全局配置项，
+     * 支持 operationTimeout、rpcTimeout、readRpcTimeout、writeRpcTimeout、writeBufferSize、rowCacheMaxBytes、rowCacheTtl
+     */
+    public static final String TABLE_CONFIG_PREFIX = "table.";
+
+    /**
+     * 表操作超时配置（包含重试），单位：毫秒
+     */
+    public static final String OPERATION_TIMEOUT = "operationTimeout";
+
+    /**
+     * 单次 RPC 超时配置，单位：毫秒
+     */
+    public static final String RPC_TIMEOUT = "rpcTimeout";
+
+    /**
+     * 读请求单次 RPC 超时配置，单位：毫秒
+     */
+    public static final String READ_RPC_TIMEOUT = "readRpcTimeout";
+
+    /**
+     * 写请求单次 RPC 超时配置，单位：毫秒
+     */
+    public static final String WRITE_RPC_TIMEOUT = "writeRpcTimeout";
+
+    /**
+     * 连接池大小配置，每个连接有独立的 RPC 客户端
+     */
+    public static final String CONNECTION_POOL_SIZE = "connectionPoolSize";
+
+    /**
+     * 连接池默认大小
+     */
+    public static final int DEFAULT_CONNECTION_POOL_SIZE = 1;
+
+    /**
+     * 连接分配策略配置，可选 roundRobin、leastInFlight，默认 roundRobin
+     */
+    public static final String CONNECTION_POOL_STRATEGY = "connectionPoolStrategy";
+
+    /**
+     * 轮询分配连接
+     */
+    public static final String ROUND_ROBIN = "roundRobin";
+
+    /**
+     * 分配在途调用最少的连接
+     */
+    public static final String LEAST_IN_FLIGHT = "leastInFlight";
+
+    /**
+     * 被替换的连接等待租约归还的最长时间配置，单位：毫秒，超时后强制关闭
+     */
+    public static final String CONNECTION_CLOSE_TIMEOUT = "connectionCloseTimeout";
+
+    /**
+     * 被替换的连接默认最长等待时间，单位：毫秒
+     */
+    public static final long DEFAULT_CONNECTION_CLOSE_TIMEOUT = 10L * 60L * 1000L;
+
+    /**
+     * 初始化时创建失败的连接的重建间隔配置，单位：毫秒
+     */
+    public static final String CONNECTION_REPAIR_INTERVAL = "connectionRepairInterval";
+
+    /**
+     * 默认重建间隔，单位：毫秒
+     */
+    public static final long DEFAULT_CONNECTION_REPAIR_INTERVAL = 30000L;
+
+    /**
+     * 行缓存最大内存占用配置，单位：字节，小于等于0时不缓存，可以按表配置
+     */
+    public static final String ROW_CACHE_MAX_BYTES = "rowCacheMaxBytes";
+
+    /**
+     * 行缓存默认最大内存占用，默认不缓存
+     */
+    public static final long DEFAULT_ROW_CACHE_MAX_BYTES = 0L;
+
+    /**
+     * 行缓存过期时间配置，单位：毫秒，可以按表配置
+     */
+    public static final String ROW_CACHE_TTL = "rowCacheTtl";
+
+    /**
+     * 行缓存默认过期时间，单位：毫秒
+     */
+    public static final long DEFAULT_ROW_CACHE_TTL = 1000L;
+
+    /**
+     * 堆外结果缓冲区每块的大小配置，单位：字节
+     */
+    public static final String OFF_HEAP_SLAB_SIZE = "offHeapSlabSize";
+
+    /**
+     * 堆外结果缓冲区每块默认大小，1MB
+     */
+    public static final int DEFAULT_OFF_HEAP_SLAB_SIZE = 1024 * 1024;
+
+    /**
+     * 堆外结果缓冲区最多保留的空闲块数配置，超出的块归还后交给 GC 回收
+     */
+    public static final String OFF_HEAP_MAX_POOLED_SLABS = "offHeapMaxPooledSlabs";
+
+    /**
+     * 堆外结果缓冲区默认最多保留的空闲块数
+     */
+    public static final int DEFAULT_OFF_HEAP_MAX_POOLED_SLABS = 64;
+
+    /**
+     * 合并计数的提交周期配置，单位：毫秒
+     */
+    public static final String INCREMENT_FLUSH_INTERVAL = "incrementFlushInterval";
+
+    /**
+     * 合并计数默认提交周期，单位：毫秒
+     */
+    public static final long DEFAULT_INCREMENT_FLUSH_INTERVAL = 1000L;
+
+    /**
+     * 合并计数每张表最多缓冲的不同 cell 数量配置，达到后立即提交
+     */
+    public static final String INCREMENT_MAX_BUFFERED_CELLS = "incrementMaxBufferedCells";
+
+    /**
+     * 合并计数每张表默认最多缓冲的不同 cell 数量
+     */
+    public static final int DEFAULT_INCREMENT_MAX_BUFFERED_CELLS = 10000;
+
+    /**
+     * 是否开启调用指标配置，true 或 false
+     */
+    public static final String METRICS_ENABLED = "metricsEnabled";
+
+    /**
+     * 调用指标中延迟分位数、批量大小的统计窗口配置，单位：毫秒
+     */
+    public static final String METRICS_WINDOW = "metricsWindow";
+
+    /**
+     * 调用指标默认统计窗口，单位：毫秒
+     */
+    public static final long DEFAULT_METRICS_WINDOW = 60000L;
+
+    /**
+     * 慢调用阈值配置，单位：毫秒，小于等于 0 时不记录慢调用
+     */
+    public static final String SLOW_OPERATION_THRESHOLD = "slowOperationThreshold";
+
+    /**
+     * 默认慢调用阈值，单位：毫秒
+     */
+    public static final long DEFAULT_SLOW_OPERATION_THRESHOLD = 1000L;
+
+    /**
+     * 慢调用的采样比例配置，0 到 100，表示记录多少百分比的慢调用
+     */
+    public static final String SLOW_OPERATION_SAMPLE_PERCENT = "slowOperationSamplePercent";
+
+    /**
+     * 默认慢调用采样比例
+     */
+    public static final int DEFAULT_SLOW_OPERATION_SAMPLE_PERCENT = 100;
+
+    /**
+     * 保留的慢调用记录条数配置，向上取整为 2 的幂
+     */
+    public static final String SLOW_OPERATION_BUFFER_SIZE = "slowOperationBufferSize";
+
+    /**
+     * 默认保留的慢调用记录条数
+     */
+    public static final int DEFAULT_SLOW_OPERATION_BUFFER_SIZE = 256;
+
+    /**
+     * 最多保留的慢调用记录条数
+     */
+    public static final int MAX_SLOW_OPERATION_BUFFER_SIZE = 65536;
+
+    /**
+     * 组件层面每次调用的最多尝试次数配置，包括第一次，1 表示不重试
+     */
+    public static final String RETRY_MAX_ATTEMPTS = "retryMaxAttempts";
+
+    /**
+     * 默认最多尝试次数
+     */
+    public static final int DEFAULT_RETRY_MAX_ATTEMPTS = 1;
+
+    /**
+     * 重试的初始退避时间配置，单位：毫秒，之后每次翻倍
+     */
+    public static final String RETRY_BACKOFF = "retryBackoff";
+
+    /**
+     * 默认初始退避时间，单位：毫秒
+     */
+    public static final long DEFAULT_RETRY_BACKOFF = 100L;
+
+    /**
+     * 重试的最大退避时间配置，单位：毫秒
+     */
+    public static final String RETRY_MAX_BACKOFF = "retryMaxBackoff";
+
+    /**
+     * 默认最大退避时间，单位：毫秒
+     */
+    public static final long DEFAULT_RETRY_MAX_BACKOFF = 2000L;
+
+    /**
+     * 单次调用的截止时间配置，包括所有重试和退避，单位：毫秒，小于等于 0 时不限制
+     */
+    public static final String CALL_DEADLINE = "callDeadline";
+
+    /**
+     * 对冲读的等待时间配置，单次读超过该时间仍未返回时以 TIMELINE 一致性再发一次，单位：毫秒，小于等于 0 时关闭
+     */
+    public static final String HEDGE_DELAY = "hedgeDelay";
+
+    /**
+     * 对冲读未配置截止时间和操作超时时使用的截止时间，单位：毫秒
+     */
+    public static final long DEFAULT_HEDGE_DEADLINE = 60000L;
+
+    /**
+     * 重试预算配置，每次调用积累的重试额度，单位：百分比
+     */
+    public static final String RETRY_BUDGET_PERCENT = "retryBudgetPercent";
+
+    /**
+     * 默认重试预算，重试次数不超过调用次数的 10%
+     */
+    public static final int DEFAULT_RETRY_BUDGET_PERCENT = 10;
+
+    /**
+     * 重试预算的容量配置，额度最多积累到这个次数，调用量很小时也可以重试
+     */
+    public static final String RETRY_BUDGET_MIN = "retryBudgetMin";
+
+    /**
+     * 默认重试预算容量
+     */
+    public static final int DEFAULT_RETRY_BUDGET_MIN = 10;
 }
@@ -27,4 +27,39 @@ public class ExceptionMessage {
      * 表名已存在异常信息
      */
     public static final String TABLE_ALREADY_EXISTS_MSG = "Table is already exists!";
+
+    /**
+     * rowKey 类型不支持异常信息
+     */
+    public static final String UNSUPPORTED_ROW_KEY_TYPE_MSG = "No RowKeyCodec registered for type: ";
+
+    /**
+     * 组合 rowKey 变长部分位置异常信息
+     */
+    public static final String VARIABLE_LENGTH_PART_MSG = "Only the last part of a composite rowKey can be variable length, part: ";
+
+    /**
+     * 组合 rowKey 部分数量异常信息
+     */
+    public static final String COMPOSITE_PART_COUNT_MSG = "Composite rowKey part count mismatch, expected: ";
+
+    /**
+     * 实体类缺少 @Table 注解异常信息
+     */
+    public static final String ENTITY_TABLE_MISSING_MSG = "Entity class must be annotated with @Table: ";
+
+    /**
+     * 实体类 @RowKey 字段数量异常信息
+     */
+    public static final String ENTITY_ROW_KEY_MSG = "Entity class must have exactly one @RowKey field: ";
+
+    /**
+     * 实体类缺少无参构造方法异常信息
+     */
+    public static final String ENTITY_CONSTRUCTOR_MSG = "Entity class must have a no-arg constructor: ";
+
+    /**
+     * 条件写入缺少写入操作异常信息
+     */
+    public static final String CONDITIONAL_ACTION_MISSING_MSG = "Conditional mutation must have a put, delete or row mutations to apply!";
 }
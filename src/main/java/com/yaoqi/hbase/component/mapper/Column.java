@@ -0,0 +1,27 @@
+package com.yaoqi.hbase.component.mapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:50
+ * Modified
+ * Description 列字段，按字段类型从 RowKeyCodecRegistry 查找编解码器，值为 null 的字段保存时跳过
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Column {
+
+    /**
+     * 列族名
+     */
+    String family();
+
+    /**
+     * 列名，默认为字段名
+     */
+    String qualifier() default "";
+}
@@ -0,0 +1,168 @@
+package com.yaoqi.hbase.component.mapper;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.batch.ChunkResult;
+import com.yaoqi.hbase.component.cache.RowCache;
+import com.yaoqi.hbase.component.operations.HBaseOperations;
+import com.yaoqi.hbase.component.pool.TablePool;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:50
+ * Modified
+ * Description 实体映射，实体类通过 @Table、@RowKey、@Column 注解声明与表的对应关系
+ */
+@Component
+public class EntityMapper {
+
+    @Autowired
+    private HBaseOperations hBaseOperations;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private RowCache rowCache;
+
+    /**
+     * 保存一个实体，一次 table.put 写入，不经过批量写入的分片
+     *
+     * @param entity 实体
+     * @param <T>    实体类型
+     * @throws IOException 写入失败
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void save(T entity) throws IOException {
+        Assert.notNull(entity);
+        EntityMetadata<T> metadata = (EntityMetadata<T>) EntityMetadata.of(entity.getClass());
+        String tableName = metadata.getTableName();
+        Put put = metadata.toPut(entity);
+        try {
+            tablePool.execute(tableName, table -> {
+                table.put(put);
+                return null;
+            });
+        } finally {
+            rowCache.invalidate(tableName, put.getRow());
+        }
+    }
+
+    /**
+     * 批量保存同一类型的实体
+     *
+     * @param entities 实体
+     * @param <T>      实体类型
+     * @return 每个分片的写入结果
+     * @throws IOException
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BatchResult saveAll(Collection<T> entities) throws IOException {
+        Assert.notNull(entities);
+        if (entities.isEmpty()) {
+            return new BatchResult(Collections.<ChunkResult>emptyList());
+        }
+        EntityMetadata<T> metadata = (EntityMetadata<T>) EntityMetadata.of(entities.iterator().next().getClass());
+        List<Put> putList = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            putList.add(metadata.toPut(entity));
+        }
+        return hBaseOperations.putBatch(metadata.getTableName(), putList);
+    }
+
+    /**
+     * 按 rowKey 查询实体，表开启行缓存时优先读缓存
+     *
+     * @param type 实体类
+     * @param id   rowKey 字段的值
+     * @param <T>  实体类型
+     * @return 不存在时返回 null
+     */
+    public <T> T findById(Class<T> type, Object id) {
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        Result result = hBaseOperations.queryByTableNameAndRowKey(metadata.getTableName(), metadata.encodeRowKey(id));
+        return metadata.fromResult(result);
+    }
+
+    /**
+     * 按 rowKey 批量查询实体
+     *
+     * @param type 实体类
+     * @param ids  rowKey 字段的值
+     * @param <T>  实体类型
+     * @return 存在的实体，顺序与 ids 一致
+     */
+    public <T> List<T> findAllById(Class<T> type, Collection<?> ids) {
+        Assert.notNull(ids);
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        List<Get> getList = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Get get = new Get(metadata.encodeRowKey(id));
+            for (byte[] family : metadata.getFamilies()) {
+                get.addFamily(family);
+            }
+            getList.add(get);
+        }
+        Result[] results = hBaseOperations.query(metadata.getTableName(), getList);
+        if (results == null) {
+            return Collections.emptyList();
+        }
+        List<T> entities = new ArrayList<>(results.length);
+        for (Result result : results) {
+            T entity = metadata.fromResult(result);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * 扫描全表
+     *
+     * @param type 实体类
+     * @param <T>  实体类型
+     * @return 需要在 try-with-resources 中使用的 Stream
+     * @throws IOException
+     */
+    public <T> Stream<T> scan(Class<T> type) throws IOException {
+        return scan(type, new Scan());
+    }
+
+    /**
+     * 按 scan 扫描，scan 没有指定列族时只读取实体映射到的列族，不修改传入的 scan
+     *
+     * @param type 实体类
+     * @param scan scan
+     * @param <T>  实体类型
+     * @return 需要在 try-with-resources 中使用的 Stream
+     * @throws IOException
+     */
+    public <T> Stream<T> scan(Class<T> type, Scan scan) throws IOException {
+        Assert.notNull(scan);
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        if (!scan.hasFamilies()) {
+            scan = new Scan(scan);
+            for (byte[] family : metadata.getFamilies()) {
+                scan.addFamily(family);
+            }
+        }
+        return hBaseOperations.scanStream(metadata.getTableName(), scan)
+                .map(metadata::fromResult)
+                .filter(Objects::nonNull);
+    }
+}
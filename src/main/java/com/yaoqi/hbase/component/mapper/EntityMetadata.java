@@ -0,0 +1,275 @@
+package com.yaoqi.hbase.component.mapper;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.codec.RowKeyCodec;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import com.yaoqi.hbase.component.constant.ExceptionMessage;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:50
+ * Modified
+ * Description 实体类的映射元数据，每个类只解析一次。字段通过 MethodHandle 读写，不走反射调用；
+ * 列按列族、列名排序，与 Result 中 cell 的顺序一致，解码时一次归并遍历，直接从 cell 的数组和偏移量解码，不复制字节数组
+ */
+public class EntityMetadata<T> {
+
+    private static final Map<Class<?>, EntityMetadata<?>> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<T> type;
+    private final String tableName;
+    private final MethodHandle constructor;
+    private final Property rowKey;
+    private final Property[] columns;
+    private final byte[][] families;
+
+    private EntityMetadata(Class<T> type) {
+        this.type = type;
+        Table table = type.getAnnotation(Table.class);
+        if (table == null) {
+            throw new IllegalArgumentException(ExceptionMessage.ENTITY_TABLE_MISSING_MSG + type.getName());
+        }
+        this.tableName = table.name();
+        Assert.hasLength(tableName);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.constructor = constructor(lookup, type);
+        Property rowKeyProperty = null;
+        List<Property> properties = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.isAnnotationPresent(RowKey.class)) {
+                    if (rowKeyProperty != null) {
+                        throw new IllegalArgumentException(ExceptionMessage.ENTITY_ROW_KEY_MSG + type.getName());
+                    }
+                    rowKeyProperty = new Property(lookup, field, null, null);
+                }
+                Column column = field.getAnnotation(Column.class);
+                if (column != null) {
+                    String qualifier = column.qualifier().isEmpty() ? field.getName() : column.qualifier();
+                    properties.add(new Property(lookup, field, Bytes.toBytes(column.family()), Bytes.toBytes(qualifier)));
+                }
+            }
+        }
+        if (rowKeyProperty == null) {
+            throw new IllegalArgumentException(ExceptionMessage.ENTITY_ROW_KEY_MSG + type.getName());
+        }
+        this.rowKey = rowKeyProperty;
+        this.columns = properties.toArray(new Property[0]);
+        Arrays.sort(columns, (a, b) -> {
+            int result = Bytes.compareTo(a.family, b.family);
+            return result != 0 ? result : Bytes.compareTo(a.qualifier, b.qualifier);
+        });
+        Set<String> familyNames = new LinkedHashSet<>();
+        for (Property column : columns) {
+            familyNames.add(Bytes.toString(column.family));
+        }
+        this.families = familyNames.stream().map(Bytes::toBytes).toArray(byte[][]::new);
+    }
+
+    /**
+     * 获取实体类的映射元数据
+     *
+     * @param type 实体类
+     * @param <T>  实体类型
+     * @return 元数据
+     * @throws IllegalArgumentException 实体类缺少 @Table、@RowKey 或无参构造方法，或字段类型没有可用的编解码器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        Assert.notNull(type);
+        EntityMetadata<?> metadata = CACHE.get(type);
+        if (metadata == null) {
+            metadata = CACHE.computeIfAbsent(type, EntityMetadata::new);
+        }
+        return (EntityMetadata<T>) metadata;
+    }
+
+    private static MethodHandle constructor(MethodHandles.Lookup lookup, Class<?> type) {
+        try {
+            Constructor<?> declared = type.getDeclaredConstructor();
+            declared.setAccessible(true);
+            return lookup.unreflectConstructor(declared).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(ExceptionMessage.ENTITY_CONSTRUCTOR_MSG + type.getName(), e);
+        }
+    }
+
+    /**
+     * 编码 rowKey
+     *
+     * @param id rowKey 字段的值
+     * @return rowKey
+     */
+    public byte[] encodeRowKey(Object id) {
+        Assert.notNull(id);
+        return rowKey.codec.encode(id);
+    }
+
+    /**
+     * 实体转换为 Put，值为 null 的列跳过
+     *
+     * @param entity 实体
+     * @return put
+     */
+    public Put toPut(T entity) {
+        Assert.notNull(entity);
+        Object id = rowKey.get(entity);
+        Put put = new Put(encodeRowKey(id));
+        for (Property column : columns) {
+            Object value = column.get(entity);
+            if (value != null) {
+                put.addColumn(column.family, column.qualifier, column.codec.encode(value));
+            }
+        }
+        return put;
+    }
+
+    /**
+     * Result 转换为实体，表中没有对应列的字段保持默认值
+     *
+     * @param result 查询结果
+     * @return 实体，空结果返回 null
+     */
+    public T fromResult(Result result) {
+        if (result == null) {
+            return null;
+        }
+        Cell[] cells = result.rawCells();
+        if (cells == null || cells.length == 0) {
+            return null;
+        }
+        T entity = newInstance();
+        Cell first = cells[0];
+        rowKey.set(entity, rowKey.codec.decode(first.getRowArray(), first.getRowOffset(), first.getRowLength()));
+        int index = 0;
+        for (Cell cell : cells) {
+            // cell 与列都按列族、列名排序，同一列的多个版本只取第一个（最新的）
+            while (index < columns.length) {
+                Property column = columns[index];
+                int compare = column.compareTo(cell);
+                if (compare < 0) {
+                    index++;
+                    continue;
+                }
+                if (compare == 0) {
+                    column.set(entity, column.codec.decode(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength()));
+                    index++;
+                }
+                break;
+            }
+            if (index >= columns.length) {
+                break;
+            }
+        }
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("create entity " + type.getName() + " failed", e);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * 映射到的列族，扫描时只读取这些列族
+     */
+    public byte[][] getFamilies() {
+        return families;
+    }
+
+    /**
+     * 一个映射字段
+     */
+    private static final class Property {
+        private final String name;
+        private final byte[] family;
+        private final byte[] qualifier;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final RowKeyCodec<Object> codec;
+
+        @SuppressWarnings("unchecked")
+        private Property(MethodHandles.Lookup lookup, Field field, byte[] family, byte[] qualifier) {
+            this.name = field.getDeclaringClass().getName() + "." + field.getName();
+            this.family = family;
+            this.qualifier = qualifier;
+            field.setAccessible(true);
+            try {
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("field " + name + " is not accessible", e);
+            }
+            this.codec = (RowKeyCodec<Object>) RowKeyCodecRegistry.get(wrap(field.getType()));
+        }
+
+        private Object get(Object entity) {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (Throwable e) {
+                throw new IllegalStateException("read field " + name + " failed", e);
+            }
+        }
+
+        private void set(Object entity, Object value) {
+            try {
+                setter.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("write field " + name + " failed", e);
+            }
+        }
+
+        private int compareTo(Cell cell) {
+            int result = Bytes.compareTo(family, 0, family.length,
+                    cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+            if (result != 0) {
+                return result;
+            }
+            return Bytes.compareTo(qualifier, 0, qualifier.length,
+                    cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return type;
+            }
+            return MethodType.methodType(type).wrap().returnType();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.yaoqi.hbase.component.mapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:50
+ * Modified
+ * Description rowKey 字段，按字段类型从 RowKeyCodecRegistry 查找编解码器
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RowKey {
+}
@@ -0,0 +1,22 @@
+package com.yaoqi.hbase.component.mapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:50
+ * Modified
+ * Description 实体类对应的表
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Table {
+
+    /**
+     * 表名
+     */
+    String name();
+}
@@ -0,0 +1,158 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.cache.TableRowCache;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 按表、操作汇总的调用指标，每组指标注册为一个 MBean：
+ * com.yaoqi.hbase.component:type=HBaseOperations,table=表名,operation=方法名；
+ * 开启行缓存的表注册 com.yaoqi.hbase.component:type=RowCache,table=表名
+ */
+@Component
+public class HBaseMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(HBaseMetrics.class);
+
+    /**
+     * 没有表名参数的操作使用的表名
+     */
+    public static final String NO_TABLE = "-";
+
+    private static final String DOMAIN = "com.yaoqi.hbase.component";
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, OperationMetrics>> metrics = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private boolean enabled;
+    private long windowNanos;
+
+    @PostConstruct
+    private void init() {
+        Map<String, String> config = hBaseConfig.getConfig();
+        enabled = config == null || !"false".equalsIgnoreCase(config.get(CommonConstant.METRICS_ENABLED));
+        long window = hBaseConfig.getLongConfig(CommonConstant.METRICS_WINDOW, CommonConstant.DEFAULT_METRICS_WINDOW);
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, window));
+        logger.info("hbase metrics enabled : {}, window : {}ms", enabled, window);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 获取某张表某个操作的指标，第一次获取时创建并注册 MBean
+     *
+     * @param tableName 表名
+     * @param operation 操作名
+     * @return 指标
+     */
+    public OperationMetrics get(String tableName, String operation) {
+        ConcurrentHashMap<String, OperationMetrics> operations = metrics.get(tableName);
+        if (operations == null) {
+            operations = metrics.computeIfAbsent(tableName, key -> new ConcurrentHashMap<>());
+        }
+        OperationMetrics operationMetrics = operations.get(operation);
+        if (operationMetrics == null) {
+            operationMetrics = operations.computeIfAbsent(operation, key -> register(new OperationMetrics(tableName, key, windowNanos)));
+        }
+        return operationMetrics;
+    }
+
+    /**
+     * 记录一次组件发起的重试
+     *
+     * @param tableName 表名
+     * @param operation 操作名
+     */
+    public void recordRetry(String tableName, String operation) {
+        if (enabled) {
+            get(tableName, operation).recordRetry();
+        }
+    }
+
+    /**
+     * 当前所有指标
+     *
+     * @return 表名到操作指标的映射
+     */
+    public Map<String, List<OperationMetrics>> getMetrics() {
+        Map<String, List<OperationMetrics>> snapshot = new TreeMap<>();
+        metrics.forEach((tableName, operations) -> snapshot.put(tableName, new ArrayList<>(operations.values())));
+        return snapshot;
+    }
+
+    /**
+     * 注册某张表行缓存的统计信息，关闭指标时不注册
+     *
+     * @param tableName 表名
+     * @param cache     行缓存
+     */
+    public void registerRowCache(String tableName, TableRowCache cache) {
+        if (enabled) {
+            register(new RowCacheMetrics(tableName, cache), DOMAIN + ":type=RowCache,table=" + ObjectName.quote(tableName));
+        }
+    }
+
+    private OperationMetrics register(OperationMetrics operationMetrics) {
+        register(operationMetrics, DOMAIN + ":type=HBaseOperations,table=" + ObjectName.quote(operationMetrics.getTableName())
+                + ",operation=" + operationMetrics.getOperation());
+        return operationMetrics;
+    }
+
+    private void register(Object mbean, String objectName) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+                synchronized (registered) {
+                    registered.add(name);
+                }
+            }
+        } catch (JMException e) {
+            // 注册失败不影响指标统计
+            logger.warn("register metrics mbean error, message:{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 注销 MBean，应用关闭时自动调用
+     */
+    @PreDestroy
+    public void close() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        synchronized (registered) {
+            for (ObjectName name : registered) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (JMException e) {
+                    logger.warn("unregister metrics mbean error, message:{}", e.getMessage());
+                }
+            }
+            registered.clear();
+        }
+    }
+}
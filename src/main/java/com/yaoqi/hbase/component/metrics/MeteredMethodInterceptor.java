@@ -0,0 +1,309 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.batch.ConditionalBatchResult;
+import com.yaoqi.hbase.component.batch.MultiGetResult;
+import com.yaoqi.hbase.component.trace.SlowOperationTracer;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 记录调用指标的拦截器，由 MetricsPostProcessor 创建的代理调用，通过 MethodInvocation.proceed() 调用目标方法。第一个参数为 String 时作为表名；请求条数取集合参数的大小，单条请求为 1；
+ * 读写字节数按 cell 的序列化大小估算，KeyValue 直接取已知长度，不逐个解析 rowKey、列名。
+ * 返回 ResultScanner、Stream 时在关闭时记录，延迟包含遍历时间；返回 CompletableFuture 时在完成时记录。
+ * 抛出异常、返回 null 的查询、部分失败的批量写入都记为失败。调用结束时同时交给 SlowOperationTracer 判断是否为慢调用
+ */
+public class MeteredMethodInterceptor implements MethodInterceptor {
+
+    private final HBaseMetrics metrics;
+    private final SlowOperationTracer tracer;
+    private final String prefix;
+    /**
+     * 方法到操作名的缓存，避免每次调用拼接字符串
+     */
+    private final ConcurrentHashMap<Method, String> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param metrics 指标，为 null 时不记录指标
+     * @param tracer  慢调用记录，为 null 时不记录慢调用
+     * @param prefix  操作名前缀，同步、异步接口的同名方法分开统计
+     */
+    public MeteredMethodInterceptor(HBaseMetrics metrics, SlowOperationTracer tracer, String prefix) {
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+        Method method = methodInvocation.getMethod();
+        Object[] args = methodInvocation.getArguments();
+        if (method.getDeclaringClass() == Object.class || "getConnection".equals(method.getName())) {
+            return methodInvocation.proceed();
+        }
+        String tableName = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : HBaseMetrics.NO_TABLE;
+        String operation = operations.get(method);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(method, key -> prefix + key.getName());
+        }
+        Invocation invocation = new Invocation(tableName, operation, method, args);
+        Object result;
+        try {
+            result = methodInvocation.proceed();
+        } catch (Throwable e) {
+            invocation.finish(0, 0, invocation.written, true);
+            throw e;
+        }
+        if (result instanceof ResultScanner) {
+            return new MeteredResultScanner((ResultScanner) result, invocation);
+        }
+        if (result instanceof Stream) {
+            return meter((Stream<?>) result, invocation);
+        }
+        if (result instanceof CompletableFuture) {
+            CompletableFuture<?> future = (CompletableFuture<?>) result;
+            return future.whenComplete((value, error) -> recordResult(invocation, value, error != null));
+        }
+        recordResult(invocation, result, result == null && isQuery(method.getReturnType()));
+        return result;
+    }
+
+    private static void recordResult(Invocation invocation, Object result, boolean failed) {
+        long rows = 0;
+        long read = 0;
+        long written = invocation.written;
+        if (result instanceof Result) {
+            rows = ((Result) result).isEmpty() ? 0 : 1;
+            read = sizeOf((Result) result);
+        } else if (result instanceof Result[]) {
+            for (Result item : (Result[]) result) {
+                if (item != null && !item.isEmpty()) {
+                    rows++;
+                    read += sizeOf(item);
+                }
+            }
+        } else if (result instanceof MultiGetResult) {
+            MultiGetResult multiGetResult = (MultiGetResult) result;
+            failed |= !multiGetResult.isComplete();
+            for (Result item : multiGetResult.getResults()) {
+                if (item != null && !item.isEmpty()) {
+                    rows++;
+                    read += sizeOf(item);
+                }
+            }
+        } else if (result instanceof List && !((List<?>) result).isEmpty() && ((List<?>) result).get(0) instanceof Result) {
+            for (Object item : (List<?>) result) {
+                if (item != null && !((Result) item).isEmpty()) {
+                    rows++;
+                    read += sizeOf((Result) item);
+                }
+            }
+        } else if (result instanceof BatchResult) {
+            BatchResult batchResult = (BatchResult) result;
+            failed |= !batchResult.isSuccess();
+            rows = batchResult.getSuccessCount();
+        } else if (result instanceof ConditionalBatchResult) {
+            ConditionalBatchResult batchResult = (ConditionalBatchResult) result;
+            failed |= !batchResult.isSuccess();
+            rows = batchResult.getAppliedCount();
+        } else if (written > 0) {
+            rows = invocation.batch;
+        }
+        invocation.finish(rows, read, written, failed);
+    }
+
+    private static Stream<?> meter(Stream<?> stream, Invocation invocation) {
+        ScanCounter counter = new ScanCounter();
+        return stream.peek(counter::add).onClose(() -> invocation.finishScan(counter, false));
+    }
+
+    private static boolean isQuery(Class<?> returnType) {
+        return returnType == Result.class || returnType == Result[].class || returnType == ResultScanner.class
+                || returnType == MultiGetResult.class;
+    }
+
+    private static long batchOf(Object[] args) {
+        if (args == null) {
+            return 0;
+        }
+        for (Object arg : args) {
+            if (arg instanceof Collection) {
+                return ((Collection<?>) arg).size();
+            }
+        }
+        return 1;
+    }
+
+    private static long bytesWritten(Object[] args) {
+        if (args == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (Object arg : args) {
+            if (arg instanceof Mutation) {
+                bytes += sizeOf((Mutation) arg);
+            } else if (arg instanceof Collection) {
+                for (Object item : (Collection<?>) arg) {
+                    if (!(item instanceof Row)) {
+                        break;
+                    }
+                    if (item instanceof Mutation) {
+                        bytes += sizeOf((Mutation) item);
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(Mutation mutation) {
+        long bytes = 0;
+        for (List<Cell> cells : mutation.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                bytes += KeyValueUtil.length(cell);
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(Result result) {
+        Cell[] cells = result.rawCells();
+        if (cells == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (Cell cell : cells) {
+            bytes += KeyValueUtil.length(cell);
+        }
+        return bytes;
+    }
+
+    /**
+     * 一次调用的上下文，在调用结束、scanner 关闭或 future 完成时记录
+     */
+    private final class Invocation {
+        private final String tableName;
+        private final String operation;
+        private final Method method;
+        private final Object[] args;
+        private final OperationMetrics operationMetrics;
+        private final long batch;
+        private final long written;
+        private final long start;
+
+        private Invocation(String tableName, String operation, Method method, Object[] args) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.method = method;
+            this.args = args;
+            this.operationMetrics = metrics == null ? null : metrics.get(tableName, operation);
+            this.batch = batchOf(args);
+            this.written = bytesWritten(args);
+            this.start = System.nanoTime();
+        }
+
+        private void finish(long rows, long read, long written, boolean failed) {
+            long end = System.nanoTime();
+            if (operationMetrics != null) {
+                operationMetrics.record(start, end, batch, rows, read, written, failed);
+            }
+            if (tracer != null) {
+                tracer.trace(tableName, operation, method, args, start, end, batch, rows, read + written, failed);
+            }
+        }
+
+        private void finishScan(ScanCounter counter, boolean failed) {
+            long end = System.nanoTime();
+            if (operationMetrics != null) {
+                operationMetrics.record(start, end, counter.rows, counter.rows, counter.bytes, 0, failed);
+            }
+            if (tracer != null) {
+                tracer.trace(tableName, operation, method, args, start, end, counter.rows, counter.rows, counter.bytes, failed);
+            }
+        }
+    }
+
+    /**
+     * 单个扫描的行数和字节数，扫描结果只在一个线程中遍历
+     */
+    private static final class ScanCounter {
+        private long rows;
+        private long bytes;
+
+        private void add(Object item) {
+            if (item instanceof Result) {
+                rows++;
+                bytes += sizeOf((Result) item);
+            }
+        }
+    }
+
+    /**
+     * 关闭时记录扫描指标的 ResultScanner
+     */
+    private static final class MeteredResultScanner implements ResultScanner {
+        private final ResultScanner delegate;
+        private final Invocation invocation;
+        private final ScanCounter counter = new ScanCounter();
+        private boolean failed;
+        private boolean closed;
+
+        private MeteredResultScanner(ResultScanner delegate, Invocation invocation) {
+            this.delegate = delegate;
+            this.invocation = invocation;
+        }
+
+        @Override
+        public Result next() throws IOException {
+            try {
+                Result result = delegate.next();
+                counter.add(result);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                invocation.finishScan(counter, failed);
+            }
+        }
+
+        @Override
+        public boolean renewLease() {
+            return delegate.renewLease();
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return delegate.getScanMetrics();
+        }
+    }
+}
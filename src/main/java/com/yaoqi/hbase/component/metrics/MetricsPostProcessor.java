@@ -0,0 +1,87 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.operations.AsyncHBaseOperations;
+import com.yaoqi.hbase.component.operations.HBaseOperations;
+import com.yaoqi.hbase.component.trace.SlowOperationTracer;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 为 HBaseOperations、AsyncHBaseOperations 的实现套上记录调用指标和慢调用的代理。
+ * 代理是实现类的子类（CGLIB），仍然可以按 HBaseTemplate、AsyncHBaseTemplate 类型注入；只有接口中声明的方法会被记录。
+ * metricsEnabled 为 false 且 slowOperationThreshold 小于等于 0 时不创建代理
+ */
+@Component
+public class MetricsPostProcessor implements BeanPostProcessor {
+
+    /**
+     * 延迟获取，避免 HBaseMetrics、SlowOperationTracer 及其依赖在 BeanPostProcessor 注册阶段被提前创建
+     */
+    @Autowired
+    private ObjectFactory<HBaseMetrics> metricsFactory;
+
+    @Autowired
+    private ObjectFactory<SlowOperationTracer> tracerFactory;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof HBaseOperations) {
+            return wrap(bean, HBaseOperations.class, "");
+        }
+        if (bean instanceof AsyncHBaseOperations) {
+            return wrap(bean, AsyncHBaseOperations.class, "async.");
+        }
+        return bean;
+    }
+
+    private Object wrap(Object bean, Class<?> type, String prefix) {
+        HBaseMetrics metrics = metricsFactory.getObject();
+        SlowOperationTracer tracer = tracerFactory.getObject();
+        if (!metrics.isEnabled() && !tracer.isEnabled()) {
+            return bean;
+        }
+        MeteredMethodInterceptor interceptor = new MeteredMethodInterceptor(
+                metrics.isEnabled() ? metrics : null, tracer.isEnabled() ? tracer : null, prefix);
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new DeclaredByPointcut(type), interceptor));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    /**
+     * 只匹配接口中声明的方法，实现类自身的其他公开方法直接调用，不记录指标。匹配结果由 Spring 按方法缓存
+     */
+    private static final class DeclaredByPointcut extends StaticMethodMatcherPointcut {
+        private final Class<?> type;
+
+        private DeclaredByPointcut(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            try {
+                type.getMethod(method.getName(), method.getParameterTypes());
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.yaoqi.hbase.component.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 单张表单个操作的调用指标，记录无锁，可以在生产环境常开
+ */
+public class OperationMetrics implements OperationMetricsMBean {
+
+    private final String tableName;
+    private final String operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final WindowedHistogram latency;
+    private final WindowedHistogram batchSize;
+
+    public OperationMetrics(String tableName, String operation, long windowNanos) {
+        this.tableName = tableName;
+        this.operation = operation;
+        long now = System.nanoTime();
+        this.latency = new WindowedHistogram(windowNanos, now);
+        this.batchSize = new WindowedHistogram(windowNanos, now);
+    }
+
+    /**
+     * 记录一次调用
+     *
+     * @param startNanos 开始时间，System.nanoTime()
+     * @param endNanos   结束时间，System.nanoTime()
+     * @param batch      本次调用的请求条数
+     * @param rowCount   读到或写入的行数
+     * @param read       读到的字节数
+     * @param written    写入的字节数
+     * @param failed     是否失败
+     */
+    public void record(long startNanos, long endNanos, long batch, long rowCount, long read, long written, boolean failed) {
+        calls.increment();
+        if (failed) {
+            failures.increment();
+        }
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (read > 0) {
+            bytesRead.add(read);
+        }
+        if (written > 0) {
+            bytesWritten.add(written);
+        }
+        latency.record(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), endNanos);
+        batchSize.record(batch, endNanos);
+    }
+
+    /**
+     * 记录一次组件发起的重试，HBase 客户端内部的重试见 MetricsConnection
+     */
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public WindowedHistogram.Snapshot getLatencySnapshot() {
+        return latency.snapshot(System.nanoTime());
+    }
+
+    public WindowedHistogram.Snapshot getBatchSizeSnapshot() {
+        return batchSize.snapshot(System.nanoTime());
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMicros() {
+        return getLatencySnapshot().getMean();
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return getLatencySnapshot().getValue(0.5);
+    }
+
+    @Override
+    public long getLatencyP95Micros() {
+        return getLatencySnapshot().getValue(0.95);
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return getLatencySnapshot().getValue(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Micros() {
+        return getLatencySnapshot().getValue(0.999);
+    }
+
+    @Override
+    public long getLatencyMaxMicros() {
+        return getLatencySnapshot().getMax();
+    }
+
+    @Override
+    public double getBatchSizeMean() {
+        return getBatchSizeSnapshot().getMean();
+    }
+
+    @Override
+    public long getBatchSizeP99() {
+        return getBatchSizeSnapshot().getValue(0.99);
+    }
+
+    @Override
+    public long getBatchSizeMax() {
+        return getBatchSizeSnapshot().getMax();
+    }
+
+    @Override
+    public String toString() {
+        WindowedHistogram.Snapshot snapshot = getLatencySnapshot();
+        return "OperationMetrics{table=" + tableName + ", operation=" + operation + ", calls=" + getCalls()
+                + ", failures=" + getFailures() + ", retries=" + getRetries() + ", rows=" + getRows()
+                + ", bytesRead=" + getBytesRead() + ", bytesWritten=" + getBytesWritten()
+                + ", p50=" + snapshot.getValue(0.5) + "us, p99=" + snapshot.getValue(0.99) + "us, max=" + snapshot.getMax() + "us}";
+    }
+}
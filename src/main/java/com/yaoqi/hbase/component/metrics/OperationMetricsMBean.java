@@ -0,0 +1,44 @@
+package com.yaoqi.hbase.component.metrics;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 单张表单个操作的 JMX 指标。计数类指标从启动开始累计，延迟和批量大小取最近一个统计窗口
+ */
+public interface OperationMetricsMBean {
+
+    String getTableName();
+
+    String getOperation();
+
+    long getCalls();
+
+    long getFailures();
+
+    long getRetries();
+
+    long getRows();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    double getLatencyMeanMicros();
+
+    long getLatencyP50Micros();
+
+    long getLatencyP95Micros();
+
+    long getLatencyP99Micros();
+
+    long getLatencyP999Micros();
+
+    long getLatencyMaxMicros();
+
+    double getBatchSizeMean();
+
+    long getBatchSizeP99();
+
+    long getBatchSizeMax();
+}
@@ -0,0 +1,75 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.cache.RowCacheStats;
+import com.yaoqi.hbase.component.cache.TableRowCache;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 14:20
+ * Modified
+ * Description 行缓存统计信息的 MBean 实现，由 HBaseMetrics 注册
+ */
+public class RowCacheMetrics implements RowCacheMetricsMBean {
+
+    private final String tableName;
+    private final TableRowCache cache;
+
+    RowCacheMetrics(String tableName, TableRowCache cache) {
+        this.tableName = tableName;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats().getHitRate();
+    }
+
+    @Override
+    public long getHitCount() {
+        return stats().getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return stats().getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return stats().getEvictionCount();
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return stats().getExpiredCount();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return stats().getInvalidationCount();
+    }
+
+    @Override
+    public long getEntryCount() {
+        return stats().getEntryCount();
+    }
+
+    @Override
+    public long getByteSize() {
+        return stats().getByteSize();
+    }
+
+    @Override
+    public long getMaxBytes() {
+        return stats().getMaxBytes();
+    }
+
+    private RowCacheStats stats() {
+        return cache.getStats();
+    }
+}
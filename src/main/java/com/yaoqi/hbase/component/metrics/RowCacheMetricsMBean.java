@@ -0,0 +1,30 @@
+package com.yaoqi.hbase.component.metrics;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 14:20
+ * Modified
+ * Description 单张表行缓存的 JMX 指标，每次读取属性时从缓存取一次统计快照
+ */
+public interface RowCacheMetricsMBean {
+
+    String getTableName();
+
+    double getHitRate();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    long getExpiredCount();
+
+    long getInvalidationCount();
+
+    long getEntryCount();
+
+    long getByteSize();
+
+    long getMaxBytes();
+}
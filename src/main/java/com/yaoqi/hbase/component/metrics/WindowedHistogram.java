@@ -0,0 +1,170 @@
+package com.yaoqi.hbase.component.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 01:10
+ * Modified
+ * Description 按时间窗口统计的直方图，无锁记录。桶按 2 的幂分组，每组再等分 4 份，分位数的相对误差不超过 25%。
+ * 快照取最近一个完整窗口的数据，第一个窗口结束前取当前窗口
+ */
+public class WindowedHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BITS = 48;
+    private static final int BUCKETS = (MAX_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+    private final long windowNanos;
+    private final AtomicReference<Window> current;
+    private volatile Window previous;
+
+    /**
+     * @param windowNanos 窗口长度
+     * @param nowNanos    当前时间，与 System.nanoTime() 同一时间基准
+     */
+    public WindowedHistogram(long windowNanos, long nowNanos) {
+        this.windowNanos = windowNanos;
+        this.current = new AtomicReference<>(new Window(nowNanos));
+    }
+
+    /**
+     * 记录一个值
+     *
+     * @param value    值，负数按 0 记录
+     * @param nowNanos 当前时间
+     */
+    public void record(long value, long nowNanos) {
+        rotateIfNeeded(nowNanos).record(Math.max(0L, Math.min(value, MAX_VALUE)));
+    }
+
+    /**
+     * 最近一个完整窗口的快照
+     *
+     * @param nowNanos 当前时间
+     * @return 快照
+     */
+    public Snapshot snapshot(long nowNanos) {
+        Window window = rotateIfNeeded(nowNanos);
+        Window last = previous;
+        return (last != null ? last : window).snapshot();
+    }
+
+    private Window rotateIfNeeded(long nowNanos) {
+        Window window = current.get();
+        while (nowNanos - window.start >= windowNanos) {
+            Window next = new Window(nowNanos);
+            if (current.compareAndSet(window, next)) {
+                // 超过两个窗口没有数据时，上一个窗口已经没有参考价值
+                previous = nowNanos - window.start >= 2 * windowNanos ? new Window(window.start) : window;
+                return next;
+            }
+            window = current.get();
+        }
+        return window;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int msb = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+        return lower + (1L << (msb - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static final class Window {
+        private final long start;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private void record(long value) {
+            buckets.incrementAndGet(bucketOf(value));
+            sum.add(value);
+            long currentMax = max.get();
+            while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+                currentMax = max.get();
+            }
+        }
+
+        private Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            return new Snapshot(counts, total, sum.sum(), max.get());
+        }
+    }
+
+    /**
+     * 直方图快照
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0D : (double) sum / count;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * 分位数，返回所在桶的上界，不超过最大值
+         *
+         * @param quantile 0 到 1 之间
+         * @return 分位数，没有数据时返回 0
+         */
+        public long getValue(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.yaoqi.hbase.component.mutator;
+
+import com.yaoqi.hbase.component.cache.RowCache;
+import com.yaoqi.hbase.component.config.ConnectionLease;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.pool.TablePool;
+import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.shaded.org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 11:05
+ * Modified
+ * Description 缓冲写入管理，每张表一个 BufferedMutator，按缓冲区大小、条数和时间阈值批量提交，
+ * 每个 BufferedMutator 持有所在连接的租约，连接被替换时提交并关闭旧连接上的 BufferedMutator 后归还租约，
+ * 旧连接在缓冲数据提交完之前不会关闭；应用关闭时提交全部缓冲数据。
+ * 开启行缓存的表，缓冲的行在本组件确认提交完成之前不填充缓存，提交完成后再次失效，并定时提交这些表的缓冲区
+ */
+@Component
+public class BufferedMutatorManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedMutatorManager.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private RowCache rowCache;
+
+    @Autowired(required = false)
+    private MutationFailureListener failureListener;
+
+    private final ConcurrentHashMap<String, MutatorHolder> mutators = new ConcurrentHashMap<>();
+    private long writeBufferSize;
+    private int maxMutations;
+    private long flushInterval;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean closed = false;
+
+    @PostConstruct
+    private void init() {
+        writeBufferSize = hBaseConfig.getLongConfig(CommonConstant.WRITE_BUFFER_SIZE, CommonConstant.DEFAULT_WRITE_BUFFER_SIZE);
+        maxMutations = hBaseConfig.getIntConfig(CommonConstant.WRITE_BUFFER_MAX_MUTATIONS, CommonConstant.DEFAULT_WRITE_BUFFER_MAX_MUTATIONS);
+        flushInterval = hBaseConfig.getLongConfig(CommonConstant.WRITE_BUFFER_FLUSH_INTERVAL, CommonConstant.DEFAULT_WRITE_BUFFER_FLUSH_INTERVAL);
+        hBaseConfig.addConnectionListener(this::closeStaleMutators);
+        // BufferedMutator 自身的定时提交无法得知何时完成，缓存表的待提交行由这里定时提交后恢复填充
+        long trackedFlushInterval = flushInterval > 0 ? flushInterval : CommonConstant.DEFAULT_WRITE_BUFFER_FLUSH_INTERVAL;
+        scheduler = new ScheduledThreadPoolExecutor(1,
+                new BasicThreadFactory.Builder().namingPattern("buffered-mutator-flush-%d").daemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::flushTracked, trackedFlushInterval, trackedFlushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 缓冲写入一条数据
+     *
+     * @param tableName 表名
+     * @param mutation  put 或 delete
+     * @throws IOException
+     */
+    public void mutate(String tableName, Mutation mutation) throws IOException {
+        mutate(tableName, Collections.singletonList(mutation));
+    }
+
+    /**
+     * 缓冲写入多条数据
+     *
+     * @param tableName 表名
+     * @param mutations put 或 delete 集合
+     * @throws IOException
+     */
+    public void mutate(String tableName, List<? extends Mutation> mutations) throws IOException {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        // 取到的 BufferedMutator 可能在写入前因连接刷新被关闭，关闭前已提交缓冲数据，换新的重新写入
+        while (!getHolder(tableName).mutate(mutations)) {
+            logger.debug("buffered mutator of table {} closed before mutate, retry", tableName);
+        }
+    }
+
+    /**
+     * 提交某张表缓冲区中的数据
+     *
+     * @param tableName 表名
+     * @throws IOException
+     */
+    public void flush(String tableName) throws IOException {
+        MutatorHolder holder = mutators.get(tableName);
+        if (holder != null) {
+            holder.flush();
+        }
+    }
+
+    /**
+     * 提交所有表缓冲区中的数据
+     */
+    public void flush() {
+        mutators.forEach((tableName, holder) -> {
+            try {
+                holder.flush();
+            } catch (IOException e) {
+                logger.error("flush table {} error, message:{}", tableName, e.getMessage());
+            }
+        });
+    }
+
+    private void flushTracked() {
+        mutators.forEach((tableName, holder) -> {
+            if (holder.hasPendingRows()) {
+                try {
+                    holder.flush();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("flush table {} error, message:{}", tableName, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 提交并关闭所有 BufferedMutator，应用关闭时自动调用
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        for (String tableName : mutators.keySet()) {
+            MutatorHolder holder = mutators.remove(tableName);
+            if (holder != null) {
+                holder.close();
+            }
+        }
+        logger.info("buffered mutators closed");
+    }
+
+    private MutatorHolder getHolder(String tableName) throws IOException {
+        if (closed) {
+            throw new IOException("buffered mutator manager is closed");
+        }
+        MutatorHolder holder = mutators.get(tableName);
+        if (holder != null && hBaseConfig.isActive(holder.connection)) {
+            return holder;
+        }
+        // compute 中只做替换，创建和关闭都在锁外进行，关闭旧的 BufferedMutator 需要提交缓冲数据
+        MutatorHolder created = createHolder(tableName);
+        MutatorHolder[] replaced = new MutatorHolder[1];
+        MutatorHolder current = mutators.compute(tableName, (key, old) -> {
+            if (old != null && hBaseConfig.isActive(old.connection)) {
+                return old;
+            }
+            replaced[0] = old;
+            return created;
+        });
+        if (current != created) {
+            // 其他线程已经创建，丢弃本次创建的
+            created.close();
+        }
+        if (replaced[0] != null) {
+            replaced[0].close();
+        }
+        return current;
+    }
+
+    private MutatorHolder createHolder(String tableName) throws IOException {
+        BufferedMutatorParams params = new BufferedMutatorParams(tablePool.getTableName(tableName))
+                .writeBufferSize(tablePool.getSettings(tableName).getWriteBufferSize(writeBufferSize))
+                .listener((e, mutator) -> onFailure(tableName, e));
+        if (flushInterval > 0) {
+            params.setWriteBufferPeriodicFlushTimeoutMs(flushInterval);
+        }
+        ConnectionLease lease = null;
+        try {
+            lease = tablePool.acquire();
+            return new MutatorHolder(tableName, lease, lease.getConnection().getBufferedMutator(params), maxMutations,
+                    rowCache.getCache(tableName) != null ? rowCache : null);
+        } catch (IOException e) {
+            if (lease != null) {
+                lease.close();
+            }
+            throw e;
+        }
+    }
+
+    private void onFailure(String tableName, RetriesExhaustedWithDetailsException e) {
+        List<Mutation> failed = new ArrayList<>(e.getNumExceptions());
+        for (int i = 0; i < e.getNumExceptions(); i++) {
+            Row row = e.getRow(i);
+            if (row instanceof Mutation) {
+                failed.add((Mutation) row);
+            }
+        }
+        logger.error("buffered mutate on table {} failed, {} mutations lost, message:{}", tableName, failed.size(), e.getMessage());
+        if (failureListener != null) {
+            failureListener.onFailure(tableName, failed, e);
+        }
+    }
+
+    /**
+     * 连接被替换后，提交并关闭绑定在旧连接上的 BufferedMutator
+     *
+     * @param oldConnection 被替换的连接
+     */
+    private void closeStaleMutators(Connection oldConnection) {
+        mutators.forEach((tableName, holder) -> {
+            if (holder.connection == oldConnection && mutators.remove(tableName, holder)) {
+                holder.close();
+            }
+        });
+    }
+
+    public void setFailureListener(MutationFailureListener failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * 写入和提交持有读锁，关闭持有写锁，关闭后不再接受写入，避免写入已关闭的 BufferedMutator。
+     * 开启行缓存时记录上次提交之后缓冲的行，提交或关闭完成后交给 RowCache 失效
+     */
+    private static final class MutatorHolder {
+        private final String tableName;
+        private final ConnectionLease lease;
+        private final Connection connection;
+        private final BufferedMutator mutator;
+        private final int maxMutations;
+        private final RowCache rowCache;
+        private final AtomicLong pending = new AtomicLong();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private List<byte[]> pendingRows = new ArrayList<>();
+        private boolean closed = false;
+
+        /**
+         * @param rowCache 表没有开启行缓存时为 null，不记录缓冲的行
+         */
+        private MutatorHolder(String tableName, ConnectionLease lease, BufferedMutator mutator, int maxMutations, RowCache rowCache) {
+            this.tableName = tableName;
+            this.lease = lease;
+            this.connection = lease.getConnection();
+            this.mutator = mutator;
+            this.maxMutations = maxMutations;
+            this.rowCache = rowCache;
+        }
+
+        /**
+         * @return 已关闭时返回 false，数据没有写入
+         */
+        private boolean mutate(List<? extends Mutation> mutations) throws IOException {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                if (rowCache != null) {
+                    // 先标记再写入缓冲区，写入后到提交完成前的查询不会填充缓存
+                    rowCache.beginWrite(tableName, mutations);
+                    synchronized (this) {
+                        for (Mutation mutation : mutations) {
+                            pendingRows.add(mutation.getRow());
+                        }
+                    }
+                }
+                mutator.mutate(mutations);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (maxMutations > 0 && pending.addAndGet(mutations.size()) >= maxMutations) {
+                flush();
+            }
+            return true;
+        }
+
+        private void flush() throws IOException {
+            lock.readLock().lock();
+            try {
+                // 关闭时已经提交了缓冲数据
+                if (closed) {
+                    return;
+                }
+                pending.set(0);
+                // 本次提交之前缓冲的行，提交之后缓冲的行留到下一次提交
+                List<byte[]> rows = drainPendingRows();
+                try {
+                    mutator.flush();
+                } finally {
+                    endWrite(rows);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private synchronized boolean hasPendingRows() {
+            return !pendingRows.isEmpty();
+        }
+
+        private synchronized List<byte[]> drainPendingRows() {
+            if (pendingRows.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<byte[]> rows = pendingRows;
+            pendingRows = new ArrayList<>();
+            return rows;
+        }
+
+        private void endWrite(List<byte[]> rows) {
+            if (rowCache != null && !rows.isEmpty()) {
+                rowCache.endWrite(tableName, rows);
+            }
+        }
+
+        private void close() {
+            lock.writeLock().lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                mutator.close();
+            } catch (IOException e) {
+                logger.error("close buffered mutator {} error, message:{}", mutator.getName(), e.getMessage());
+            } finally {
+                endWrite(drainPendingRows());
+                lock.writeLock().unlock();
+                lease.close();
+            }
+        }
+    }
+}
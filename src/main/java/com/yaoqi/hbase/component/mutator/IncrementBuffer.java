@@ -0,0 +1,132 @@
+package com.yaoqi.hbase.component.mutator;
+
+import org.apache.hadoop.hbase.client.Increment;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 23:50
+ * Modified
+ * Description 单张表的计数缓冲，同一个 cell 的多次累加合并为一个增量。
+ * 累加时持有读锁，多个线程可以并发累加；取出时持有写锁，保证取出之后的累加进入新的缓冲，不会丢失
+ */
+public class IncrementBuffer {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+    private volatile ConcurrentHashMap<CellKey, LongAdder> cells = new ConcurrentHashMap<>();
+
+    /**
+     * 累加
+     *
+     * @param row       rowKey
+     * @param family    列族
+     * @param qualifier 列名
+     * @param delta     增量
+     * @return 累加后缓冲中不同 cell 的数量
+     */
+    public int add(byte[] row, byte[] family, byte[] qualifier, long delta) {
+        CellKey key = new CellKey(row, family, qualifier);
+        lock.readLock().lock();
+        try {
+            cells.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 取出缓冲中的全部增量，同一行的多个列合并为一个 Increment，合计为 0 的 cell 跳过
+     *
+     * @return Increment 集合，服务端不返回累加结果
+     */
+    public List<Increment> drain() {
+        ConcurrentHashMap<CellKey, LongAdder> drained;
+        lock.writeLock().lock();
+        try {
+            if (cells.isEmpty()) {
+                return new ArrayList<>();
+            }
+            drained = cells;
+            cells = new ConcurrentHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<ByteBuffer, Increment> increments = new LinkedHashMap<>();
+        drained.forEach((key, adder) -> {
+            long delta = adder.sum();
+            if (delta == 0) {
+                return;
+            }
+            Increment increment = increments.computeIfAbsent(ByteBuffer.wrap(key.row), row -> {
+                Increment created = new Increment(key.row);
+                created.setReturnResults(false);
+                return created;
+            });
+            increment.addColumn(key.family, key.qualifier, delta);
+        });
+        return new ArrayList<>(increments.values());
+    }
+
+    /**
+     * 标记已经安排了一次提交
+     *
+     * @return 之前没有待执行的提交时返回 true，调用方负责安排提交
+     */
+    public boolean markFlushPending() {
+        return flushPending.compareAndSet(false, true);
+    }
+
+    /**
+     * 清除待执行提交的标记，提交开始取出增量前调用，之后超过上限的累加可以再安排一次提交
+     */
+    public void clearFlushPending() {
+        flushPending.set(false);
+    }
+
+    /**
+     * 缓冲中不同 cell 的数量
+     */
+    public int size() {
+        return cells.size();
+    }
+
+    private static final class CellKey {
+        private final byte[] row;
+        private final byte[] family;
+        private final byte[] qualifier;
+        private final int hash;
+
+        private CellKey(byte[] row, byte[] family, byte[] qualifier) {
+            this.row = row;
+            this.family = family;
+            this.qualifier = qualifier;
+            this.hash = 31 * (31 * Arrays.hashCode(row) + Arrays.hashCode(family)) + Arrays.hashCode(qualifier);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey other = (CellKey) o;
+            return Arrays.equals(row, other.row) && Arrays.equals(family, other.family) && Arrays.equals(qualifier, other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.yaoqi.hbase.component.mutator;
+
+import com.yaoqi.hbase.component.cache.RowCache;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.pool.TablePool;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.shaded.org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 23:50
+ * Modified
+ * Description 合并计数，同一个 cell 在一个提交周期内的多次累加合并为一个增量，按表批量提交。
+ * 增量不是幂等的，提交失败时不重试，交给 MutationFailureListener 处理；进程异常退出时未提交的增量会丢失
+ */
+@Component
+public class IncrementCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementCoalescer.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private RowCache rowCache;
+
+    @Autowired(required = false)
+    private MutationFailureListener failureListener;
+
+    private final ConcurrentHashMap<String, IncrementBuffer> buffers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private int maxBufferedCells;
+    private volatile boolean closed = false;
+
+    @PostConstruct
+    private void init() {
+        long flushInterval = hBaseConfig.getLongConfig(CommonConstant.INCREMENT_FLUSH_INTERVAL, CommonConstant.DEFAULT_INCREMENT_FLUSH_INTERVAL);
+        maxBufferedCells = hBaseConfig.getIntConfig(CommonConstant.INCREMENT_MAX_BUFFERED_CELLS, CommonConstant.DEFAULT_INCREMENT_MAX_BUFFERED_CELLS);
+        scheduler = new ScheduledThreadPoolExecutor(1,
+                new BasicThreadFactory.Builder().namingPattern("increment-flush-%d").daemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 缓冲一次累加，在下一个提交周期或缓冲的 cell 数量达到上限时提交
+     *
+     * @param tableName 表名
+     * @param row       rowKey
+     * @param family    列族
+     * @param qualifier 列名
+     * @param delta     增量
+     * @throws IOException 已关闭
+     */
+    public void increment(String tableName, byte[] row, byte[] family, byte[] qualifier, long delta) throws IOException {
+        if (closed) {
+            throw new IOException("increment coalescer is closed");
+        }
+        IncrementBuffer buffer = buffers.computeIfAbsent(tableName, key -> new IncrementBuffer());
+        // 同一张表最多只有一个待执行的提交，超过上限后的每次累加不会各自再排一个提交任务
+        if (buffer.add(row, family, qualifier, delta) >= maxBufferedCells && buffer.markFlushPending()) {
+            try {
+                scheduler.execute(() -> flushQuietly(tableName));
+            } catch (RejectedExecutionException e) {
+                buffer.clearFlushPending();
+                logger.warn("increment flush of table {} rejected, message:{}", tableName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 提交某张表缓冲的增量
+     *
+     * @param tableName 表名
+     * @throws IOException 提交失败，未成功的增量已交给 MutationFailureListener
+     */
+    public void flush(String tableName) throws IOException {
+        IncrementBuffer buffer = buffers.get(tableName);
+        if (buffer == null) {
+            return;
+        }
+        buffer.clearFlushPending();
+        List<Increment> increments = buffer.drain();
+        if (increments.isEmpty()) {
+            return;
+        }
+        Object[] results = new Object[increments.size()];
+        try {
+            tablePool.execute(tableName, table -> {
+                try {
+                    table.batch(increments, results);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("increment flush interrupted");
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            // 部分失败时只交出结果为异常或为空的增量，已经生效的增量再次提交会重复计数
+            onFailure(tableName, failedIncrements(increments, results), e);
+            throw e;
+        } finally {
+            rowCache.invalidate(tableName, increments);
+        }
+    }
+
+    /**
+     * 提交所有表缓冲的增量
+     */
+    public void flush() {
+        buffers.keySet().forEach(this::flushQuietly);
+    }
+
+    private void flushQuietly(String tableName) {
+        try {
+            flush(tableName);
+        } catch (IOException | RuntimeException e) {
+            logger.error("increment flush of table {} error, message:{}", tableName, e.getMessage());
+        }
+    }
+
+    /**
+     * 取出 batch 结果中失败的增量，结果为异常或为空表示该增量没有确认生效
+     *
+     * @param increments 提交的增量
+     * @param results    batch 的结果，与增量一一对应
+     * @return 失败的增量
+     */
+    static List<Increment> failedIncrements(List<Increment> increments, Object[] results) {
+        List<Increment> failed = new ArrayList<>();
+        for (int i = 0; i < increments.size(); i++) {
+            if (results[i] == null || results[i] instanceof Throwable) {
+                failed.add(increments.get(i));
+            }
+        }
+        return failed;
+    }
+
+    private void onFailure(String tableName, List<Increment> increments, Throwable cause) {
+        if (failureListener != null && !increments.isEmpty()) {
+            failureListener.onFailure(tableName, new ArrayList<Mutation>(increments), cause);
+        }
+    }
+
+    /**
+     * 提交全部增量并停止定时提交，应用关闭时自动调用
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        flush();
+        logger.info("increment coalescer closed");
+    }
+}
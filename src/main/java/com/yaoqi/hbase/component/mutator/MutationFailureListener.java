@@ -0,0 +1,24 @@
+package com.yaoqi.hbase.component.mutator;
+
+import org.apache.hadoop.hbase.client.Mutation;
+
+import java.util.List;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 11:05
+ * Modified
+ * Description 缓冲写入失败回调，注册为 Spring Bean 后由 BufferedMutatorManager 自动使用
+ */
+@FunctionalInterface
+public interface MutationFailureListener {
+
+    /**
+     * 缓冲写入在重试耗尽后仍然失败时回调
+     *
+     * @param tableName 表名
+     * @param failed    写入失败的数据
+     * @param cause     失败原因
+     */
+    void onFailure(String tableName, List<Mutation> failed, Throwable cause);
+}
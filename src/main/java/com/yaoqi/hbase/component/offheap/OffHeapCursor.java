@@ -0,0 +1,450 @@
+package com.yaoqi.hbase.component.offheap;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:10
+ * Modified
+ * Description 堆外结果游标。查询结果按 cell 复制到堆外缓冲块中，游标是一个享元，
+ * next() 只移动位置，通过偏移量访问当前 cell 的 row、family、qualifier、value，遍历过程中不为每个 cell 分配对象。
+ * 扫描时只占用一个缓冲块，读完后复用该块拉取下一批数据；批量查询时在创建游标时复制全部结果，读完一块归还一块，
+ * 分段加载时堆上最多只有一段 Result。
+ * 关闭时归还所有缓冲块并关闭 scanner，关闭后不能再访问之前返回的缓冲区。
+ * <p>
+ * 每个 cell 的布局：结果序号(4) rowLength(2) familyLength(1) qualifierLength(4) valueLength(4) timestamp(8) row family qualifier value
+ */
+public class OffHeapCursor implements AutoCloseable {
+
+    private static final int HEADER_SIZE = Bytes.SIZEOF_INT + Bytes.SIZEOF_SHORT + Bytes.SIZEOF_BYTE
+            + Bytes.SIZEOF_INT + Bytes.SIZEOF_INT + Bytes.SIZEOF_LONG;
+
+    private final SlabPool pool;
+    private final ResultScanner scanner;
+    private final ResultChunkLoader loader;
+    private final int total;
+    private final int chunkSize;
+    private final ArrayDeque<ByteBuffer> filled = new ArrayDeque<>();
+
+    /**
+     * 批量查询的当前段及其第一个结果的序号
+     */
+    private Result[] results;
+    private int chunkBase;
+
+    /**
+     * 写入位置：下一个待复制的结果及其 cell
+     */
+    private Result pending;
+    private int pendingCell;
+    private int resultCount;
+    private boolean exhausted;
+
+    /**
+     * 读取位置
+     */
+    private ByteBuffer current;
+    /**
+     * 当前缓冲块的副本，用于批量复制，每个缓冲块只创建一次
+     */
+    private ByteBuffer reader;
+    private int nextOffset;
+    private int resultIndex = -1;
+    private boolean newRow;
+    private int rowOffset;
+    private int rowLength;
+    private int familyOffset;
+    private int familyLength;
+    private int qualifierOffset;
+    private int qualifierLength;
+    private int valueOffset;
+    private int valueLength;
+    private long timestamp;
+    private boolean closed;
+
+    private OffHeapCursor(SlabPool pool, ResultScanner scanner, Result[] results, ResultChunkLoader loader, int total, int chunkSize) {
+        this.pool = pool;
+        this.scanner = scanner;
+        this.results = results;
+        this.loader = loader;
+        this.total = total;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 按需从 scanner 拉取数据，同一时刻只占用一个缓冲块
+     *
+     * @param pool    缓冲块池
+     * @param scanner scanner，游标关闭时关闭
+     * @return 游标
+     */
+    public static OffHeapCursor scan(SlabPool pool, ResultScanner scanner) {
+        return new OffHeapCursor(pool, scanner, null, null, 0, 0);
+    }
+
+    /**
+     * 将批量查询的结果全部复制到堆外，复制过的元素会从数组中清除，尽早被回收
+     *
+     * @param pool    缓冲块池
+     * @param results 查询结果，顺序与结果序号一致
+     * @return 游标
+     * @throws IOException
+     */
+    public static OffHeapCursor copyOf(SlabPool pool, Result[] results) throws IOException {
+        return copy(new OffHeapCursor(pool, null, results, null, results.length, results.length));
+    }
+
+    /**
+     * 分段加载批量查询的结果并复制到堆外，每段复制完才加载下一段，堆上最多只有一段 Result。
+     * 各段连续写入缓冲块，段的边界不会留下未写满的缓冲块
+     *
+     * @param pool      缓冲块池
+     * @param total     结果总数
+     * @param chunkSize 每段的结果数
+     * @param loader    分段加载结果
+     * @return 游标
+     * @throws IOException 加载失败，已经复制的缓冲块会被归还
+     */
+    public static OffHeapCursor copyOf(SlabPool pool, int total, int chunkSize, ResultChunkLoader loader) throws IOException {
+        return copy(new OffHeapCursor(pool, null, new Result[0], loader, total, Math.max(1, chunkSize)));
+    }
+
+    private static OffHeapCursor copy(OffHeapCursor cursor) throws IOException {
+        SlabPool pool = cursor.pool;
+        while (!cursor.exhausted) {
+            ByteBuffer slab = pool.acquire();
+            try {
+                slab = cursor.fill(slab);
+            } catch (IOException | RuntimeException e) {
+                // 只有加载下一段时会失败，此时 slab 还没有被归还或替换
+                pool.release(slab);
+                cursor.close();
+                throw e;
+            }
+            if (slab.hasRemaining()) {
+                cursor.filled.add(slab);
+            } else {
+                pool.release(slab);
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * 移动到下一个 cell
+     *
+     * @return 没有更多数据时返回 false
+     * @throws IOException 从 scanner 拉取数据失败
+     */
+    public boolean next() throws IOException {
+        if (closed) {
+            return false;
+        }
+        while (current == null || nextOffset >= current.limit()) {
+            if (!advance()) {
+                return false;
+            }
+            reader = current.duplicate();
+        }
+        ByteBuffer buffer = current;
+        int offset = nextOffset;
+        int index = buffer.getInt(offset);
+        newRow = index != resultIndex;
+        resultIndex = index;
+        rowLength = buffer.getShort(offset + 4) & 0xFFFF;
+        familyLength = buffer.get(offset + 6) & 0xFF;
+        qualifierLength = buffer.getInt(offset + 7);
+        valueLength = buffer.getInt(offset + 11);
+        timestamp = buffer.getLong(offset + 15);
+        rowOffset = offset + HEADER_SIZE;
+        familyOffset = rowOffset + rowLength;
+        qualifierOffset = familyOffset + familyLength;
+        valueOffset = qualifierOffset + qualifierLength;
+        nextOffset = valueOffset + valueLength;
+        return true;
+    }
+
+    /**
+     * 切换到下一个可读的缓冲块
+     */
+    private boolean advance() throws IOException {
+        ByteBuffer finished = current;
+        current = null;
+        nextOffset = 0;
+        if (!filled.isEmpty()) {
+            pool.release(finished);
+            current = filled.poll();
+            return true;
+        }
+        if (scanner == null || exhausted) {
+            pool.release(finished);
+            return false;
+        }
+        ByteBuffer slab = finished;
+        if (slab == null || slab.capacity() != pool.getSlabSize()) {
+            slab = pool.acquire();
+        }
+        slab.clear();
+        current = fill(slab);
+        return true;
+    }
+
+    /**
+     * 从数据源复制 cell 到缓冲块，直到缓冲块写满或数据源读完
+     *
+     * @param slab 空的缓冲块
+     * @return 写入了数据的缓冲区（已 flip），单个 cell 超过块大小时为专用缓冲区，slab 会被归还
+     */
+    private ByteBuffer fill(ByteBuffer slab) throws IOException {
+        while (true) {
+            if (pending == null) {
+                pending = nextResult();
+                pendingCell = 0;
+                if (pending == null) {
+                    exhausted = true;
+                    break;
+                }
+                resultCount++;
+            }
+            Cell[] cells = pending.rawCells();
+            int cellCount = cells == null ? 0 : cells.length;
+            while (pendingCell < cellCount) {
+                Cell cell = cells[pendingCell];
+                int size = sizeOf(cell);
+                if (size > slab.remaining()) {
+                    if (slab.position() > 0) {
+                        slab.flip();
+                        return slab;
+                    }
+                    pool.release(slab);
+                    ByteBuffer oversized = pool.allocateOversized(size);
+                    write(oversized, cell, resultCount - 1);
+                    pendingCell++;
+                    oversized.flip();
+                    return oversized;
+                }
+                write(slab, cell, resultCount - 1);
+                pendingCell++;
+            }
+            pending = null;
+        }
+        slab.flip();
+        return slab;
+    }
+
+    private Result nextResult() throws IOException {
+        if (scanner != null) {
+            return scanner.next();
+        }
+        if (resultCount >= total) {
+            return null;
+        }
+        int index = resultCount - chunkBase;
+        if (index >= results.length) {
+            // 当前段已经全部复制，加载下一段
+            chunkBase = resultCount;
+            results = loader.load(resultCount, Math.min(total, resultCount + chunkSize));
+            index = 0;
+            if (results.length == 0) {
+                return null;
+            }
+        }
+        Result result = results[index];
+        // 已复制的结果不再引用，尽早回收
+        results[index] = null;
+        return result == null ? Result.EMPTY_RESULT : result;
+    }
+
+    private static int sizeOf(Cell cell) {
+        return HEADER_SIZE + cell.getRowLength() + cell.getFamilyLength() + cell.getQualifierLength() + cell.getValueLength();
+    }
+
+    private static void write(ByteBuffer buffer, Cell cell, int index) {
+        buffer.putInt(index);
+        buffer.putShort(cell.getRowLength());
+        buffer.put(cell.getFamilyLength());
+        buffer.putInt(cell.getQualifierLength());
+        buffer.putInt(cell.getValueLength());
+        buffer.putLong(cell.getTimestamp());
+        buffer.put(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength());
+        buffer.put(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+        buffer.put(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+        buffer.put(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+    }
+
+    /**
+     * 当前 cell 所在的缓冲区，配合各 offset、length 使用绝对位置读取，移动游标后可能失效
+     *
+     * @return 缓冲区
+     */
+    public ByteBuffer getBuffer() {
+        return current;
+    }
+
+    /**
+     * 当前 cell 所属结果的序号，批量查询时与 Get 的顺序一致，扫描时为行号
+     */
+    public int getResultIndex() {
+        return resultIndex;
+    }
+
+    /**
+     * 当前 cell 是否是所属结果的第一个 cell
+     */
+    public boolean isNewRow() {
+        return newRow;
+    }
+
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    public int getRowLength() {
+        return rowLength;
+    }
+
+    public int getFamilyOffset() {
+        return familyOffset;
+    }
+
+    public int getFamilyLength() {
+        return familyLength;
+    }
+
+    public int getQualifierOffset() {
+        return qualifierOffset;
+    }
+
+    public int getQualifierLength() {
+        return qualifierLength;
+    }
+
+    public int getValueOffset() {
+        return valueOffset;
+    }
+
+    public int getValueLength() {
+        return valueLength;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean matchingRow(byte[] row) {
+        return matching(rowOffset, rowLength, row);
+    }
+
+    public boolean matchingFamily(byte[] family) {
+        return matching(familyOffset, familyLength, family);
+    }
+
+    public boolean matchingQualifier(byte[] qualifier) {
+        return matching(qualifierOffset, qualifierLength, qualifier);
+    }
+
+    private boolean matching(int offset, int length, byte[] bytes) {
+        if (bytes.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (current.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按 Bytes.toBytes(long) 的编码读取 value
+     */
+    public long getValueAsLong() {
+        return current.getLong(valueOffset);
+    }
+
+    /**
+     * 按 Bytes.toBytes(int) 的编码读取 value
+     */
+    public int getValueAsInt() {
+        return current.getInt(valueOffset);
+    }
+
+    /**
+     * 将 value 复制到调用方提供的数组中，数组可以在多个 cell 之间复用
+     *
+     * @param target 目标数组
+     * @param offset 目标起始位置
+     * @return value 长度
+     */
+    public int copyValueTo(byte[] target, int offset) {
+        copy(valueOffset, valueLength, target, offset);
+        return valueLength;
+    }
+
+    /**
+     * 将 row 复制到调用方提供的数组中
+     *
+     * @param target 目标数组
+     * @param offset 目标起始位置
+     * @return row 长度
+     */
+    public int copyRowTo(byte[] target, int offset) {
+        copy(rowOffset, rowLength, target, offset);
+        return rowLength;
+    }
+
+    public byte[] cloneRow() {
+        return clone(rowOffset, rowLength);
+    }
+
+    public byte[] cloneFamily() {
+        return clone(familyOffset, familyLength);
+    }
+
+    public byte[] cloneQualifier() {
+        return clone(qualifierOffset, qualifierLength);
+    }
+
+    public byte[] cloneValue() {
+        return clone(valueOffset, valueLength);
+    }
+
+    private byte[] clone(int offset, int length) {
+        byte[] bytes = new byte[length];
+        copy(offset, length, bytes, 0);
+        return bytes;
+    }
+
+    private void copy(int offset, int length, byte[] target, int targetOffset) {
+        reader.position(offset);
+        reader.get(target, targetOffset, length);
+    }
+
+    /**
+     * 归还所有缓冲块并关闭 scanner，可以重复调用
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pool.release(current);
+        current = null;
+        reader = null;
+        for (ByteBuffer slab = filled.poll(); slab != null; slab = filled.poll()) {
+            pool.release(slab);
+        }
+        pending = null;
+        if (scanner != null) {
+            scanner.close();
+        }
+    }
+}
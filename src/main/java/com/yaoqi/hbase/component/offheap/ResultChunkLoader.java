@@ -0,0 +1,25 @@
+package com.yaoqi.hbase.component.offheap;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:10
+ * Modified
+ * Description 分段加载批量查询的结果，上一段复制到堆外后才加载下一段
+ */
+@FunctionalInterface
+public interface ResultChunkLoader {
+
+    /**
+     * 加载一段结果
+     *
+     * @param from 起始序号，包含
+     * @param to   结束序号，不包含
+     * @return 结果，长度为 to - from
+     * @throws IOException
+     */
+    Result[] load(int from, int to) throws IOException;
+}
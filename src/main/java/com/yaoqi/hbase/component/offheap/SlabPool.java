@@ -0,0 +1,112 @@
+package com.yaoqi.hbase.component.offheap;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 22:10
+ * Modified
+ * Description 定长堆外缓冲块池。块归还后重复使用，空闲块超过 offHeapMaxPooledSlabs 时不再保留，
+ * 单个 cell 超过块大小时临时分配专用缓冲区，不进入池
+ */
+@Component
+public class SlabPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlabPool.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> freeSlabs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger freeCount = new AtomicInteger();
+    private final LongAdder allocatedCount = new LongAdder();
+    private int slabSize;
+    private int maxPooledSlabs;
+
+    public SlabPool() {
+    }
+
+    public SlabPool(int slabSize, int maxPooledSlabs) {
+        this.slabSize = slabSize;
+        this.maxPooledSlabs = maxPooledSlabs;
+    }
+
+    @PostConstruct
+    private void init() {
+        slabSize = hBaseConfig.getIntConfig(CommonConstant.OFF_HEAP_SLAB_SIZE, CommonConstant.DEFAULT_OFF_HEAP_SLAB_SIZE);
+        maxPooledSlabs = hBaseConfig.getIntConfig(CommonConstant.OFF_HEAP_MAX_POOLED_SLABS, CommonConstant.DEFAULT_OFF_HEAP_MAX_POOLED_SLABS);
+        logger.info("off heap slab size : {}, max pooled slabs : {}", slabSize, maxPooledSlabs);
+    }
+
+    /**
+     * 获取一个空的缓冲块
+     *
+     * @return 已 clear 的缓冲块
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer slab = freeSlabs.poll();
+        if (slab != null) {
+            freeCount.decrementAndGet();
+            slab.clear();
+            return slab;
+        }
+        allocatedCount.increment();
+        return ByteBuffer.allocateDirect(slabSize);
+    }
+
+    /**
+     * 分配一个不进入池的专用缓冲区，用于超过块大小的 cell
+     *
+     * @param capacity 容量
+     * @return 缓冲区
+     */
+    public ByteBuffer allocateOversized(int capacity) {
+        allocatedCount.increment();
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * 归还缓冲块
+     *
+     * @param slab 缓冲块，非本池大小的缓冲区直接丢弃
+     */
+    public void release(ByteBuffer slab) {
+        if (slab == null || slab.capacity() != slabSize) {
+            return;
+        }
+        if (freeCount.incrementAndGet() <= maxPooledSlabs) {
+            freeSlabs.offer(slab);
+        } else {
+            freeCount.decrementAndGet();
+        }
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * 池中空闲块数
+     */
+    public int getFreeCount() {
+        return freeCount.get();
+    }
+
+    /**
+     * 累计分配的堆外缓冲区数量，稳定运行时不再增长
+     */
+    public long getAllocatedCount() {
+        return allocatedCount.sum();
+    }
+}
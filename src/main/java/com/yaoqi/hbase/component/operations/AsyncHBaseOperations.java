@@ -0,0 +1,176 @@
+package com.yaoqi.hbase.component.operations;
+
+import com.yaoqi.hbase.component.query.QueryBuilder;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
+import org.apache.hadoop.hbase.client.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 15:48
+ * Modified
+ * Description 异步组件接口，与 HBaseOperations 对应，基于 AsyncConnection，不阻塞调用线程
+ */
+public interface AsyncHBaseOperations {
+
+    /**
+     * 创建一张表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @return
+     */
+    CompletableFuture<Void> createTable(final String tableName, final String... familyName);
+
+    /**
+     * 创建带有分区的表
+     *
+     * @param tableName
+     * @param familyName
+     * @param splitKeys
+     * @return
+     */
+    CompletableFuture<Void> createTable(String tableName, List<String> familyName, byte[][] splitKeys);
+
+    /**
+     * 创建按生成器预分区的表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @param generator  splitKey 生成器
+     * @return
+     */
+    CompletableFuture<Void> createTableWithSplits(String tableName, List<String> familyName, SplitKeyGenerator generator);
+
+    /**
+     * 通过表名和rowKey获取数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Integer,Double,byte[],UUID,Object[]}，可通过 RowKeyCodecRegistry 注册其他类型
+     * @return Result 类型
+     */
+    <T> CompletableFuture<Result> queryByTableNameAndRowKey(String tableName, T rowKeyVar);
+
+    /**
+     * 通过表名和rowKey获取数据，只返回 query 限定的列族、列、版本和过滤后的数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param query     查询条件
+     * @return Result 类型
+     */
+    <T> CompletableFuture<Result> queryByTableNameAndRowKey(String tableName, T rowKeyVar, QueryBuilder query);
+
+    /**
+     * 自定义查询
+     *
+     * @param tableName 表名
+     * @param getList   请求体
+     * @return 与请求顺序一致的结果
+     */
+    CompletableFuture<List<Result>> query(String tableName, List<Get> getList);
+
+    /**
+     * 判断表名是否存在
+     *
+     * @param tableName 表名 String ,注意这里区分大小写
+     * @return
+     */
+    CompletableFuture<Boolean> tableExists(String tableName);
+
+    /**
+     * 新增一条数据
+     *
+     * @param tableName  目标数据表
+     * @param rowName    rowKey
+     * @param familyName 列族名
+     * @param qualifier  列名
+     * @param data       字节数组类型的数据
+     * @return
+     */
+    CompletableFuture<Void> put(final String tableName, final String rowName, final String familyName, final String qualifier, final byte[] data);
+
+    /**
+     * 批量插入数据
+     *
+     * @param tableName 表名
+     * @param putList   put集合
+     * @return
+     */
+    CompletableFuture<Void> putBatch(final String tableName, List<Put> putList);
+
+    /**
+     * 删除一个列族下的数据
+     *
+     * @param tableName  target table
+     * @param rowName    row name
+     * @param familyName family
+     * @return
+     */
+    CompletableFuture<Void> delete(final String tableName, final String rowName, final String familyName);
+
+    /**
+     * 删除某个列下的数据
+     *
+     * @param tableName  目标数据表
+     * @param rowName    rowKey
+     * @param familyName 列族名
+     * @param qualifier  列名
+     * @return
+     */
+    CompletableFuture<Void> delete(final String tableName, final String rowName, final String familyName, final String qualifier);
+
+    /**
+     * 批量删除数据
+     *
+     * @param tableName  表名
+     * @param deleteList 需要删除的数据
+     * @return
+     */
+    CompletableFuture<Void> deleteBatch(final String tableName, List<Delete> deleteList);
+
+    /**
+     * 通过scan查询数据，结果会全部加载到内存中，只适合结果集较小的扫描
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 全部扫描结果
+     */
+    CompletableFuture<List<Result>> queryByScan(final String tableName, Scan scan);
+
+    /**
+     * 删除表
+     *
+     * @param tableName 表名
+     * @return
+     */
+    CompletableFuture<Void> dropTable(String tableName);
+
+    /**
+     * 清空表数据
+     *
+     * @param tableName
+     * @return
+     */
+    CompletableFuture<Void> truncateTable(String tableName);
+
+    /**
+     * 删除列簇下的某些列
+     *
+     * @param tableName
+     * @param family
+     * @param rowKey
+     * @param columns
+     * @return
+     */
+    CompletableFuture<Boolean> deleteColumn(String tableName, String family, String rowKey, List<String> columns);
+
+    /**
+     * 获取异步连接对象
+     *
+     * @return 异步连接，创建失败时返回 null；其他方法在这种情况下返回失败的 CompletableFuture，不会直接抛出异常
+     */
+    AsyncConnection getAsyncConnection();
+}
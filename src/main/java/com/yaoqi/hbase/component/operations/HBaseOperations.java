@@ -1,9 +1,19 @@
 package com.yaoqi.hbase.component.operations;
 
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.batch.ConditionalBatchResult;
+import com.yaoqi.hbase.component.batch.ConditionalMutation;
+import com.yaoqi.hbase.component.batch.MultiGetResult;
+import com.yaoqi.hbase.component.offheap.OffHeapCursor;
+import com.yaoqi.hbase.component.query.QueryBuilder;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
 import org.apache.hadoop.hbase.client.*;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * @author YaoQi
@@ -30,15 +40,85 @@ public interface HBaseOperations {
      */
     void createTable(String tableName, List<String> familyName, byte[][] splitkeys);
 
+    /**
+     * 创建按生成器预分区的表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @param generator  splitKey 生成器
+     */
+    void createTableWithSplits(String tableName, List<String> familyName, SplitKeyGenerator generator);
+
     /**
      * 通过表名和rowKey获取数据
      *
      * @param tableName 表名
-     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Double}
+     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Integer,Double,byte[],UUID,Object[]}，可通过 RowKeyCodecRegistry 注册其他类型
      * @return Result 类型
      */
     <T> Result queryByTableNameAndRowKey(String tableName, T rowKeyVar);
 
+    /**
+     * 通过表名和rowKey获取数据，只返回 query 限定的列族、列、版本和过滤后的数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param query     查询条件
+     * @return Result 类型
+     */
+    <T> Result queryByTableNameAndRowKey(String tableName, T rowKeyVar, QueryBuilder query);
+
+    /**
+     * 通过表名和rowKey获取某个列族下的指定列，不指定列时返回整个列族
+     *
+     * @param tableName  表名
+     * @param rowKeyVar  rowKey
+     * @param familyName 列族名
+     * @param qualifiers 列名
+     * @return Result 类型
+     */
+    <T> Result queryByTableNameAndRowKey(String tableName, T rowKeyVar, String familyName, String... qualifiers);
+
+    /**
+     * 按同一查询条件批量查询多个rowKey
+     *
+     * @param tableName 表名
+     * @param rowKeys   rowKey 集合
+     * @param query     查询条件
+     * @return 与 rowKeys 顺序一致的结果
+     */
+    Result[] query(String tableName, Collection<?> rowKeys, QueryBuilder query);
+
+    /**
+     * 判断行是否存在，服务端不返回数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @return 是否存在
+     * @throws IOException
+     */
+    <T> boolean exists(String tableName, T rowKeyVar) throws IOException;
+
+    /**
+     * 批量判断行是否存在，服务端不返回数据
+     *
+     * @param tableName 表名
+     * @param rowKeys   rowKey 集合
+     * @return 与 rowKeys 顺序一致的结果
+     * @throws IOException
+     */
+    boolean[] existsAll(String tableName, Collection<?> rowKeys) throws IOException;
+
+    /**
+     * 统计 scan 范围内的行数，按 region 并行扫描，每行只返回第一个 key
+     *
+     * @param tableName 表名
+     * @param scan      扫描范围，可以带过滤器
+     * @return 行数
+     * @throws IOException
+     */
+    long count(String tableName, Scan scan) throws IOException;
+
     /**
      * 自定义查询
      *
@@ -48,6 +128,17 @@ public interface HBaseOperations {
      */
     Result[] query(String tableName, List<Get> getList);
 
+    /**
+     * 按RegionServer分组并行查询，超过截止时间后返回已经拿到的部分结果
+     *
+     * @param tableName 表名
+     * @param getList   请求体
+     * @param timeout   截止时间
+     * @param unit      时间单位
+     * @return 与请求顺序一致的结果，超时或失败的请求对应位置为 null
+     */
+    MultiGetResult query(String tableName, List<Get> getList, long timeout, TimeUnit unit);
+
     /**
      * 判断表名是否存在
      *
@@ -68,13 +159,94 @@ public interface HBaseOperations {
     void put(final String tableName, final String rowName, final String familyName, final String qualifier, final byte[] data);
 
     /**
-     * 批量插入数据
+     * 批量插入数据，数据会按RegionServer分组切片后并发写入
      *
      * @param tableName 表名
      * @param putList   put集合
+     * @return 每个分片的写入结果，失败的分片不会抛出异常
+     * @throws IOException
+     */
+    BatchResult putBatch(final String tableName, List<Put> putList) throws IOException;
+
+    /**
+     * 原子累加计数器
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param family    列族名
+     * @param qualifier 列名
+     * @param delta     增量，可以为负数
+     * @return 累加后的值
+     * @throws IOException
+     */
+    <T> long increment(String tableName, T rowKeyVar, String family, String qualifier, long delta) throws IOException;
+
+    /**
+     * 合并累加计数器，同一个 cell 在一个提交周期内的多次累加合并为一次提交，不返回累加后的值
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param family    列族名
+     * @param qualifier 列名
+     * @param delta     增量，可以为负数
+     * @throws IOException
+     */
+    <T> void bufferedIncrement(String tableName, T rowKeyVar, String family, String qualifier, long delta) throws IOException;
+
+    /**
+     * 列的值等于 expected 时写入 put，expected 为 null 表示列不存在时写入，检查和写入在服务端原子完成
+     *
+     * @param tableName 表名
+     * @param family    检查的列族名
+     * @param qualifier 检查的列名
+     * @param expected  期望的值
+     * @param put       put，检查的行就是 put 的行
+     * @return 条件满足并已写入时返回 true
+     * @throws IOException
+     */
+    boolean checkAndPut(String tableName, String family, String qualifier, byte[] expected, Put put) throws IOException;
+
+    /**
+     * 列的值等于 expected 时执行 delete，expected 为 null 表示列不存在时删除，检查和删除在服务端原子完成
+     *
+     * @param tableName 表名
+     * @param family    检查的列族名
+     * @param qualifier 检查的列名
+     * @param expected  期望的值
+     * @param delete    delete，检查的行就是 delete 的行
+     * @return 条件满足并已删除时返回 true
+     * @throws IOException
+     */
+    boolean checkAndDelete(String tableName, String family, String qualifier, byte[] expected, Delete delete) throws IOException;
+
+    /**
+     * 条件写入
+     *
+     * @param tableName 表名
+     * @param mutation  条件和写入操作
+     * @return 条件满足并已写入时返回 true
      * @throws IOException
      */
-    void putBatch(final String tableName, List<Put> putList) throws IOException;
+    boolean checkAndMutate(String tableName, ConditionalMutation mutation) throws IOException;
+
+    /**
+     * 批量条件写入，按 region 分组，不同 region 的请求并发执行，同一 region 内按请求顺序执行
+     *
+     * @param tableName 表名
+     * @param mutations 条件写入集合，相互独立
+     * @return 每条请求的结果，执行失败的请求不会抛出异常
+     * @throws IOException
+     */
+    ConditionalBatchResult checkAndMutateBatch(String tableName, List<ConditionalMutation> mutations) throws IOException;
+
+    /**
+     * 原子执行同一行的多个 put、delete
+     *
+     * @param tableName    表名
+     * @param rowMutations 同一行的写入操作
+     * @throws IOException
+     */
+    void mutateRow(String tableName, RowMutations rowMutations) throws IOException;
 
     /**
      * 删除一个列族下的数据
@@ -103,6 +275,46 @@ public interface HBaseOperations {
      */
     void deleteBatch(final String tableName, List<Delete> deleteList);
 
+    /**
+     * 缓冲写入一条数据，数据在缓冲区满、达到条数阈值或时间阈值时批量提交
+     *
+     * @param tableName 表名
+     * @param put       put
+     * @throws IOException
+     */
+    void bufferedPut(final String tableName, Put put) throws IOException;
+
+    /**
+     * 缓冲批量写入数据
+     *
+     * @param tableName 表名
+     * @param putList   put集合
+     * @throws IOException
+     */
+    void bufferedPutBatch(final String tableName, List<Put> putList) throws IOException;
+
+    /**
+     * 缓冲删除数据
+     *
+     * @param tableName 表名
+     * @param delete    delete
+     * @throws IOException
+     */
+    void bufferedDelete(final String tableName, Delete delete) throws IOException;
+
+    /**
+     * 提交某张表缓冲区中的数据
+     *
+     * @param tableName 表名
+     * @throws IOException
+     */
+    void flush(final String tableName) throws IOException;
+
+    /**
+     * 提交所有表缓冲区中的数据
+     */
+    void flush();
+
     /**
      * 通过scan查询数据
      *
@@ -112,6 +324,36 @@ public interface HBaseOperations {
      */
     ResultScanner queryByScan(final String tableName, Scan scan);
 
+    /**
+     * 以流的方式扫描数据，数据按需分批拉取，流关闭或读取完毕时释放 scanner 和 table
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 需要在 try-with-resources 中使用的 Stream
+     * @throws IOException
+     */
+    Stream<Result> scanStream(final String tableName, Scan scan) throws IOException;
+
+    /**
+     * 批量查询，结果复制到堆外缓冲区，通过游标逐个 cell 访问
+     *
+     * @param tableName 表名
+     * @param getList   请求体
+     * @return 需要在 try-with-resources 中使用的游标，关闭时归还缓冲区
+     * @throws IOException
+     */
+    OffHeapCursor queryOffHeap(final String tableName, List<Get> getList) throws IOException;
+
+    /**
+     * 扫描数据，每批结果复制到堆外缓冲区，通过游标逐个 cell 访问
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 需要在 try-with-resources 中使用的游标，关闭时归还缓冲区并释放 scanner
+     * @throws IOException
+     */
+    OffHeapCursor scanOffHeap(final String tableName, Scan scan) throws IOException;
+
     /**
      * 删除表
      *
@@ -159,7 +401,8 @@ public interface HBaseOperations {
     boolean deleteColumn(String tableName, String family, String rowKey, List<String> columns) throws IOException;
 
     /**
-     * 获取连接对象
+     * 获取连接对象。返回的连接没有租约，认证环境下连接刷新后会被关闭，只适合立即使用，
+     * 不要缓存或用于长时间的调用
      *
      * @return
      */
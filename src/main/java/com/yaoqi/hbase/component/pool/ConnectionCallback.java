@@ -0,0 +1,24 @@
+package com.yaoqi.hbase.component.pool;
+
+import org.apache.hadoop.hbase.client.Connection;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 04:20
+ * Modified
+ * Description 在持有租约的连接上执行的操作，用于 Admin、RegionLocator 等不经过 Table 的调用
+ */
+@FunctionalInterface
+public interface ConnectionCallback<T> {
+
+    /**
+     * 执行操作
+     *
+     * @param connection 连接，不要关闭，也不要在方法返回后继续使用
+     * @return 操作结果
+     * @throws IOException
+     */
+    T doInConnection(Connection connection) throws IOException;
+}
@@ -0,0 +1,24 @@
+package com.yaoqi.hbase.component.pool;
+
+import org.apache.hadoop.hbase.client.Table;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 20:50
+ * Modified
+ * Description 在表句柄上执行的操作
+ */
+@FunctionalInterface
+public interface TableCallback<T> {
+
+    /**
+     * 执行操作
+     *
+     * @param table 表句柄，不要关闭
+     * @return 操作结果
+     * @throws IOException
+     */
+    T doInTable(Table table) throws IOException;
+}
@@ -0,0 +1,246 @@
+package com.yaoqi.hbase.component.pool;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.config.ConnectionLease;
+import com.yaoqi.hbase.component.scan.LeasedResultScanner;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 20:10
+ * Modified
+ * Description Table 句柄池，每张表在连接池的每个连接上只创建一个 Table，按 TableSettings 设置超时参数后复用。
+ * 2.x 客户端的 Table 不再持有写缓冲区，可以在多个线程之间共享；池中的 Table 由池统一关闭，调用方不要关闭。
+ * 连接被替换后，绑定在旧连接上的 Table 会被关闭并在下次使用时在新连接上重新创建
+ */
+@Component
+public class TablePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TablePool.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    private final ConcurrentHashMap<Connection, ConcurrentHashMap<String, Table>> tables = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TableName> tableNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TableSettings> settings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        hBaseConfig.addConnectionListener(this::closeTables);
+    }
+
+    /**
+     * 从连接池取一个连接执行操作，执行期间持有该连接的租约
+     *
+     * @param tableName 表名
+     * @param callback  操作
+     * @param <T>       结果类型
+     * @return 操作结果
+     * @throws IOException
+     */
+    public <T> T execute(String tableName, TableCallback<T> callback) throws IOException {
+        try (ConnectionLease lease = acquire()) {
+            return callback.doInTable(getTable(tableName, lease.getConnection()));
+        }
+    }
+
+    /**
+     * 在限时的表句柄上执行操作，操作超时和单次 RPC 超时不超过 timeoutMillis，超时后由 HBase 客户端结束请求。
+     * 句柄按次创建，执行期间持有连接租约
+     *
+     * @param tableName     表名
+     * @param timeoutMillis 剩余时间，单位：毫秒
+     * @param callback      操作
+     * @param <T>           结果类型
+     * @return 操作结果
+     * @throws IOException
+     */
+    public <T> T execute(String tableName, int timeoutMillis, TableCallback<T> callback) throws IOException {
+        TableSettings tableSettings = getSettings(tableName);
+        try (ConnectionLease lease = acquire()) {
+            TableBuilder builder = tableSettings.apply(lease.getConnection().getTableBuilder(getTableName(tableName), null))
+                    .setOperationTimeout(timeoutMillis)
+                    .setRpcTimeout(limit(tableSettings.getRpcTimeout(), timeoutMillis))
+                    .setReadRpcTimeout(limit(tableSettings.getReadRpcTimeout() > 0 ? tableSettings.getReadRpcTimeout()
+                            : tableSettings.getRpcTimeout(), timeoutMillis))
+                    .setWriteRpcTimeout(limit(tableSettings.getWriteRpcTimeout() > 0 ? tableSettings.getWriteRpcTimeout()
+                            : tableSettings.getRpcTimeout(), timeoutMillis));
+            try (Table table = builder.build()) {
+                return callback.doInTable(table);
+            }
+        }
+    }
+
+    private static int limit(int configured, int timeoutMillis) {
+        return configured > 0 ? Math.min(configured, timeoutMillis) : timeoutMillis;
+    }
+
+    /**
+     * 从连接池取一个连接执行 Admin、RegionLocator 等操作，执行期间持有该连接的租约，连接刷新时不会被关闭
+     *
+     * @param callback 操作
+     * @param <T>      结果类型
+     * @return 操作结果
+     * @throws IOException 没有可用连接或操作失败
+     */
+    public <T> T executeOnConnection(ConnectionCallback<T> callback) throws IOException {
+        try (ConnectionLease lease = acquire()) {
+            return callback.doInConnection(lease.getConnection());
+        }
+    }
+
+    /**
+     * 获取连接租约，用于 scanner 等需要在方法返回后继续使用连接的场景
+     *
+     * @return 连接租约
+     * @throws IOException 没有可用连接
+     */
+    public ConnectionLease acquire() throws IOException {
+        ConnectionLease lease = hBaseConfig.acquireConnection();
+        if (lease == null) {
+            throw new IOException("no available connection");
+        }
+        return lease;
+    }
+
+    /**
+     * 在租约对应的连接上打开 scanner，scanner 关闭时归还租约
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 需要调用方关闭的 scanner
+     * @throws IOException
+     */
+    public ResultScanner getScanner(String tableName, Scan scan) throws IOException {
+        ConnectionLease lease = acquire();
+        try {
+            return new LeasedResultScanner(getTable(tableName, lease.getConnection()).getScanner(scan), lease);
+        } catch (IOException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取表句柄，不要关闭。没有持有租约，句柄所在的连接刷新后会被关闭，只适合立即使用，
+     * 需要跨越连接刷新的调用请使用 execute
+     *
+     * @param tableName 表名
+     * @return 连接池中某个连接上的 Table
+     * @throws IOException
+     */
+    public Table getTable(String tableName) throws IOException {
+        Connection connection = hBaseConfig.getConnection();
+        if (connection == null) {
+            throw new IOException("no available connection");
+        }
+        return getTable(tableName, connection);
+    }
+
+    /**
+     * 获取指定连接上的表句柄，不要关闭
+     *
+     * @param tableName  表名
+     * @param connection 连接
+     * @return Table
+     * @throws IOException
+     */
+    public Table getTable(String tableName, Connection connection) throws IOException {
+        Map<String, Table> connectionTables = tables.computeIfAbsent(connection, key -> new ConcurrentHashMap<>());
+        Table table = connectionTables.get(tableName);
+        if (table != null) {
+            return table;
+        }
+        try {
+            table = connectionTables.computeIfAbsent(tableName, key -> getSettings(key)
+                    .apply(connection.getTableBuilder(getTableName(key), null)).build());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        if (!hBaseConfig.isActive(connection)) {
+            // 创建期间连接已被替换，清理掉刚放入的句柄
+            closeTables(connection);
+        }
+        return table;
+    }
+
+    /**
+     * 获取缓存的 TableName，避免每次调用都做表名校验
+     *
+     * @param tableName 表名
+     * @return TableName
+     */
+    public TableName getTableName(String tableName) {
+        return tableNames.computeIfAbsent(tableName, TableName::valueOf);
+    }
+
+    /**
+     * 获取表的客户端参数
+     *
+     * @param tableName 表名
+     * @return 表参数
+     */
+    public TableSettings getSettings(String tableName) {
+        return settings.computeIfAbsent(tableName, key -> TableSettings.resolve(hBaseConfig, key));
+    }
+
+    /**
+     * 丢弃某张表的句柄，删除表后调用
+     *
+     * @param tableName 表名
+     */
+    public void invalidate(String tableName) {
+        for (Map<String, Table> connectionTables : tables.values()) {
+            Table table = connectionTables.remove(tableName);
+            if (table != null) {
+                closeTable(table);
+            }
+        }
+    }
+
+    /**
+     * 关闭所有句柄，应用关闭时自动调用
+     */
+    @PreDestroy
+    public void close() {
+        for (Connection connection : tables.keySet()) {
+            closeTables(connection);
+        }
+    }
+
+    /**
+     * 关闭绑定在某个连接上的句柄，连接被替换后调用
+     *
+     * @param connection 被替换的连接
+     */
+    private void closeTables(Connection connection) {
+        Map<String, Table> connectionTables = tables.remove(connection);
+        if (connectionTables != null) {
+            connectionTables.values().forEach(this::closeTable);
+        }
+    }
+
+    private void closeTable(Table table) {
+        try {
+            table.close();
+        } catch (IOException e) {
+            logger.error("close table {} error {}", table.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.yaoqi.hbase.component.pool;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import org.apache.hadoop.hbase.client.TableBuilder;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 20:05
+ * Modified
+ * Description 单张表的客户端参数。每项先读 table.{表名}.{配置项}，没有时读全局配置项，都没有时使用 HBase 客户端默认值
+ */
+public class TableSettings {
+
+    private final int operationTimeout;
+    private final int rpcTimeout;
+    private final int readRpcTimeout;
+    private final int writeRpcTimeout;
+    private final long writeBufferSize;
+
+    public TableSettings(int operationTimeout, int rpcTimeout, int readRpcTimeout, int writeRpcTimeout, long writeBufferSize) {
+        this.operationTimeout = operationTimeout;
+        this.rpcTimeout = rpcTimeout;
+        this.readRpcTimeout = readRpcTimeout;
+        this.writeRpcTimeout = writeRpcTimeout;
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    /**
+     * 从配置中解析某张表的参数
+     *
+     * @param hBaseConfig 配置
+     * @param tableName   表名
+     * @return 表参数，未配置的项为 0
+     */
+    public static TableSettings resolve(HBaseConfig hBaseConfig, String tableName) {
+        return new TableSettings(
+                (int) get(hBaseConfig, tableName, CommonConstant.OPERATION_TIMEOUT),
+                (int) get(hBaseConfig, tableName, CommonConstant.RPC_TIMEOUT),
+                (int) get(hBaseConfig, tableName, CommonConstant.READ_RPC_TIMEOUT),
+                (int) get(hBaseConfig, tableName, CommonConstant.WRITE_RPC_TIMEOUT),
+                get(hBaseConfig, tableName, CommonConstant.WRITE_BUFFER_SIZE));
+    }
+
+    private static long get(HBaseConfig hBaseConfig, String tableName, String key) {
+        return get(hBaseConfig, tableName, key, 0L);
+    }
+
+    /**
+     * 读取单表配置项，没有时读全局配置项
+     *
+     * @param hBaseConfig  配置
+     * @param tableName    表名
+     * @param key          配置项
+     * @param defaultValue 都没有配置时的默认值
+     * @return 配置值
+     */
+    public static long get(HBaseConfig hBaseConfig, String tableName, String key, long defaultValue) {
+        long global = hBaseConfig.getLongConfig(key, defaultValue);
+        return hBaseConfig.getLongConfig(CommonConstant.TABLE_CONFIG_PREFIX + tableName + "." + key, global);
+    }
+
+    /**
+     * 将已配置的超时参数应用到 TableBuilder
+     *
+     * @param builder TableBuilder
+     * @return builder
+     */
+    public TableBuilder apply(TableBuilder builder) {
+        if (operationTimeout > 0) {
+            builder.setOperationTimeout(operationTimeout);
+        }
+        if (rpcTimeout > 0) {
+            builder.setRpcTimeout(rpcTimeout);
+        }
+        if (readRpcTimeout > 0) {
+            builder.setReadRpcTimeout(readRpcTimeout);
+        }
+        if (writeRpcTimeout > 0) {
+            builder.setWriteRpcTimeout(writeRpcTimeout);
+        }
+        return builder;
+    }
+
+    public int getOperationTimeout() {
+        return operationTimeout;
+    }
+
+    public int getRpcTimeout() {
+        return rpcTimeout;
+    }
+
+    public int getReadRpcTimeout() {
+        return readRpcTimeout;
+    }
+
+    public int getWriteRpcTimeout() {
+        return writeRpcTimeout;
+    }
+
+    /**
+     * 缓冲写入的缓冲区大小，未配置时返回默认值
+     *
+     * @param defaultValue 默认值
+     * @return 缓冲区大小
+     */
+    public long getWriteBufferSize(long defaultValue) {
+        return writeBufferSize > 0 ? writeBufferSize : defaultValue;
+    }
+}
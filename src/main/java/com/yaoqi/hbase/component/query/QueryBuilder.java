@@ -0,0 +1,278 @@
+package com.yaoqi.hbase.component.query;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.ColumnPrefixFilter;
+import org.apache.hadoop.hbase.filter.ColumnRangeFilter;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 23:20
+ * Modified
+ * Description 查询条件构造器，限定返回的列族、列、版本数、时间范围和过滤器，减少服务端返回的数据量。
+ * 同一个构造器可以生成多个 Get 或 Scan，生成后再修改构造器不影响已生成的对象
+ */
+public class QueryBuilder {
+
+    /**
+     * 列族到列的映射，列集合为空表示整个列族
+     */
+    private final Map<byte[], NavigableSet<byte[]>> columns = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    private final List<Filter> filters = new ArrayList<>();
+    private int maxVersions = 1;
+    private long minStamp = 0L;
+    private long maxStamp = HConstants.LATEST_TIMESTAMP;
+    private byte[] rowPrefix;
+
+    private QueryBuilder() {
+    }
+
+    public static QueryBuilder create() {
+        return new QueryBuilder();
+    }
+
+    /**
+     * 返回整个列族
+     *
+     * @param family 列族名
+     * @return this
+     */
+    public QueryBuilder family(String family) {
+        Assert.hasLength(family);
+        columns.put(Bytes.toBytes(family), new TreeSet<>(Bytes.BYTES_COMPARATOR));
+        return this;
+    }
+
+    /**
+     * 返回列族下的指定列，可以多次调用，已经指定返回整个列族时忽略
+     *
+     * @param family     列族名
+     * @param qualifiers 列名
+     * @return this
+     */
+    public QueryBuilder columns(String family, String... qualifiers) {
+        Assert.hasLength(family);
+        Assert.notNull(qualifiers);
+        byte[] familyBytes = Bytes.toBytes(family);
+        NavigableSet<byte[]> set = columns.get(familyBytes);
+        if (set != null && set.isEmpty()) {
+            // 已经指定返回整个列族
+            return this;
+        }
+        if (set == null) {
+            set = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+            columns.put(familyBytes, set);
+        }
+        for (String qualifier : qualifiers) {
+            Assert.notNull(qualifier);
+            set.add(Bytes.toBytes(qualifier));
+        }
+        return this;
+    }
+
+    /**
+     * 每列最多返回的版本数，默认 1
+     *
+     * @param maxVersions 版本数
+     * @return this
+     */
+    public QueryBuilder maxVersions(int maxVersions) {
+        if (maxVersions <= 0) {
+            throw new IllegalArgumentException("maxVersions must be positive: " + maxVersions);
+        }
+        this.maxVersions = maxVersions;
+        return this;
+    }
+
+    /**
+     * 返回所有版本
+     *
+     * @return this
+     */
+    public QueryBuilder allVersions() {
+        this.maxVersions = Integer.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * 只返回时间戳在 [minStamp, maxStamp) 内的 cell
+     *
+     * @param minStamp 最小时间戳，包含
+     * @param maxStamp 最大时间戳，不包含
+     * @return this
+     */
+    public QueryBuilder timeRange(long minStamp, long maxStamp) {
+        if (minStamp < 0 || maxStamp < minStamp) {
+            throw new IllegalArgumentException("invalid time range: [" + minStamp + ", " + maxStamp + ")");
+        }
+        this.minStamp = minStamp;
+        this.maxStamp = maxStamp;
+        return this;
+    }
+
+    /**
+     * 只扫描 rowKey 以 prefix 开头的行，通过起止 rowKey 实现，只对 Scan 生效
+     *
+     * @param prefix rowKey 前缀，按 RowKeyCodecRegistry 编码
+     * @return this
+     */
+    public QueryBuilder rowPrefix(Object prefix) {
+        this.rowPrefix = RowKeyCodecRegistry.encode(prefix);
+        return this;
+    }
+
+    /**
+     * 只返回列名以 prefix 开头的列
+     *
+     * @param prefix 列名前缀
+     * @return this
+     */
+    public QueryBuilder columnPrefix(String prefix) {
+        Assert.notNull(prefix);
+        return filter(new ColumnPrefixFilter(Bytes.toBytes(prefix)));
+    }
+
+    /**
+     * 只返回列名在范围内的列，适合列名有序的宽行
+     *
+     * @param minColumn          最小列名，null 表示不限
+     * @param minColumnInclusive 是否包含最小列名
+     * @param maxColumn          最大列名，null 表示不限
+     * @param maxColumnInclusive 是否包含最大列名
+     * @return this
+     */
+    public QueryBuilder columnRange(String minColumn, boolean minColumnInclusive, String maxColumn, boolean maxColumnInclusive) {
+        return filter(new ColumnRangeFilter(minColumn == null ? null : Bytes.toBytes(minColumn), minColumnInclusive,
+                maxColumn == null ? null : Bytes.toBytes(maxColumn), maxColumnInclusive));
+    }
+
+    /**
+     * 只返回 key，不返回 value
+     *
+     * @return this
+     */
+    public QueryBuilder keyOnly() {
+        return filter(new KeyOnlyFilter());
+    }
+
+    /**
+     * 每行只返回第一个 cell，用于判断行是否存在、统计行数
+     *
+     * @return this
+     */
+    public QueryBuilder firstKeyOnly() {
+        return filter(new FirstKeyOnlyFilter());
+    }
+
+    /**
+     * 添加自定义过滤器，多个过滤器需要同时满足
+     *
+     * @param filter 过滤器
+     * @return this
+     */
+    public QueryBuilder filter(Filter filter) {
+        Assert.notNull(filter);
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * 生成 Get
+     *
+     * @param rowKey rowKey，按 RowKeyCodecRegistry 编码
+     * @return get
+     */
+    public Get toGet(Object rowKey) {
+        Get get = new Get(RowKeyCodecRegistry.encode(rowKey));
+        try {
+            get.readVersions(maxVersions);
+            if (isTimeRangeSet()) {
+                get.setTimeRange(minStamp, maxStamp);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!filters.isEmpty()) {
+            get.setFilter(buildFilter());
+        }
+        columns.forEach((family, qualifiers) -> {
+            if (qualifiers.isEmpty()) {
+                get.addFamily(family);
+            } else {
+                qualifiers.forEach(qualifier -> get.addColumn(family, qualifier));
+            }
+        });
+        return get;
+    }
+
+    /**
+     * 批量生成 Get
+     *
+     * @param rowKeys rowKey，按 RowKeyCodecRegistry 编码
+     * @return get 集合，顺序与 rowKeys 一致
+     */
+    public List<Get> toGets(Collection<?> rowKeys) {
+        Assert.notNull(rowKeys);
+        List<Get> gets = new ArrayList<>(rowKeys.size());
+        for (Object rowKey : rowKeys) {
+            gets.add(toGet(rowKey));
+        }
+        return gets;
+    }
+
+    /**
+     * 生成 Scan
+     *
+     * @return scan
+     */
+    public Scan toScan() {
+        Scan scan = new Scan();
+        scan.readVersions(maxVersions);
+        if (rowPrefix != null) {
+            scan.setRowPrefixFilter(rowPrefix);
+        }
+        try {
+            if (isTimeRangeSet()) {
+                scan.setTimeRange(minStamp, maxStamp);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        if (!filters.isEmpty()) {
+            scan.setFilter(buildFilter());
+        }
+        columns.forEach((family, qualifiers) -> {
+            if (qualifiers.isEmpty()) {
+                scan.addFamily(family);
+            } else {
+                qualifiers.forEach(qualifier -> scan.addColumn(family, qualifier));
+            }
+        });
+        return scan;
+    }
+
+    private boolean isTimeRangeSet() {
+        return minStamp != 0L || maxStamp != HConstants.LATEST_TIMESTAMP;
+    }
+
+    private Filter buildFilter() {
+        return filters.size() == 1 ? filters.get(0) : new FilterList(FilterList.Operator.MUST_PASS_ALL, new ArrayList<>(filters));
+    }
+}
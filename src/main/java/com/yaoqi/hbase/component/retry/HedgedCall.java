@@ -0,0 +1,70 @@
+package com.yaoqi.hbase.component.retry;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 14:50
+ * Modified
+ * Description 一次对冲读中主请求和对冲请求之间的协调。主请求在调用线程中执行，对冲请求先成功时中断调用线程；
+ * 主请求结束后不再发出对冲请求，也不再中断调用线程
+ */
+final class HedgedCall {
+
+    private final Thread caller;
+    private boolean primaryDone;
+    private Future<Result> hedge;
+    private Result hedgeResult;
+
+    HedgedCall(Thread caller) {
+        this.caller = caller;
+    }
+
+    /**
+     * 主请求仍未结束时发出对冲请求
+     *
+     * @param submit 提交对冲请求，不发出时返回 null
+     */
+    synchronized void startHedge(Supplier<Future<Result>> submit) {
+        if (!primaryDone && hedge == null) {
+            hedge = submit.get();
+        }
+    }
+
+    /**
+     * 对冲请求成功，主请求仍在执行时中断调用线程
+     *
+     * @param result 对冲请求的结果
+     */
+    synchronized void hedgeSucceeded(Result result) {
+        if (!primaryDone && hedgeResult == null) {
+            hedgeResult = result;
+            caller.interrupt();
+        }
+    }
+
+    /**
+     * 主请求结束，在调用线程中调用。对冲请求先成功时清除它设置的中断标记
+     *
+     * @return 对冲请求先成功时返回其结果，否则返回 null
+     */
+    synchronized Result finishPrimary() {
+        primaryDone = true;
+        if (hedgeResult != null) {
+            Thread.interrupted();
+        }
+        return hedgeResult;
+    }
+
+    /**
+     * 已经发出的对冲请求
+     *
+     * @return 没有发出时返回 null
+     */
+    synchronized Future<Result> getHedge() {
+        return hedge;
+    }
+}
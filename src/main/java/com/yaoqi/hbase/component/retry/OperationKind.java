@@ -0,0 +1,24 @@
+package com.yaoqi.hbase.component.retry;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 03:40
+ * Modified
+ * Description 调用类型，读写分别配置重试策略，配置项前缀为 read. 或 write.
+ */
+public enum OperationKind {
+
+    READ("read"),
+
+    WRITE("write");
+
+    private final String key;
+
+    OperationKind(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,324 @@
+package com.yaoqi.hbase.component.retry;
+
+import com.yaoqi.hbase.component.concurrent.HBaseWorkerPool;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.metrics.HBaseMetrics;
+import com.yaoqi.hbase.component.pool.TableCallback;
+import com.yaoqi.hbase.component.pool.TablePool;
+import com.yaoqi.hbase.component.pool.TableSettings;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.client.Consistency;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+import org.apache.hadoop.hbase.shaded.org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 03:40
+ * Modified
+ * Description 按表配置的重试、截止时间和对冲读。默认配置下不重试、不限时，调用直接执行；
+ * 重试只用于幂等的单行读写，increment、checkAndMutate 等非幂等操作不经过这里
+ */
+@Component
+public class ResilientExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientExecutor.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private HBaseWorkerPool workerPool;
+
+    @Autowired
+    private HBaseMetrics metrics;
+
+    private final ConcurrentHashMap<String, RetryPolicy> readPolicies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RetryPolicy> writePolicies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * 对冲延迟计时，到期后只负责把对冲请求提交到工作线程池
+     */
+    private ScheduledThreadPoolExecutor hedgeTimer;
+
+    @PostConstruct
+    private void init() {
+        hedgeTimer = new ScheduledThreadPoolExecutor(1, new BasicThreadFactory.Builder().namingPattern("hbase-hedge-timer-%d").daemon(true).build());
+        hedgeTimer.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    private void close() {
+        hedgeTimer.shutdownNow();
+    }
+
+    /**
+     * 按表的策略执行操作，失败时退避重试，超过截止时间抛出 TimeoutIOException
+     *
+     * @param tableName 表名
+     * @param operation 操作名，用于记录重试次数
+     * @param kind      调用类型
+     * @param callback  操作，必须是幂等的
+     * @return 操作结果
+     * @throws IOException 最后一次失败的异常
+     */
+    public <T> T execute(String tableName, String operation, OperationKind kind, TableCallback<T> callback) throws IOException {
+        RetryPolicy policy = getPolicy(tableName, kind);
+        if (policy.isPassThrough()) {
+            return tablePool.execute(tableName, callback);
+        }
+        return retry(tableName, operation, policy, deadline -> callWithin(tableName, callback, deadline));
+    }
+
+    /**
+     * 读取一行。配置了对冲延迟时，主请求超过延迟仍未返回则以 TIMELINE 一致性再发一次，取先成功的结果；
+     * 表配置了 region 副本时对冲请求可以由副本返回，结果可能不是最新的，可以通过 Result.isStale() 判断
+     *
+     * @param tableName 表名
+     * @param operation 操作名，用于记录重试次数
+     * @param get       请求
+     * @return 查询结果
+     * @throws IOException 所有请求都失败时最后一次失败的异常
+     */
+    public Result get(String tableName, String operation, Get get) throws IOException {
+        RetryPolicy policy = getPolicy(tableName, OperationKind.READ);
+        if (policy.isPassThrough()) {
+            return tablePool.execute(tableName, table -> table.get(get));
+        }
+        if (policy.getHedgeDelayNanos() == 0) {
+            return retry(tableName, operation, policy, deadline -> callWithin(tableName, table -> table.get(get), deadline));
+        }
+        return retry(tableName, operation, policy, deadline -> hedgedGet(tableName, operation, get, policy, deadline));
+    }
+
+    /**
+     * 获取表的策略，第一次获取时从配置中解析
+     *
+     * @param tableName 表名
+     * @param kind      调用类型
+     * @return 重试策略
+     */
+    public RetryPolicy getPolicy(String tableName, OperationKind kind) {
+        ConcurrentHashMap<String, RetryPolicy> policies = kind == OperationKind.READ ? readPolicies : writePolicies;
+        RetryPolicy policy = policies.get(tableName);
+        if (policy == null) {
+            policy = policies.computeIfAbsent(tableName, key -> {
+                RetryPolicy resolved = RetryPolicy.resolve(hBaseConfig, key, kind);
+                if (!resolved.isPassThrough()) {
+                    logger.info("table {} {} policy : {}", key, kind.getKey(), resolved);
+                }
+                return resolved;
+            });
+        }
+        return policy;
+    }
+
+    private RetryBudget getBudget(String tableName) {
+        RetryBudget budget = budgets.get(tableName);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(tableName, key -> new RetryBudget(
+                    (int) TableSettings.get(hBaseConfig, key, CommonConstant.RETRY_BUDGET_PERCENT, CommonConstant.DEFAULT_RETRY_BUDGET_PERCENT),
+                    (int) TableSettings.get(hBaseConfig, key, CommonConstant.RETRY_BUDGET_MIN, CommonConstant.DEFAULT_RETRY_BUDGET_MIN)));
+        }
+        return budget;
+    }
+
+    private <T> T retry(String tableName, String operation, RetryPolicy policy, Attempt<T> attempt) throws IOException {
+        RetryBudget budget = getBudget(tableName);
+        budget.deposit();
+        long deadline = policy.getDeadlineNanos() > 0 ? System.nanoTime() + policy.getDeadlineNanos() : 0L;
+        for (int attempts = 1; ; attempts++) {
+            try {
+                return attempt.call(deadline);
+            } catch (IOException e) {
+                if (!isRetryable(e) || attempts >= policy.getMaxAttempts()) {
+                    throw e;
+                }
+                long backoff = policy.backoffNanos(attempts);
+                if (deadline != 0L && deadline - System.nanoTime() <= backoff) {
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    logger.warn("retry budget of table {} exhausted, {} not retried", tableName, operation);
+                    throw e;
+                }
+                metrics.recordRetry(tableName, operation);
+                logger.debug("retry {} on table {} after {}ms, attempt {} failed : {}", operation, tableName,
+                        TimeUnit.NANOSECONDS.toMillis(backoff), attempts, e.getMessage());
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * 在当前线程执行。有截止时间时，本次尝试使用操作超时和 RPC 超时都不超过剩余时间的表句柄，
+     * 超时由 HBase 客户端结束请求，不会有请求在截止时间之后继续占用线程和连接
+     */
+    private <T> T callWithin(String tableName, TableCallback<T> callback, long deadline) throws IOException {
+        if (deadline == 0L) {
+            return tablePool.execute(tableName, callback);
+        }
+        try {
+            return tablePool.execute(tableName, remainingMillis(tableName, deadline), callback);
+        } catch (IOException e) {
+            if (isRetryable(e) && deadline - System.nanoTime() <= 0) {
+                throw new TimeoutIOException("call on table " + tableName + " exceeded deadline", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 截止时间前的剩余毫秒数，已经超过截止时间时抛出 TimeoutIOException
+     */
+    private static int remainingMillis(String tableName, long deadline) throws TimeoutIOException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutIOException("call on table " + tableName + " exceeded deadline");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(remaining)));
+    }
+
+    private Result hedgedGet(String tableName, String operation, Get get, RetryPolicy policy, long deadline) throws IOException {
+        // 未配置截止时间时同样限制等待时间，主请求失败后等待对冲请求不会无限阻塞
+        long bound = deadline != 0L ? deadline : System.nanoTime() + hedgeDeadlineNanos(tableName);
+        Get hedge = new Get(get).setConsistency(Consistency.TIMELINE);
+        HedgedCall call = new HedgedCall(Thread.currentThread());
+        ScheduledFuture<?> timer = hedgeTimer.schedule(() -> call.startHedge(() -> submitHedge(tableName, operation, hedge, bound, call)),
+                policy.getHedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        Result result = null;
+        IOException error = null;
+        Result hedgeResult;
+        try {
+            result = callWithin(tableName, table -> table.get(get), bound);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            timer.cancel(false);
+            hedgeResult = call.finishPrimary();
+        }
+        Future<Result> pending = call.getHedge();
+        if (error == null || hedgeResult != null) {
+            cancel(pending);
+            return error == null ? result : hedgeResult;
+        }
+        if (!isRetryable(error)) {
+            cancel(pending);
+            throw error;
+        }
+        if (pending == null) {
+            // 主请求在对冲延迟内失败，直接在调用线程中发出对冲请求，同样消耗重试预算
+            if (!getBudget(tableName).tryAcquire()) {
+                throw error;
+            }
+            metrics.recordRetry(tableName, operation);
+            return callWithin(tableName, table -> table.get(hedge), bound);
+        }
+        try {
+            return pending.get(Math.max(0L, bound - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (TimeoutException e) {
+            throw new TimeoutIOException("get on table " + tableName + " exceeded deadline");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("get on table " + tableName + " interrupted");
+        } finally {
+            cancel(pending);
+        }
+    }
+
+    /**
+     * 主请求超过对冲延迟仍未返回时在工作线程中发出对冲请求，对冲请求同样消耗重试预算，
+     * 使用操作超时和 RPC 超时都不超过剩余时间的表句柄，被取消后不会在截止时间之后继续占用工作线程
+     */
+    private Future<Result> submitHedge(String tableName, String operation, Get hedge, long bound, HedgedCall call) {
+        if (!getBudget(tableName).tryAcquire()) {
+            return null;
+        }
+        metrics.recordRetry(tableName, operation);
+        return workerPool.submit(() -> {
+            Result result = callWithin(tableName, table -> table.get(hedge), bound);
+            call.hedgeSucceeded(result);
+            return result;
+        });
+    }
+
+    /**
+     * 对冲读未配置截止时间时使用的截止时间：表的操作超时，未配置时使用默认值
+     */
+    private long hedgeDeadlineNanos(String tableName) {
+        int operationTimeout = tablePool.getSettings(tableName).getOperationTimeout();
+        return TimeUnit.MILLISECONDS.toNanos(operationTimeout > 0 ? operationTimeout : CommonConstant.DEFAULT_HEDGE_DEADLINE);
+    }
+
+    private static void cancel(Future<?> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 表不存在等明确不可重试的异常、中断和超过截止时间不重试
+     */
+    static boolean isRetryable(IOException e) {
+        return !(e instanceof DoNotRetryIOException || e instanceof InterruptedIOException || e instanceof TimeoutIOException);
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("retry backoff interrupted");
+        }
+    }
+
+    /**
+     * 一次尝试
+     */
+    @FunctionalInterface
+    private interface Attempt<T> {
+
+        T call(long deadline) throws IOException;
+    }
+}
@@ -0,0 +1,61 @@
+package com.yaoqi.hbase.component.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 03:40
+ * Modified
+ * Description 重试预算。每次调用积累 percent% 次重试额度，最多积累 capacity 次，每次重试消耗 1 次。
+ * RegionServer 整体故障时重试次数被限制在调用量的一定比例内，避免重试放大请求量
+ */
+public class RetryBudget {
+
+    /**
+     * 额度的精度，1 次重试对应的内部单位
+     */
+    private static final long UNIT = 100L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param percent  每次调用积累的额度，单位：百分比
+     * @param capacity 最多积累的重试次数，初始额度为满
+     */
+    public RetryBudget(int percent, int capacity) {
+        this.deposit = Math.max(0, percent) * UNIT / 100L;
+        this.capacity = Math.max(0, capacity) * UNIT;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    /**
+     * 每次调用时积累额度
+     */
+    public void deposit() {
+        if (deposit == 0) {
+            return;
+        }
+        long current = balance.get();
+        while (current < capacity && !balance.compareAndSet(current, Math.min(capacity, current + deposit))) {
+            current = balance.get();
+        }
+    }
+
+    /**
+     * 申请一次重试
+     *
+     * @return 额度不足时返回 false，不应重试
+     */
+    public boolean tryAcquire() {
+        long current = balance.get();
+        while (current >= UNIT) {
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+            current = balance.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package com.yaoqi.hbase.component.retry;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 03:40
+ * Modified
+ * Description 单张表一类调用的重试策略。每项依次读取 table.{表名}.{read|write}.{配置项}、table.{表名}.{配置项}、
+ * {read|write}.{配置项}、{配置项}，都没有时使用默认值
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final long deadlineNanos;
+    private final long hedgeDelayNanos;
+
+    public RetryPolicy(int maxAttempts, long backoffMillis, long maxBackoffMillis, long deadlineMillis, long hedgeDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, backoffMillis));
+        this.maxBackoffNanos = Math.max(backoffNanos, TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxBackoffMillis)));
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, deadlineMillis));
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, hedgeDelayMillis));
+    }
+
+    /**
+     * 从配置中解析某张表一类调用的策略，写操作不对冲
+     *
+     * @param hBaseConfig 配置
+     * @param tableName   表名
+     * @param kind        调用类型
+     * @return 重试策略
+     */
+    public static RetryPolicy resolve(HBaseConfig hBaseConfig, String tableName, OperationKind kind) {
+        return new RetryPolicy(
+                (int) get(hBaseConfig, tableName, kind, CommonConstant.RETRY_MAX_ATTEMPTS, CommonConstant.DEFAULT_RETRY_MAX_ATTEMPTS),
+                get(hBaseConfig, tableName, kind, CommonConstant.RETRY_BACKOFF, CommonConstant.DEFAULT_RETRY_BACKOFF),
+                get(hBaseConfig, tableName, kind, CommonConstant.RETRY_MAX_BACKOFF, CommonConstant.DEFAULT_RETRY_MAX_BACKOFF),
+                get(hBaseConfig, tableName, kind, CommonConstant.CALL_DEADLINE, 0L),
+                kind == OperationKind.READ ? get(hBaseConfig, tableName, kind, CommonConstant.HEDGE_DELAY, 0L) : 0L);
+    }
+
+    private static long get(HBaseConfig hBaseConfig, String tableName, OperationKind kind, String key, long defaultValue) {
+        long globalKind = hBaseConfig.getLongConfig(kind.getKey() + "." + key, hBaseConfig.getLongConfig(key, defaultValue));
+        long table = hBaseConfig.getLongConfig(CommonConstant.TABLE_CONFIG_PREFIX + tableName + "." + key, globalKind);
+        return hBaseConfig.getLongConfig(CommonConstant.TABLE_CONFIG_PREFIX + tableName + "." + kind.getKey() + "." + key, table);
+    }
+
+    /**
+     * @return 不重试、不限时、不对冲时为 true，调用直接执行
+     */
+    public boolean isPassThrough() {
+        return maxAttempts == 1 && deadlineNanos == 0 && hedgeDelayNanos == 0;
+    }
+
+    /**
+     * 第 attempt 次失败后的退避时间，指数增长并取 [0, 上限) 的随机值，避免大量调用同时重试
+     *
+     * @param attempt 已经失败的次数，从 1 开始
+     * @return 退避时间，单位：纳秒
+     */
+    public long backoffNanos(int attempt) {
+        if (backoffNanos == 0) {
+            return 0L;
+        }
+        int shift = Math.min(attempt - 1, 30);
+        long ceiling = backoffNanos << shift;
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public long getHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", backoff=" + TimeUnit.NANOSECONDS.toMillis(backoffNanos)
+                + "ms, maxBackoff=" + TimeUnit.NANOSECONDS.toMillis(maxBackoffNanos) + "ms, deadline="
+                + TimeUnit.NANOSECONDS.toMillis(deadlineNanos) + "ms, hedgeDelay=" + TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos) + "ms}";
+    }
+}
@@ -0,0 +1,250 @@
+package com.yaoqi.hbase.component.salt;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellBuilder;
+import org.apache.hadoop.hbase.CellBuilderFactory;
+import org.apache.hadoop.hbase.CellBuilderType;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 19:00
+ * Modified
+ * Description 加盐 rowKey 布局，在原始 rowKey 前增加一个字节的分桶前缀，分桶号由原始 rowKey 的哈希值决定。
+ * 单调递增的 rowKey（如时间戳）会被打散到各个分桶，配合 getSplitKeys 预分区，每个分桶落在不同的 region 上
+ */
+public class SaltedKeyLayout implements SplitKeyGenerator {
+
+    /**
+     * 分桶前缀长度
+     */
+    public static final int PREFIX_LENGTH = 1;
+
+    /**
+     * 最大分桶数，前缀为一个字节
+     */
+    public static final int MAX_BUCKETS = 256;
+
+    private final int buckets;
+
+    public SaltedKeyLayout(int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + MAX_BUCKETS + ", but was " + buckets);
+        }
+        this.buckets = buckets;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * 计算原始 rowKey 所在的分桶
+     *
+     * @param rowKey 原始 rowKey
+     * @return 分桶号
+     */
+    public int bucketOf(byte[] rowKey) {
+        return (Bytes.hashCode(rowKey) & Integer.MAX_VALUE) % buckets;
+    }
+
+    /**
+     * 原始 rowKey 加盐
+     *
+     * @param rowKey 原始 rowKey
+     * @return 加盐后的 rowKey
+     */
+    public byte[] salt(byte[] rowKey) {
+        Assert.notNull(rowKey);
+        return prefix(bucketOf(rowKey), rowKey);
+    }
+
+    /**
+     * 去掉分桶前缀，还原原始 rowKey
+     *
+     * @param saltedRowKey 加盐后的 rowKey
+     * @return 原始 rowKey
+     */
+    public byte[] unsalt(byte[] saltedRowKey) {
+        Assert.notNull(saltedRowKey);
+        return Arrays.copyOfRange(saltedRowKey, PREFIX_LENGTH, saltedRowKey.length);
+    }
+
+    /**
+     * 与分桶对应的预分区 splitKeys，用于建表
+     *
+     * @return 分桶数减一个 splitKey
+     */
+    @Override
+    public byte[][] getSplitKeys() {
+        byte[][] splitKeys = new byte[buckets - 1][];
+        for (int i = 1; i < buckets; i++) {
+            splitKeys[i - 1] = new byte[]{(byte) i};
+        }
+        return splitKeys;
+    }
+
+    /**
+     * 生成 rowKey 加盐后的 Put，保留列、时间戳、durability、TTL 和属性
+     *
+     * @param put 原始 Put
+     * @return 加盐后的 Put
+     * @throws IOException
+     */
+    public Put salt(Put put) throws IOException {
+        Put salted = new Put(salt(put.getRow()), put.getTimestamp());
+        copyCells(put, salted);
+        copyMutation(put, salted);
+        return salted;
+    }
+
+    /**
+     * 生成 rowKey 加盐后的 Delete
+     *
+     * @param delete 原始 Delete
+     * @return 加盐后的 Delete
+     * @throws IOException
+     */
+    public Delete salt(Delete delete) throws IOException {
+        Delete salted = new Delete(salt(delete.getRow()), delete.getTimestamp());
+        copyCells(delete, salted);
+        copyMutation(delete, salted);
+        return salted;
+    }
+
+    /**
+     * 生成 rowKey 加盐后的 Get，保留列、过滤器、时间范围、版本数等查询条件
+     *
+     * @param get 原始 Get
+     * @return 加盐后的 Get
+     * @throws IOException
+     */
+    public Get salt(Get get) throws IOException {
+        Get salted = new Get(salt(get.getRow()));
+        for (Map.Entry<byte[], NavigableSet<byte[]>> entry : get.getFamilyMap().entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                salted.addFamily(entry.getKey());
+            } else {
+                for (byte[] qualifier : entry.getValue()) {
+                    salted.addColumn(entry.getKey(), qualifier);
+                }
+            }
+        }
+        salted.setFilter(get.getFilter())
+                .setTimeRange(get.getTimeRange().getMin(), get.getTimeRange().getMax())
+                .readVersions(get.getMaxVersions())
+                .setCacheBlocks(get.getCacheBlocks())
+                .setCheckExistenceOnly(get.isCheckExistenceOnly())
+                .setConsistency(get.getConsistency())
+                .setReplicaId(get.getReplicaId())
+                .setIsolationLevel(get.getIsolationLevel());
+        get.getAttributesMap().forEach(salted::setAttribute);
+        return salted;
+    }
+
+    /**
+     * 将一个 scan 展开为每个分桶一个子 scan，起止 rowKey 加上对应的分桶前缀。
+     * 反向 scan 的起始 rowKey 是较大的一端，没有指定时从分桶的末尾开始；
+     * 子 scan 保留原 scan 的 limit，作为每个分桶最多返回的行数，合并后的行数由 SaltedResultScanner 限制
+     *
+     * @param scan 基于原始 rowKey 的 scan
+     * @return 按分桶顺序排列的子 scan
+     * @throws IOException
+     */
+    public List<Scan> bucketScans(Scan scan) throws IOException {
+        byte[] start = scan.getStartRow();
+        byte[] stop = scan.getStopRow();
+        List<Scan> scans = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            Scan bucketScan = new Scan(scan);
+            if (scan.isReversed()) {
+                if (start.length > 0) {
+                    bucketScan.withStartRow(prefix(bucket, start), scan.includeStartRow());
+                } else {
+                    bucketScan.withStartRow(bucketEnd(bucket), false);
+                }
+                bucketScan.withStopRow(prefix(bucket, stop), stop.length > 0 ? scan.includeStopRow() : true);
+            } else {
+                bucketScan.withStartRow(prefix(bucket, start), scan.includeStartRow());
+                if (stop.length > 0) {
+                    bucketScan.withStopRow(prefix(bucket, stop), scan.includeStopRow());
+                } else {
+                    bucketScan.withStopRow(bucketEnd(bucket), false);
+                }
+            }
+            scans.add(bucketScan);
+        }
+        return scans;
+    }
+
+    /**
+     * 分桶之后第一个不属于该分桶的 rowKey，最后一个分桶返回空 rowKey，表示表的末尾
+     */
+    private static byte[] bucketEnd(int bucket) {
+        return bucket + 1 < MAX_BUCKETS ? new byte[]{(byte) (bucket + 1)} : HConstants.EMPTY_END_ROW;
+    }
+
+    /**
+     * 按原始 rowKey 比较两个加盐后的 rowKey
+     *
+     * @param left  加盐后的 rowKey
+     * @param right 加盐后的 rowKey
+     * @return 比较结果
+     */
+    public static int compareUnsalted(byte[] left, byte[] right) {
+        return Bytes.compareTo(left, PREFIX_LENGTH, left.length - PREFIX_LENGTH,
+                right, PREFIX_LENGTH, right.length - PREFIX_LENGTH);
+    }
+
+    private static byte[] prefix(int bucket, byte[] rowKey) {
+        byte[] salted = new byte[PREFIX_LENGTH + rowKey.length];
+        salted[0] = (byte) bucket;
+        System.arraycopy(rowKey, 0, salted, PREFIX_LENGTH, rowKey.length);
+        return salted;
+    }
+
+    private static void copyCells(Mutation source, Mutation target) throws IOException {
+        byte[] row = target.getRow();
+        CellBuilder builder = CellBuilderFactory.create(CellBuilderType.DEEP_COPY);
+        for (List<Cell> cells : source.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                Cell salted = builder.clear()
+                        .setRow(row)
+                        .setFamily(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength())
+                        .setQualifier(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength())
+                        .setTimestamp(cell.getTimestamp())
+                        .setType(cell.getType())
+                        .setValue(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength())
+                        .build();
+                if (target instanceof Put) {
+                    ((Put) target).add(salted);
+                } else {
+                    ((Delete) target).add(salted);
+                }
+            }
+        }
+    }
+
+    private static void copyMutation(Mutation source, Mutation target) {
+        target.setDurability(source.getDurability());
+        if (source.getTTL() != Long.MAX_VALUE) {
+            target.setTTL(source.getTTL());
+        }
+        source.getAttributesMap().forEach(target::setAttribute);
+    }
+}
@@ -0,0 +1,120 @@
+package com.yaoqi.hbase.component.salt;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 19:10
+ * Modified
+ * Description 合并各分桶的 scanner，按原始 rowKey 顺序返回结果（多路归并），返回的 Result 的 rowKey 仍带分桶前缀。
+ * 反向 scan 按原始 rowKey 倒序合并；每个分桶都可能返回 limit 行，合并后按行数截断
+ */
+public class SaltedResultScanner implements ResultScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaltedResultScanner.class);
+
+    private final List<ResultScanner> scanners;
+    private final PriorityQueue<Head> heads;
+    private final int limit;
+    private boolean initialized = false;
+    private int rows = 0;
+    private byte[] lastRow;
+
+    public SaltedResultScanner(List<ResultScanner> scanners) {
+        this(scanners, false, -1);
+    }
+
+    /**
+     * @param scanners 各分桶的 scanner
+     * @param reversed 是否为反向 scan
+     * @param limit    最多返回的行数，小于等于 0 时不限制
+     */
+    public SaltedResultScanner(List<ResultScanner> scanners, boolean reversed, int limit) {
+        this.scanners = scanners;
+        this.limit = limit;
+        Comparator<Head> comparator = (left, right) -> SaltedKeyLayout.compareUnsalted(left.result.getRow(), right.result.getRow());
+        this.heads = new PriorityQueue<>(Math.max(1, scanners.size()), reversed ? comparator.reversed() : comparator);
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (!initialized) {
+            for (ResultScanner scanner : scanners) {
+                advance(scanner);
+            }
+            initialized = true;
+        }
+        Head head = heads.peek();
+        if (head == null) {
+            return null;
+        }
+        // 设置了 batch 时一行可能分成多个 Result，同一行的 Result 来自同一个分桶且连续返回，按行计数
+        byte[] row = head.result.getRow();
+        if (lastRow == null || !Bytes.equals(lastRow, row)) {
+            if (limit > 0 && rows >= limit) {
+                return null;
+            }
+            rows++;
+            lastRow = row;
+        }
+        heads.poll();
+        advance(head.scanner);
+        return head.result;
+    }
+
+    private void advance(ResultScanner scanner) throws IOException {
+        Result result = scanner.next();
+        if (result != null) {
+            heads.add(new Head(scanner, result));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ResultScanner scanner : scanners) {
+            try {
+                scanner.close();
+            } catch (RuntimeException e) {
+                logger.error("close scanner error, message:{}", e.getMessage());
+            }
+        }
+        heads.clear();
+    }
+
+    @Override
+    public boolean renewLease() {
+        boolean renewed = true;
+        for (ResultScanner scanner : scanners) {
+            renewed &= scanner.renewLease();
+        }
+        return renewed;
+    }
+
+    /**
+     * 各分桶的扫描指标不做合并
+     */
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return null;
+    }
+
+    private static final class Head {
+        private final ResultScanner scanner;
+        private final Result result;
+
+        private Head(ResultScanner scanner, Result result) {
+            this.scanner = scanner;
+            this.result = result;
+        }
+    }
+}
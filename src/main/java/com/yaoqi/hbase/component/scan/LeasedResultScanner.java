@@ -0,0 +1,49 @@
+package com.yaoqi.hbase.component.scan;
+
+import com.yaoqi.hbase.component.config.ConnectionLease;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.io.IOException;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 21:10
+ * Modified
+ * Description 持有连接租约的 scanner，scanner 关闭时归还租约，扫描过程中连接刷新不会中断扫描
+ */
+public class LeasedResultScanner implements ResultScanner {
+
+    private final ResultScanner delegate;
+    private final ConnectionLease lease;
+
+    public LeasedResultScanner(ResultScanner delegate, ConnectionLease lease) {
+        this.delegate = delegate;
+        this.lease = lease;
+    }
+
+    @Override
+    public Result next() throws IOException {
+        return delegate.next();
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            lease.close();
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        return delegate.renewLease();
+    }
+
+    @Override
+    public ScanMetrics getScanMetrics() {
+        return delegate.getScanMetrics();
+    }
+}
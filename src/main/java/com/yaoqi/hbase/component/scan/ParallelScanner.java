@@ -0,0 +1,274 @@
+package com.yaoqi.hbase.component.scan;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.concurrent.HBaseWorkerPool;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.pool.TablePool;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 17:20
+ * Modified
+ * Description 并行扫描，按 region 边界（或 region 内再切分）拆分 scan，在工作线程池中并行执行
+ */
+@Component
+public class ParallelScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelScanner.class);
+
+    /**
+     * 有序扫描中分片结束标记
+     */
+    private static final Object END = new Object();
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private HBaseWorkerPool workerPool;
+
+    @Autowired
+    private TablePool tablePool;
+
+    private int splitsPerRegion;
+    private int bufferSize;
+    private int parallelism;
+    private int scannerCaching;
+    private long scannerMaxResultSize;
+
+    @PostConstruct
+    private void init() {
+        splitsPerRegion = hBaseConfig.getIntConfig(CommonConstant.SCAN_SPLITS_PER_REGION, CommonConstant.DEFAULT_SCAN_SPLITS_PER_REGION);
+        bufferSize = hBaseConfig.getIntConfig(CommonConstant.SCAN_BUFFER_SIZE, CommonConstant.DEFAULT_SCAN_BUFFER_SIZE);
+        parallelism = hBaseConfig.getIntConfig(CommonConstant.BATCH_PARALLELISM, CommonConstant.DEFAULT_BATCH_PARALLELISM);
+        scannerCaching = hBaseConfig.getIntConfig(CommonConstant.SCANNER_CACHING, CommonConstant.DEFAULT_SCANNER_CACHING);
+        scannerMaxResultSize = hBaseConfig.getLongConfig(CommonConstant.SCANNER_MAX_RESULT_SIZE, CommonConstant.DEFAULT_SCANNER_MAX_RESULT_SIZE);
+    }
+
+    /**
+     * 并行扫描，不保证顺序，callback 会在多个工作线程中并发调用，需要线程安全
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @param callback  每行数据的回调
+     * @return 扫描的行数
+     * @throws IOException 任一分片失败时取消其余分片并抛出
+     */
+    public long scan(String tableName, Scan scan, Consumer<Result> callback) throws IOException {
+        Assert.notNullBatch(tableName, scan, callback);
+        Assert.hasLength(tableName);
+        List<Scan> splits = split(tableName, scan);
+        List<Callable<Long>> tasks = new ArrayList<>(splits.size());
+        for (Scan split : splits) {
+            tasks.add(() -> {
+                return tablePool.execute(tableName, table -> {
+                    long count = 0;
+                    try (ResultScanner scanner = table.getScanner(split)) {
+                        for (Result result = scanner.next(); result != null; result = scanner.next()) {
+                            callback.accept(result);
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+            });
+        }
+        try {
+            long total = 0;
+            for (Long count : workerPool.invokeAll(tasks, parallelism)) {
+                total += count;
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("parallel scan interrupted");
+        } catch (ExecutionException e) {
+            logger.error("parallel scan table {} error, message:{}", tableName, e.getCause().getMessage());
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * 并行扫描并按 rowKey 顺序回调，callback 在调用线程中执行，
+     * 同一时刻最多 batchParallelism 个分片在扫描，每个分片最多缓冲 scanBufferSize 行
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @param callback  每行数据的回调
+     * @return 扫描的行数
+     * @throws IOException 任一分片失败时取消其余分片并抛出
+     */
+    public long scanOrdered(String tableName, Scan scan, Consumer<Result> callback) throws IOException {
+        Assert.notNullBatch(tableName, scan, callback);
+        Assert.hasLength(tableName);
+        List<Scan> splits = split(tableName, scan);
+        int size = splits.size();
+        List<BlockingQueue<Object>> queues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            queues.add(new ArrayBlockingQueue<>(Math.max(1, bufferSize)));
+        }
+        List<Future<?>> futures = new ArrayList<>(size);
+        int window = Math.max(1, parallelism);
+        long count = 0;
+        try {
+            for (int i = 0; i < Math.min(window, size); i++) {
+                futures.add(submitProducer(tableName, splits.get(i), queues.get(i)));
+            }
+            for (int i = 0; i < size; i++) {
+                BlockingQueue<Object> queue = queues.get(i);
+                for (Object item = queue.take(); item != END; item = queue.take()) {
+                    if (item instanceof Throwable) {
+                        Throwable cause = (Throwable) item;
+                        logger.error("parallel scan table {} error, message:{}", tableName, cause.getMessage());
+                        throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+                    }
+                    callback.accept((Result) item);
+                    count++;
+                }
+                // 前一个分片消费完之后再启动窗口外的下一个分片，保证有序且并发有限
+                int next = i + window;
+                if (next < size) {
+                    futures.add(submitProducer(tableName, splits.get(next), queues.get(next)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("parallel scan interrupted");
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return count;
+    }
+
+    /**
+     * 按 region 边界拆分 scan
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 按 rowKey 顺序排列的子 scan
+     * @throws IOException
+     */
+    public List<Scan> split(String tableName, Scan scan) throws IOException {
+        TableName tableNameVar = tablePool.getTableName(tableName);
+        return tablePool.executeOnConnection(connection -> split(connection, tableNameVar, scan));
+    }
+
+    private List<Scan> split(Connection connection, TableName tableName, Scan scan) throws IOException {
+        List<Scan> splits;
+        if (scan.isReversed() || scan.getLimit() > 0 || scan.isGetScan()) {
+            // 反向扫描、限制行数的扫描无法拆分
+            splits = Collections.singletonList(new Scan(scan));
+        } else {
+            try (RegionLocator locator = connection.getRegionLocator(tableName)) {
+                Pair<byte[][], byte[][]> keys = locator.getStartEndKeys();
+                splits = split(scan, keys.getFirst(), keys.getSecond(), splitsPerRegion);
+            }
+        }
+        List<Scan> tuned = new ArrayList<>(splits.size());
+        for (Scan split : splits) {
+            tuned.add(ScanStreams.tune(split, scannerCaching, scannerMaxResultSize));
+        }
+        return tuned;
+    }
+
+    /**
+     * 按 region 边界拆分 scan，只保留与 scan 范围有交集的部分
+     *
+     * @param scan            scan
+     * @param startKeys       各 region 起始 rowKey
+     * @param endKeys         各 region 结束 rowKey
+     * @param splitsPerRegion 每个 region 再切分的份数
+     * @return 按 rowKey 顺序排列的子 scan
+     * @throws IOException
+     */
+    public static List<Scan> split(Scan scan, byte[][] startKeys, byte[][] endKeys, int splitsPerRegion) throws IOException {
+        byte[] scanStart = scan.getStartRow();
+        byte[] scanStop = scan.getStopRow();
+        List<Scan> splits = new ArrayList<>(startKeys.length * Math.max(1, splitsPerRegion));
+        for (int i = 0; i < startKeys.length; i++) {
+            byte[] start = maxStart(startKeys[i], scanStart);
+            byte[] stop = minStop(endKeys[i], scanStop);
+            if (stop.length > 0 && Bytes.compareTo(start, stop) >= 0) {
+                continue;
+            }
+            byte[][] boundaries = null;
+            if (splitsPerRegion > 1 && start.length > 0 && stop.length > 0) {
+                boundaries = Bytes.split(start, stop, splitsPerRegion - 1);
+                if (boundaries != null) {
+                    // Bytes.split 会补齐长度，首尾还原为原始边界，避免与相邻分片之间出现空隙
+                    boundaries[0] = start;
+                    boundaries[boundaries.length - 1] = stop;
+                }
+            }
+            if (boundaries == null) {
+                boundaries = new byte[][]{start, stop};
+            }
+            for (int j = 0; j < boundaries.length - 1; j++) {
+                byte[] subStart = boundaries[j];
+                byte[] subStop = boundaries[j + 1];
+                boolean includeStart = !Bytes.equals(subStart, scanStart) || scan.includeStartRow();
+                boolean includeStop = Bytes.equals(subStop, scanStop) && scan.includeStopRow();
+                splits.add(new Scan(scan).withStartRow(subStart, includeStart).withStopRow(subStop, includeStop));
+            }
+        }
+        return splits;
+    }
+
+    private static byte[] maxStart(byte[] a, byte[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        return Bytes.compareTo(a, b) >= 0 ? a : b;
+    }
+
+    private static byte[] minStop(byte[] a, byte[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        return Bytes.compareTo(a, b) <= 0 ? a : b;
+    }
+
+    private Future<?> submitProducer(String tableName, Scan split, BlockingQueue<Object> queue) {
+        return workerPool.submit(() -> {
+            try (ResultScanner scanner = tablePool.getScanner(tableName, split)) {
+                for (Result result = scanner.next(); result != null; result = scanner.next()) {
+                    queue.put(result);
+                }
+                queue.put(END);
+            } catch (IOException | RuntimeException e) {
+                queue.put(e);
+            } catch (InterruptedException e) {
+                // 消费端已经放弃，直接退出
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+    }
+}
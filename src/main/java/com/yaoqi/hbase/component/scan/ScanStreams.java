@@ -0,0 +1,101 @@
+package com.yaoqi.hbase.component.scan;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 16:45
+ * Modified
+ * Description 将 ResultScanner 包装为 Stream，流被关闭或数据读取完毕时立即释放 scanner 和 table
+ */
+public class ScanStreams {
+
+    private ScanStreams() {
+    }
+
+    /**
+     * 为没有设置 caching 和 maxResultSize 的 scan 设置默认值，默认值设置在 scan 的副本上，不修改传入的 scan
+     *
+     * @param scan          scan
+     * @param caching       每次 RPC 返回的最大行数，小于等于0时不设置
+     * @param maxResultSize 每次 RPC 返回的最大字节数，小于等于0时不设置
+     * @return 设置了默认值的副本，不需要设置时返回传入的 scan
+     * @throws IOException 复制 scan 失败
+     */
+    public static Scan tune(Scan scan, int caching, long maxResultSize) throws IOException {
+        boolean tuneCaching = scan.getCaching() <= 0 && caching > 0;
+        boolean tuneMaxResultSize = scan.getMaxResultSize() <= 0 && maxResultSize > 0;
+        if (!tuneCaching && !tuneMaxResultSize) {
+            return scan;
+        }
+        Scan tuned = new Scan(scan);
+        if (tuneCaching) {
+            tuned.setCaching(caching);
+        }
+        if (tuneMaxResultSize) {
+            tuned.setMaxResultSize(maxResultSize);
+        }
+        return tuned;
+    }
+
+    /**
+     * 包装 ResultScanner，数据按需从服务端拉取，下游不消费时不会继续发起 RPC
+     *
+     * @param scanner ResultScanner
+     * @return 需要调用方关闭的 Stream
+     */
+    public static Stream<Result> stream(ResultScanner scanner) {
+        ClosingIterator iterator = new ClosingIterator(scanner);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private static final class ClosingIterator implements Iterator<Result> {
+        private final ResultScanner scanner;
+        private final Iterator<Result> delegate;
+        private boolean closed = false;
+
+        private ClosingIterator(ResultScanner scanner) {
+            this.scanner = scanner;
+            this.delegate = scanner.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (delegate.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return delegate.next();
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            scanner.close();
+        }
+    }
+}
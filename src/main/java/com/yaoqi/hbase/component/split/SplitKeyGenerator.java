@@ -0,0 +1,18 @@
+package com.yaoqi.hbase.component.split;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 19:40
+ * Modified
+ * Description 预分区 splitKey 生成器，用于建表时预先切分 region
+ */
+@FunctionalInterface
+public interface SplitKeyGenerator {
+
+    /**
+     * 生成 splitKey，n 个 splitKey 对应 n + 1 个 region
+     *
+     * @return 按字节序升序排列且不重复的 splitKey
+     */
+    byte[][] getSplitKeys();
+}
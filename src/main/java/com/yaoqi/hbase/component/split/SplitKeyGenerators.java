@@ -0,0 +1,211 @@
+package com.yaoqi.hbase.component.split;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.codec.RowKeyCodec;
+import com.yaoqi.hbase.component.codec.RowKeyCodecs;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 19:40
+ * Modified
+ * Description 常用的 splitKey 生成器：
+ * 均匀的二进制前缀、均匀的十六进制字符串前缀、数值区间以及按样本 rowKey 分位数切分
+ */
+public class SplitKeyGenerators {
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private SplitKeyGenerators() {
+    }
+
+    /**
+     * 按首字节（region 数大于 256 时按前两个字节）均匀切分，适合 rowKey 为哈希值、随机字节的表
+     *
+     * @param regions region 数
+     * @return 生成器
+     */
+    public static SplitKeyGenerator uniformBytes(int regions) {
+        checkRegions(regions, 1 << 16);
+        return () -> {
+            int width = regions <= 256 ? 1 : 2;
+            BigInteger space = BigInteger.ONE.shiftLeft(8 * width);
+            List<byte[]> keys = new ArrayList<>(regions - 1);
+            for (int i = 1; i < regions; i++) {
+                long value = space.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(regions)).longValue();
+                byte[] key = new byte[width];
+                for (int j = width - 1; j >= 0; j--) {
+                    key[j] = (byte) value;
+                    value >>>= 8;
+                }
+                keys.add(key);
+            }
+            return normalize(keys);
+        };
+    }
+
+    /**
+     * 按十六进制字符串前缀均匀切分，前缀长度取能容纳 region 数的最小长度，适合 rowKey 以 MD5 等十六进制摘要开头的表
+     *
+     * @param regions region 数
+     * @return 生成器
+     */
+    public static SplitKeyGenerator hexPrefix(int regions) {
+        int prefixLength = 1;
+        while (prefixLength < 8 && (1L << (4 * prefixLength)) < regions) {
+            prefixLength++;
+        }
+        return hexPrefix(regions, prefixLength);
+    }
+
+    /**
+     * 按十六进制字符串前缀均匀切分
+     *
+     * @param regions      region 数
+     * @param prefixLength 前缀长度，1 到 8
+     * @return 生成器
+     */
+    public static SplitKeyGenerator hexPrefix(int regions, int prefixLength) {
+        if (prefixLength < 1 || prefixLength > 8) {
+            throw new IllegalArgumentException("prefixLength must be between 1 and 8, but was " + prefixLength);
+        }
+        long space = 1L << (4 * prefixLength);
+        checkRegions(regions, space);
+        return () -> {
+            List<byte[]> keys = new ArrayList<>(regions - 1);
+            for (int i = 1; i < regions; i++) {
+                long value = space * i / regions;
+                char[] chars = new char[prefixLength];
+                for (int j = prefixLength - 1; j >= 0; j--) {
+                    chars[j] = HEX_DIGITS.charAt((int) (value & 0xf));
+                    value >>>= 4;
+                }
+                keys.add(Bytes.toBytes(new String(chars)));
+            }
+            return normalize(keys);
+        };
+    }
+
+    /**
+     * 按数值区间均匀切分，rowKey 为 Bytes.toBytes(long) 编码，区间包含负数时应使用 numericRange(min, max, regions, RowKeyCodecs.ORDERED_LONG)
+     *
+     * @param min     最小值（包含）
+     * @param max     最大值（不包含）
+     * @param regions region 数
+     * @return 生成器
+     */
+    public static SplitKeyGenerator numericRange(long min, long max, int regions) {
+        return numericRange(min, max, regions, RowKeyCodecs.LONG);
+    }
+
+    /**
+     * 按数值区间均匀切分，splitKey 使用 codec 编码
+     *
+     * @param min     最小值（包含）
+     * @param max     最大值（不包含）
+     * @param regions region 数
+     * @param codec   rowKey 编码
+     * @return 生成器
+     */
+    public static SplitKeyGenerator numericRange(long min, long max, int regions, RowKeyCodec<Long> codec) {
+        Assert.notNull(codec);
+        if (min >= max) {
+            throw new IllegalArgumentException("min must be less than max, but was [" + min + ", " + max + ")");
+        }
+        BigInteger range = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min));
+        checkRegions(regions, range.min(BigInteger.valueOf(Long.MAX_VALUE)).longValue());
+        return () -> {
+            List<byte[]> keys = new ArrayList<>(regions - 1);
+            for (int i = 1; i < regions; i++) {
+                long value = BigInteger.valueOf(min)
+                        .add(range.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(regions)))
+                        .longValue();
+                keys.add(codec.encode(value));
+            }
+            return normalize(keys);
+        };
+    }
+
+    /**
+     * 按数值区间均匀切分，rowKey 为定长补零的十进制字符串
+     *
+     * @param min     最小值（包含），不能小于0
+     * @param max     最大值（不包含）
+     * @param regions region 数
+     * @param width   rowKey 中数字的位数
+     * @return 生成器
+     */
+    public static SplitKeyGenerator decimalRange(long min, long max, int regions, int width) {
+        if (min < 0 || min >= max) {
+            throw new IllegalArgumentException("range must be non-negative and min less than max, but was [" + min + ", " + max + ")");
+        }
+        if (String.valueOf(max - 1).length() > width) {
+            throw new IllegalArgumentException("width " + width + " is too small for max " + max);
+        }
+        checkRegions(regions, max - min);
+        String format = "%0" + width + "d";
+        return () -> {
+            List<byte[]> keys = new ArrayList<>(regions - 1);
+            for (int i = 1; i < regions; i++) {
+                long value = min + BigInteger.valueOf(max - min).multiply(BigInteger.valueOf(i))
+                        .divide(BigInteger.valueOf(regions)).longValue();
+                keys.add(Bytes.toBytes(String.format(format, value)));
+            }
+            return normalize(keys);
+        };
+    }
+
+    /**
+     * 按样本 rowKey 的分位数切分，样本能代表实际分布时各 region 的数据量大致相同
+     *
+     * @param sample  样本 rowKey
+     * @param regions region 数
+     * @return 生成器，样本去重后不足时生成的 region 数会少于 regions
+     */
+    public static SplitKeyGenerator fromSample(Collection<byte[]> sample, int regions) {
+        Assert.notNull(sample);
+        checkRegions(regions, Integer.MAX_VALUE);
+        return () -> {
+            TreeSet<byte[]> sorted = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+            for (byte[] key : sample) {
+                if (key != null && key.length > 0) {
+                    sorted.add(key);
+                }
+            }
+            List<byte[]> distinct = new ArrayList<>(sorted);
+            List<byte[]> keys = new ArrayList<>(regions - 1);
+            for (int i = 1; i < regions && !distinct.isEmpty(); i++) {
+                int index = (int) ((long) distinct.size() * i / regions);
+                if (index > 0) {
+                    keys.add(distinct.get(index));
+                }
+            }
+            return normalize(keys);
+        };
+    }
+
+    /**
+     * 排序、去重并去掉空 splitKey
+     */
+    private static byte[][] normalize(List<byte[]> keys) {
+        TreeSet<byte[]> sorted = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+        for (byte[] key : keys) {
+            if (key.length > 0) {
+                sorted.add(key);
+            }
+        }
+        return sorted.toArray(new byte[sorted.size()][]);
+    }
+
+    private static void checkRegions(int regions, long max) {
+        if (regions < 1 || regions > max) {
+            throw new IllegalArgumentException("regions must be between 1 and " + max + ", but was " + regions);
+        }
+    }
+}
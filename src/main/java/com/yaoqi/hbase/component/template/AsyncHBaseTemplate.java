@@ -0,0 +1,403 @@
+package com.yaoqi.hbase.component.template;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.cache.RowCache;
+import com.yaoqi.hbase.component.cache.TableMetaCache;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import com.yaoqi.hbase.component.config.AsyncConnectionLease;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.operations.AsyncHBaseOperations;
+import com.yaoqi.hbase.component.pool.TablePool;
+import com.yaoqi.hbase.component.query.QueryBuilder;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TableNotFoundException;
+import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 15:48
+ * Modified
+ * Description 异步组件实现，所有方法立即返回 CompletableFuture，回调在 HBase 客户端线程中执行，不要在回调中做阻塞操作
+ */
+@Component
+public class AsyncHBaseTemplate implements AsyncHBaseOperations {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncHBaseTemplate.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private RowCache rowCache;
+
+    /**
+     * 判断表名是否存在
+     *
+     * @param tableName 表名 String ,注意这里区分大小写
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> tableExists(String tableName) {
+        Assert.hasLength(tableName);
+        return tableMetaCache.loadAsync(tableName, () -> onAdmin(admin -> admin.tableExists(TableName.valueOf(tableName))));
+    }
+
+    /**
+     * 创建一张表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> createTable(String tableName, String... familyName) {
+        return createTable(tableName, Arrays.asList(familyName), null);
+    }
+
+    /**
+     * 创建表
+     *
+     * @param tableName
+     * @param familyName
+     * @param splitKeys
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> createTable(String tableName, List<String> familyName, byte[][] splitKeys) {
+        Assert.notNullBatch(tableName, familyName);
+        Assert.hasLength(tableName);
+        TableDescriptorBuilder builder = TableDescriptorBuilder.newBuilder(TableName.valueOf(tableName));
+        for (String aFamilyName : familyName) {
+            builder.setColumnFamily(ColumnFamilyDescriptorBuilder.newBuilder(Bytes.toBytes(aFamilyName))
+                    .setBlockCacheEnabled(true)
+                    .setPrefetchBlocksOnOpen(true)
+                    .build());
+        }
+        TableDescriptor descriptor = builder.build();
+        return onAdmin(admin -> splitKeys != null ? admin.createTable(descriptor, splitKeys) : admin.createTable(descriptor))
+                .whenComplete((v, e) -> {
+                    if (e == null) {
+                        tableMetaCache.put(tableName, true);
+                    } else {
+                        tableMetaCache.invalidate(tableName);
+                        logger.error("create failed , Exception: {}", e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * 创建按生成器预分区的表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @param generator  splitKey 生成器
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> createTableWithSplits(String tableName, List<String> familyName, SplitKeyGenerator generator) {
+        Assert.notNull(generator);
+        byte[][] splitKeys = generator.getSplitKeys();
+        return createTable(tableName, familyName, splitKeys.length > 0 ? splitKeys : null);
+    }
+
+    /**
+     * 通过表名和rowKey获取数据,获取一条数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Integer,Double,byte[],UUID,Object[]}，可通过 RowKeyCodecRegistry 注册其他类型
+     * @return Result 类型
+     */
+    @Override
+    public <T> CompletableFuture<Result> queryByTableNameAndRowKey(String tableName, T rowKeyVar) {
+        Assert.notNullBatch(tableName, rowKeyVar);
+        Assert.hasLength(tableName);
+        Get get = new Get(RowKeyCodecRegistry.encode(rowKeyVar));
+        return watch(tableName, onTable(tableName, table -> table.get(get)));
+    }
+
+    /**
+     * 通过表名和rowKey获取数据，只返回 query 限定的数据
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param query     查询条件
+     * @return Result 类型
+     */
+    @Override
+    public <T> CompletableFuture<Result> queryByTableNameAndRowKey(String tableName, T rowKeyVar, QueryBuilder query) {
+        Assert.notNullBatch(tableName, rowKeyVar, query);
+        Assert.hasLength(tableName);
+        return watch(tableName, onTable(tableName, table -> table.get(query.toGet(rowKeyVar))));
+    }
+
+    /**
+     * 自定义查询
+     *
+     * @param tableName 表名
+     * @param getList   请求体
+     * @return 与请求顺序一致的结果
+     */
+    @Override
+    public CompletableFuture<List<Result>> query(String tableName, List<Get> getList) {
+        Assert.notNullBatch(tableName, getList);
+        Assert.hasLength(tableName);
+        return watch(tableName, onTable(tableName, table -> table.getAll(getList)));
+    }
+
+    /**
+     * 新增一条数据
+     *
+     * @param tableName  目标数据表
+     * @param rowName    rowKey
+     * @param familyName 列族名
+     * @param qualifier  列名
+     * @param data       字节数组类型的数据
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> put(String tableName, String rowName, String familyName, String qualifier, byte[] data) {
+        Assert.notNullBatch(tableName, rowName, familyName, qualifier);
+        Assert.hasLengthBatch(tableName, rowName, familyName, qualifier);
+        Put put = new Put(Bytes.toBytes(rowName));
+        put.addColumn(Bytes.toBytes(familyName), Bytes.toBytes(qualifier), data);
+        return watch(tableName, invalidateOnComplete(tableName, Collections.singletonList(put), onTable(tableName, table -> table.put(put))));
+    }
+
+    /**
+     * 批量插入数据
+     *
+     * @param tableName 表名
+     * @param putList   put集合
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> putBatch(String tableName, List<Put> putList) {
+        Assert.notNull(putList);
+        Assert.hasLength(tableName);
+        return watch(tableName, invalidateOnComplete(tableName, putList, onTable(tableName, table -> table.putAll(putList))));
+    }
+
+    /**
+     * 删除一个列族下的数据
+     *
+     * @param tableName  目标数据表
+     * @param rowName    rowKey
+     * @param familyName 列族名
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> delete(String tableName, String rowName, String familyName) {
+        return delete(tableName, rowName, familyName, null);
+    }
+
+    /**
+     * 删除某个列下的数据
+     *
+     * @param tableName  目标数据表
+     * @param rowName    rowKey
+     * @param familyName 列族名
+     * @param qualifier  列名
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> delete(String tableName, String rowName, String familyName, String qualifier) {
+        Assert.notNullBatch(tableName, rowName, familyName);
+        Assert.hasLengthBatch(tableName, rowName, familyName);
+        Delete delete = new Delete(rowName.getBytes());
+        if (qualifier != null) {
+            delete.addColumn(familyName.getBytes(), qualifier.getBytes());
+        }
+        return watch(tableName, invalidateOnComplete(tableName, Collections.singletonList(delete), onTable(tableName, table -> table.delete(delete))));
+    }
+
+    /**
+     * 批量删除数据
+     *
+     * @param tableName  表名
+     * @param deleteList 需要删除的数据
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> deleteBatch(String tableName, List<Delete> deleteList) {
+        Assert.notNullBatch(tableName, deleteList);
+        Assert.hasLength(tableName);
+        return watch(tableName, invalidateOnComplete(tableName, deleteList, onTable(tableName, table -> table.deleteAll(deleteList))));
+    }
+
+    /**
+     * 通过scan查询数据，结果会全部加载到内存中
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 全部扫描结果
+     */
+    @Override
+    public CompletableFuture<List<Result>> queryByScan(String tableName, Scan scan) {
+        Assert.notNullBatch(tableName, scan);
+        Assert.hasLength(tableName);
+        return watch(tableName, onTable(tableName, table -> table.scanAll(scan)));
+    }
+
+    /**
+     * 删除表
+     *
+     * @param tableName 表名称
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> dropTable(String tableName) {
+        Assert.hasLength(tableName);
+        TableName tableNameVar = TableName.valueOf(tableName);
+        return onAdmin(admin -> admin.disableTable(tableNameVar).thenCompose(v -> admin.deleteTable(tableNameVar)))
+                .whenComplete((v, e) -> {
+                    if (e == null) {
+                        tableMetaCache.put(tableName, false);
+                        tablePool.invalidate(tableName);
+                        rowCache.invalidateTable(tableName);
+                        logger.info("table {} delete successfully", tableName);
+                    } else {
+                        tableMetaCache.invalidate(tableName);
+                        logger.error("drop table {} failed, message:{}", tableName, e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * 清空表
+     *
+     * @param tableName
+     * @return
+     */
+    @Override
+    public CompletableFuture<Void> truncateTable(String tableName) {
+        Assert.hasLength(tableName);
+        TableName tableNameVar = TableName.valueOf(tableName);
+        return onAdmin(admin -> admin.disableTable(tableNameVar).thenCompose(v -> admin.truncateTable(tableNameVar, false)))
+                .whenComplete((v, e) -> {
+                    if (e == null) {
+                        tableMetaCache.put(tableName, true);
+                        tablePool.invalidate(tableName);
+                        rowCache.invalidateTable(tableName);
+                        logger.info("table {} truncate successfully", tableName);
+                    } else {
+                        tableMetaCache.invalidate(tableName);
+                        logger.error("truncate table {} failed, message:{}", tableName, e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * 删除某些列
+     *
+     * @param tableName
+     * @param family
+     * @param rowKey
+     * @param columns
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteColumn(String tableName, String family, String rowKey, List<String> columns) {
+        Assert.hasLengthBatch(tableName, family, rowKey);
+        Assert.notNull(columns);
+        if (columns.isEmpty()) {
+            logger.info("columns is empty");
+            return CompletableFuture.completedFuture(false);
+        }
+        Delete delete = new Delete(rowKey.getBytes());
+        for (String column : columns) {
+            delete.addColumn(family.getBytes(), column.getBytes());
+        }
+        return watch(tableName, invalidateOnComplete(tableName, Collections.singletonList(delete), onTable(tableName, table -> table.delete(delete)))).thenApply(v -> true);
+    }
+
+    /**
+     * 获取异步连接对象
+     *
+     * @return 异步连接，创建失败时返回 null。返回的连接没有租约，刷新后会被关闭，只适合立即使用
+     */
+    @Override
+    public AsyncConnection getAsyncConnection() {
+        return hBaseConfig.getAsyncConnection();
+    }
+
+    /**
+     * 在表上发起请求，请求完成前持有异步连接的租约，连接刷新时不会被关闭；
+     * 异步连接创建失败时返回失败的 future，不在调用线程抛出异常
+     */
+    private <R> CompletableFuture<R> onTable(String tableName, Function<AsyncTable<AdvancedScanResultConsumer>, CompletableFuture<R>> call) {
+        return withLease(connection -> call.apply(connection.getTable(TableName.valueOf(tableName))));
+    }
+
+    private <R> CompletableFuture<R> onAdmin(Function<AsyncAdmin, CompletableFuture<R>> call) {
+        return withLease(connection -> call.apply(connection.getAdmin()));
+    }
+
+    private <R> CompletableFuture<R> withLease(Function<AsyncConnection, CompletableFuture<R>> call) {
+        AsyncConnectionLease lease = hBaseConfig.acquireAsyncConnection();
+        if (lease == null) {
+            return failed(new IOException("no available async connection"));
+        }
+        CompletableFuture<R> future;
+        try {
+            future = call.apply(lease.getConnection());
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        future.whenComplete((r, e) -> lease.close());
+        return future;
+    }
+
+    private static <R> CompletableFuture<R> failed(Throwable e) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * 写请求完成后（无论成功与否）清除涉及行的行缓存，与同步组件写路径的 finally 语义一致
+     */
+    private <R> CompletableFuture<R> invalidateOnComplete(String tableName, Collection<? extends Mutation> mutations, CompletableFuture<R> future) {
+        return future.whenComplete((r, e) -> rowCache.invalidate(tableName, mutations));
+    }
+
+    /**
+     * 请求失败时记录日志，遇到 TableNotFoundException 时清除表元数据缓存、表句柄和行缓存
+     */
+    private <R> CompletableFuture<R> watch(String tableName, CompletableFuture<R> future) {
+        return future.whenComplete((r, e) -> {
+            if (e == null) {
+                return;
+            }
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof TableNotFoundException) {
+                    tableMetaCache.invalidate(tableName);
+                    tablePool.invalidate(tableName);
+                    rowCache.invalidateTable(tableName);
+                    break;
+                }
+            }
+            logger.error("async operation on table {} failed, message:{}", tableName, e.getMessage());
+        });
+    }
+}
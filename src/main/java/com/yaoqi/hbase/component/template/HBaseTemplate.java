@@ -1,24 +1,59 @@
 package com.yaoqi.hbase.component.template;
 
 import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.batch.ChunkResult;
+import com.yaoqi.hbase.component.batch.ConditionalBatchResult;
+import com.yaoqi.hbase.component.batch.ConditionalMutation;
+import com.yaoqi.hbase.component.batch.MultiGetResult;
+import com.yaoqi.hbase.component.batch.MutationChunker;
+import com.yaoqi.hbase.component.batch.RegionGrouper;
+import com.yaoqi.hbase.component.cache.RowCache;
+import com.yaoqi.hbase.component.cache.TableMetaCache;
+import com.yaoqi.hbase.component.cache.TableRowCache;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import com.yaoqi.hbase.component.concurrent.HBaseWorkerPool;
 import com.yaoqi.hbase.component.config.HBaseConfig;
 import com.yaoqi.hbase.component.constant.CommonConstant;
 import com.yaoqi.hbase.component.constant.ExceptionMessage;
+import com.yaoqi.hbase.component.mutator.BufferedMutatorManager;
+import com.yaoqi.hbase.component.mutator.IncrementCoalescer;
+import com.yaoqi.hbase.component.offheap.OffHeapCursor;
+import com.yaoqi.hbase.component.offheap.SlabPool;
 import com.yaoqi.hbase.component.operations.HBaseOperations;
+import com.yaoqi.hbase.component.pool.TablePool;
+import com.yaoqi.hbase.component.query.QueryBuilder;
+import com.yaoqi.hbase.component.retry.OperationKind;
+import com.yaoqi.hbase.component.retry.ResilientExecutor;
+import com.yaoqi.hbase.component.scan.ParallelScanner;
+import com.yaoqi.hbase.component.scan.ScanStreams;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableExistsException;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TableNotFoundException;
 import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InterruptedIOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * @author YaoQi
@@ -34,6 +69,48 @@ public class HBaseTemplate implements HBaseOperations {
     @Autowired
     private HBaseConfig hBaseConfig;
 
+    @Autowired
+    private TableMetaCache tableMetaCache;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private RowCache rowCache;
+
+    @Autowired
+    private BufferedMutatorManager bufferedMutatorManager;
+
+    @Autowired
+    private IncrementCoalescer incrementCoalescer;
+
+    @Autowired
+    private HBaseWorkerPool workerPool;
+
+    @Autowired
+    private SlabPool slabPool;
+
+    @Autowired
+    private ParallelScanner parallelScanner;
+
+    @Autowired
+    private ResilientExecutor resilientExecutor;
+
+    private int batchChunkSize;
+    private long batchChunkHeapSize;
+    private int batchParallelism;
+    private int scannerCaching;
+    private long scannerMaxResultSize;
+
+    @PostConstruct
+    private void init() {
+        batchChunkSize = hBaseConfig.getIntConfig(CommonConstant.BATCH_CHUNK_SIZE, CommonConstant.DEFAULT_BATCH_CHUNK_SIZE);
+        batchChunkHeapSize = hBaseConfig.getLongConfig(CommonConstant.BATCH_CHUNK_HEAP_SIZE, CommonConstant.DEFAULT_BATCH_CHUNK_HEAP_SIZE);
+        batchParallelism = hBaseConfig.getIntConfig(CommonConstant.BATCH_PARALLELISM, CommonConstant.DEFAULT_BATCH_PARALLELISM);
+        scannerCaching = hBaseConfig.getIntConfig(CommonConstant.SCANNER_CACHING, CommonConstant.DEFAULT_SCANNER_CACHING);
+        scannerMaxResultSize = hBaseConfig.getLongConfig(CommonConstant.SCANNER_MAX_RESULT_SIZE, CommonConstant.DEFAULT_SCANNER_MAX_RESULT_SIZE);
+    }
+
     /**
      * 判断表名是否存在
      *
@@ -42,25 +119,24 @@ public class HBaseTemplate implements HBaseOperations {
      */
     @Override
     public boolean tableExists(String tableName) {
-        Table table = null;
         boolean tableExistsFlag = false;
-        Connection connection = hBaseConfig.getConnection();
-        try (Admin admin = connection.getAdmin()) {
-            table = connection.getTable(TableName.valueOf(tableName));
-            tableExistsFlag = admin.tableExists(table.getName());
+        try {
+            tableExistsFlag = tableMetaCache.load(tableName, () -> tablePool.executeOnConnection(connection -> {
+                try (Admin admin = connection.getAdmin()) {
+                    return admin.tableExists(TableName.valueOf(tableName));
+                }
+            }));
         } catch (IOException e) {
             logger.error("IOException : {}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
         return tableExistsFlag;
     }
 
     /**
-     * 通过表名和rowKey获取数据,获取一条数据
+     * 通过表名和rowKey获取数据,获取一条数据，表开启行缓存时优先读缓存
      *
      * @param tableName 表名
-     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Double}
+     * @param rowKeyVar rowKey 泛型 可支持多种类型{String,Long,Integer,Double,byte[],UUID,Object[]}，可通过 RowKeyCodecRegistry 注册其他类型
      * @return Result 类型
      */
     @Override
@@ -72,22 +148,187 @@ public class HBaseTemplate implements HBaseOperations {
             logger.info("{}" + ExceptionMessage.TABLE_NOT_EXISTS_MSG, tableName);
             return null;
         }
-        byte[] rowKey = checkType(rowKeyVar);
+        byte[] rowKey = RowKeyCodecRegistry.encode(rowKeyVar);
+        TableRowCache cache = rowCache.getCache(tableName);
+        long stamp = 0;
+        if (cache != null) {
+            Result cached = cache.get(rowKey);
+            if (cached != null) {
+                return cached;
+            }
+            stamp = cache.stamp(rowKey);
+        }
         Result result = null;
-        Table table = null;
         try {
-            Connection connection = hBaseConfig.getConnection();
-            table = connection.getTable(TableName.valueOf(tableName));
-            Get get = new Get(rowKey);
-            result = table.get(get);
+            result = resilientExecutor.get(tableName, "queryByTableNameAndRowKey", new Get(rowKey));
+            // 对冲请求由副本返回的结果可能不是最新的，不放入缓存
+            if (cache != null && result != null && !result.isStale()) {
+                cache.put(rowKey, result, stamp);
+            }
         } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
             logger.error("IOException : {}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
         return result;
     }
 
+    /**
+     * 通过表名和rowKey获取数据，只返回 query 限定的数据，不经过行缓存
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param query     查询条件
+     * @return Result 类型
+     */
+    @Override
+    public <T> Result queryByTableNameAndRowKey(String tableName, T rowKeyVar, QueryBuilder query) {
+        Assert.notNullBatch(tableName, rowKeyVar, query);
+        Assert.hasLength(tableName);
+        boolean tableExists = tableExists(tableName);
+        if (!tableExists) {
+            logger.info("{}" + ExceptionMessage.TABLE_NOT_EXISTS_MSG, tableName);
+            return null;
+        }
+        Result result = null;
+        try {
+            result = resilientExecutor.get(tableName, "queryByTableNameAndRowKey", query.toGet(rowKeyVar));
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("IOException : {}", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 通过表名和rowKey获取某个列族下的指定列
+     *
+     * @param tableName  表名
+     * @param rowKeyVar  rowKey
+     * @param familyName 列族名
+     * @param qualifiers 列名，不指定时返回整个列族
+     * @return Result 类型
+     */
+    @Override
+    public <T> Result queryByTableNameAndRowKey(String tableName, T rowKeyVar, String familyName, String... qualifiers) {
+        return queryByTableNameAndRowKey(tableName, rowKeyVar, QueryBuilder.create().columns(familyName, qualifiers));
+    }
+
+    /**
+     * 按同一查询条件批量查询多个rowKey
+     *
+     * @param tableName 表名
+     * @param rowKeys   rowKey 集合
+     * @param query     查询条件
+     * @return 与 rowKeys 顺序一致的结果
+     */
+    @Override
+    public Result[] query(String tableName, Collection<?> rowKeys, QueryBuilder query) {
+        Assert.notNullBatch(tableName, rowKeys, query);
+        return query(tableName, query.toGets(rowKeys));
+    }
+
+    /**
+     * 判断行是否存在，表开启行缓存时优先读缓存
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @return 是否存在
+     * @throws IOException
+     */
+    @Override
+    public <T> boolean exists(String tableName, T rowKeyVar) throws IOException {
+        Assert.notNullBatch(tableName, rowKeyVar);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        byte[] rowKey = RowKeyCodecRegistry.encode(rowKeyVar);
+        Result cached = rowCache.get(tableName, rowKey);
+        if (cached != null) {
+            return !cached.isEmpty();
+        }
+        try {
+            Get get = new Get(rowKey);
+            return resilientExecutor.execute(tableName, "exists", OperationKind.READ, table -> table.exists(get));
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("exists error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 批量判断行是否存在
+     *
+     * @param tableName 表名
+     * @param rowKeys   rowKey 集合
+     * @return 与 rowKeys 顺序一致的结果
+     * @throws IOException
+     */
+    @Override
+    public boolean[] existsAll(String tableName, Collection<?> rowKeys) throws IOException {
+        Assert.notNullBatch(tableName, rowKeys);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        if (rowKeys.isEmpty()) {
+            return new boolean[0];
+        }
+        List<Get> getList = new ArrayList<>(rowKeys.size());
+        for (Object rowKey : rowKeys) {
+            getList.add(new Get(RowKeyCodecRegistry.encode(rowKey)));
+        }
+        try {
+            return tablePool.execute(tableName, table -> table.exists(getList));
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("exists error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 统计行数。scan 没有过滤器时加上 FirstKeyOnlyFilter 和 KeyOnlyFilter，每行只返回一个不带 value 的 key；
+     * 带过滤器时保留原过滤器，避免只读到第一个 cell 导致按列值过滤的结果不正确
+     *
+     * @param tableName 表名
+     * @param scan      扫描范围
+     * @return 行数
+     * @throws IOException
+     */
+    @Override
+    public long count(String tableName, Scan scan) throws IOException {
+        Assert.notNullBatch(tableName, scan);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        Scan countScan = new Scan(scan);
+        // 按 Result 个数计数，设置了 batch 或允许部分结果时一行会拆成多个 Result，需要恢复为整行返回。
+        // setBatch 在过滤器带 filterRow 时会抛出异常，先临时去掉过滤器
+        if (countScan.getBatch() > 0) {
+            Filter filter = countScan.getFilter();
+            countScan.setFilter(null);
+            countScan.setBatch(-1);
+            countScan.setFilter(filter);
+        }
+        countScan.setAllowPartialResults(false);
+        if (countScan.getFilter() == null) {
+            countScan.setFilter(new FilterList(FilterList.Operator.MUST_PASS_ALL, new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
+        }
+        // 统计扫描的数据块不放入服务端缓存，避免挤占热点数据
+        countScan.setCacheBlocks(false);
+        try {
+            return parallelScanner.scan(tableName, countScan, result -> {
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("count error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * 自定义查询
      *
@@ -104,63 +345,122 @@ public class HBaseTemplate implements HBaseOperations {
             logger.info("{}" + ExceptionMessage.TABLE_NOT_EXISTS_MSG, tableName);
             return null;
         }
-        Table table = null;
         Result[] result = null;
         try {
-            Connection connection = hBaseConfig.getConnection();
-            table = connection.getTable(TableName.valueOf(tableName));
-            result = table.get(getList);
+            result = resilientExecutor.execute(tableName, "query", OperationKind.READ, table -> table.get(getList));
         } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
             logger.error("query error , message:{}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
         return result;
     }
 
-
     /**
-     * 传入一个泛型V 判断基本类型，返回对应的byte数组
+     * 按RegionServer分组并行查询，超过截止时间后返回已经拿到的结果
      *
-     * @param rowKeyVar 泛型rowKey
-     * @param <V>       泛型
-     * @return 返回格式化后的字节数组
+     * @param tableName 表名
+     * @param getList   请求体
+     * @param timeout   截止时间
+     * @param unit      时间单位
+     * @return 与请求顺序一致的结果，超时或失败的请求对应位置为 null
      */
-    private <V> byte[] checkType(V rowKeyVar) {
-        byte[] rowKey = new byte[0];
-        //判断T的类型
-        String rowKeyType = rowKeyVar.getClass().getTypeName();
-        logger.info("rowKey Type is : {}", rowKeyType);
-        if (String.class.getName().equals(rowKeyType)) {
-            rowKey = Bytes.toBytes((String) rowKeyVar);
+    @Override
+    public MultiGetResult query(String tableName, List<Get> getList, long timeout, TimeUnit unit) {
+        Assert.notNullBatch(tableName, getList, unit);
+        Assert.hasLength(tableName);
+        boolean tableExists = tableExists(tableName);
+        if (!tableExists) {
+            logger.info("{}" + ExceptionMessage.TABLE_NOT_EXISTS_MSG, tableName);
+            return null;
         }
-        if (Long.class.getName().equals(rowKeyType)) {
-            rowKey = Bytes.toBytes((Long) rowKeyVar);
+        Result[] results = new Result[getList.size()];
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        if (getList.isEmpty()) {
+            return new MultiGetResult(results, errors);
         }
-        if (Double.class.getName().equals(rowKeyType)) {
-            rowKey = Bytes.toBytes((Double) rowKeyVar);
+        long deadline = timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0L;
+        TableName tableNameVar = tablePool.getTableName(tableName);
+        Map<String, List<Integer>> groups;
+        try {
+            groups = tablePool.executeOnConnection(connection -> {
+                try (RegionLocator locator = connection.getRegionLocator(tableNameVar)) {
+                    return RegionGrouper.groupIndexesByServer(locator, getList);
+                }
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("query error , message:{}", e.getMessage());
+            errors.add(e);
+            return new MultiGetResult(results, errors);
         }
-        if (Integer.class.getName().equals(rowKeyType)) {
-            rowKey = Bytes.toBytes((Integer) rowKeyVar);
+        List<List<Integer>> batches = new ArrayList<>();
+        for (List<Integer> indexes : groups.values()) {
+            for (int from = 0; from < indexes.size(); from += batchChunkSize) {
+                batches.add(indexes.subList(from, Math.min(from + batchChunkSize, indexes.size())));
+            }
         }
-
-        return rowKey;
+        List<Callable<Result[]>> tasks = new ArrayList<>(batches.size());
+        for (List<Integer> indexes : batches) {
+            tasks.add(() -> {
+                List<Get> gets = new ArrayList<>(indexes.size());
+                indexes.forEach(index -> gets.add(getList.get(index)));
+                try {
+                    if (deadline == 0L) {
+                        return tablePool.execute(tableName, table -> table.get(gets));
+                    }
+                    // 使用操作超时不超过剩余时间的表句柄，截止时间后由 HBase 客户端结束请求，不继续占用工作线程
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutIOException("query on table " + tableName + " exceeded deadline");
+                    }
+                    int timeoutMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                    return tablePool.execute(tableName, timeoutMillis, table -> table.get(gets));
+                } catch (IOException e) {
+                    evictIfTableNotFound(tableName, e);
+                    errors.add(e);
+                    return null;
+                }
+            });
+        }
+        try {
+            List<Result[]> parts = workerPool.invokeAll(tasks, batchParallelism, timeout, unit);
+            for (int i = 0; i < parts.size(); i++) {
+                Result[] part = parts.get(i);
+                if (part != null) {
+                    List<Integer> indexes = batches.get(i);
+                    for (int j = 0; j < part.length; j++) {
+                        results[indexes.get(j)] = part[j];
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } catch (ExecutionException e) {
+            errors.add(e.getCause());
+        }
+        MultiGetResult multiGetResult = new MultiGetResult(results, errors);
+        if (!multiGetResult.isComplete()) {
+            logger.warn("query table {} returned {} of {} results", tableName,
+                    results.length - multiGetResult.getMissingCount(), results.length);
+        }
+        return multiGetResult;
     }
 
     /**
-     * 关闭连接
+     * 数据操作抛出 TableNotFoundException 时，清除该表的元数据缓存和表句柄
      *
-     * @param table 表名
+     * @param tableName 表名
+     * @param e         异常
      */
-    private void closeTable(Table table) {
-        if (table != null) {
-            try {
-                table.close();
-            } catch (IOException e) {
-                logger.error("close table {} error {}", table.getName(), e.getMessage());
+    private void evictIfTableNotFound(String tableName, Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TableNotFoundException) {
+                tableMetaCache.invalidate(tableName);
+                tablePool.invalidate(tableName);
+                rowCache.invalidateTable(tableName);
+                return;
             }
-        } else {
-            logger.info("table is null");
         }
     }
 
@@ -195,14 +495,23 @@ public class HBaseTemplate implements HBaseOperations {
                 hColumnDescriptor.setPrefetchBlocksOnOpen(true);
                 hTableDescriptor.addFamily(hColumnDescriptor);
             }
-            Connection connection = hBaseConfig.getConnection();
-            try (Admin admin = connection.getAdmin()) {
-                if (splitKeys != null) {
-                    admin.createTable(hTableDescriptor, splitKeys);
-                } else {
-                    admin.createTable(hTableDescriptor);
-                }
+            try {
+                tablePool.executeOnConnection(connection -> {
+                    try (Admin admin = connection.getAdmin()) {
+                        if (splitKeys != null) {
+                            admin.createTable(hTableDescriptor, splitKeys);
+                        } else {
+                            admin.createTable(hTableDescriptor);
+                        }
+                    }
+                    return null;
+                });
+                tableMetaCache.put(tableName, true);
+            } catch (TableExistsException e) {
+                tableMetaCache.put(tableName, true);
+                logger.error("create failed , Exception: {}", e.getMessage());
             } catch (IOException e) {
+                tableMetaCache.invalidate(tableName);
                 logger.error("create failed , Exception: {}", e.getMessage());
             }
         } else {
@@ -210,6 +519,20 @@ public class HBaseTemplate implements HBaseOperations {
         }
     }
 
+    /**
+     * 创建按生成器预分区的表
+     *
+     * @param tableName  表名
+     * @param familyName 列族名
+     * @param generator  splitKey 生成器
+     */
+    @Override
+    public void createTableWithSplits(String tableName, List<String> familyName, SplitKeyGenerator generator) {
+        Assert.notNull(generator);
+        byte[][] splitKeys = generator.getSplitKeys();
+        createTable(tableName, familyName, splitKeys.length > 0 ? splitKeys : null);
+    }
+
     /**
      * 新增一条数据
      *
@@ -223,18 +546,21 @@ public class HBaseTemplate implements HBaseOperations {
     public void put(String tableName, String rowName, String familyName, String qualifier, byte[] data) {
         Assert.notNullBatch(tableName, rowName, familyName, qualifier);
         Assert.hasLengthBatch(tableName, rowName, familyName, qualifier);
-        Table table = null;
         if (tableExists(tableName)) {
             try {
-                Connection connection = hBaseConfig.getConnection();
-                table = connection.getTable(TableName.valueOf(tableName));
                 Put put = new Put(Bytes.toBytes(rowName));
                 put.addColumn(Bytes.toBytes(familyName), Bytes.toBytes(qualifier), data);
-                table.put(put);
+                try {
+                    resilientExecutor.execute(tableName, "put", OperationKind.WRITE, table -> {
+                        table.put(put);
+                        return null;
+                    });
+                } finally {
+                    rowCache.invalidate(tableName, put.getRow());
+                }
             } catch (IOException e) {
+                evictIfTableNotFound(tableName, e);
                 logger.error("data put error,message: {}", e.getMessage());
-            } finally {
-                closeTable(table);
             }
         } else {
             throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
@@ -242,36 +568,309 @@ public class HBaseTemplate implements HBaseOperations {
     }
 
     /**
-     * 批量插入数据
+     * 批量插入数据，按RegionServer分组并按条数和内存占用切分，分片以有限并发写入
      *
      * @param tableName 表名
      * @param putList   put集合
+     * @return 每个分片的写入结果
      */
     @Override
-    public void putBatch(String tableName, List<Put> putList) throws IOException {
+    public BatchResult putBatch(String tableName, List<Put> putList) throws IOException {
         Assert.notNull(putList);
         Assert.hasLength(tableName);
-        // 限制最大插入数量
-        if (putList.size() > CommonConstant.BATCH_PUT_LIMIT) {
-            logger.warn("putList is too large to insert, {} is limit，The real size is {}",
-                    CommonConstant.BATCH_PUT_LIMIT, putList.size());
-        } else {
-            Table table = null;
-            if (tableExists(tableName)) {
-                try {
-                    Connection connection = hBaseConfig.getConnection();
-                    table = connection.getTable(TableName.valueOf(tableName));
-                    table.put(putList);
-                } catch (IOException e) {
-                    logger.error("data put error, message:{}", e.getMessage());
-                    throw new IOException(e);
-                } finally {
-                    closeTable(table);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        if (putList.isEmpty()) {
+            return new BatchResult(Collections.emptyList());
+        }
+        TableName tableNameVar = tablePool.getTableName(tableName);
+        Map<String, List<List<Put>>> chunksByServer;
+        try {
+            chunksByServer = tablePool.executeOnConnection(connection -> {
+                try (RegionLocator locator = connection.getRegionLocator(tableNameVar)) {
+                    return MutationChunker.chunkByServer(locator, putList, batchChunkSize, batchChunkHeapSize);
+                }
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("data put error, message:{}", e.getMessage());
+            throw e;
+        }
+        // 各RegionServer的分片交错排列，使并发写入尽量分散到不同的RegionServer
+        List<String> servers = new ArrayList<>(chunksByServer.keySet());
+        List<List<List<Put>>> serverChunks = new ArrayList<>(chunksByServer.values());
+        int total = serverChunks.stream().mapToInt(List::size).sum();
+        List<Callable<ChunkResult>> tasks = new ArrayList<>(total);
+        for (int round = 0; tasks.size() < total; round++) {
+            for (int i = 0; i < servers.size(); i++) {
+                if (round < serverChunks.get(i).size()) {
+                    int index = tasks.size();
+                    String server = servers.get(i);
+                    List<Put> chunk = serverChunks.get(i).get(round);
+                    tasks.add(() -> putChunk(tableName, index, server, chunk));
+                }
+            }
+        }
+        try {
+            BatchResult batchResult = new BatchResult(workerPool.invokeAll(tasks, batchParallelism));
+            if (!batchResult.isSuccess()) {
+                logger.error("data put error, {}", batchResult);
+            }
+            return batchResult;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("put batch interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            rowCache.invalidate(tableName, putList);
+        }
+    }
+
+    /**
+     * 写入一个分片，异常记录在分片结果中
+     */
+    private ChunkResult putChunk(String tableName, int index, String server, List<Put> chunk) {
+        long start = System.currentTimeMillis();
+        long heapSize = 0;
+        for (Put put : chunk) {
+            heapSize += put.heapSize();
+        }
+        Throwable error = null;
+        try {
+            tablePool.execute(tableName, table -> {
+                table.put(chunk);
+                return null;
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            error = e;
+        }
+        return new ChunkResult(index, server, chunk.size(), heapSize, System.currentTimeMillis() - start, error);
+    }
+
+    /**
+     * 原子累加计数器
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param family    列族名
+     * @param qualifier 列名
+     * @param delta     增量，可以为负数
+     * @return 累加后的值
+     * @throws IOException
+     */
+    @Override
+    public <T> long increment(String tableName, T rowKeyVar, String family, String qualifier, long delta) throws IOException {
+        Assert.notNullBatch(tableName, rowKeyVar, family, qualifier);
+        Assert.hasLengthBatch(tableName, family, qualifier);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        byte[] rowKey = RowKeyCodecRegistry.encode(rowKeyVar);
+        try {
+            return tablePool.execute(tableName, table ->
+                    table.incrementColumnValue(rowKey, Bytes.toBytes(family), Bytes.toBytes(qualifier), delta));
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("increment error, message:{}", e.getMessage());
+            throw e;
+        } finally {
+            rowCache.invalidate(tableName, rowKey);
+        }
+    }
+
+    /**
+     * 合并累加计数器
+     *
+     * @param tableName 表名
+     * @param rowKeyVar rowKey
+     * @param family    列族名
+     * @param qualifier 列名
+     * @param delta     增量，可以为负数
+     * @throws IOException
+     */
+    @Override
+    public <T> void bufferedIncrement(String tableName, T rowKeyVar, String family, String qualifier, long delta) throws IOException {
+        Assert.notNullBatch(tableName, rowKeyVar, family, qualifier);
+        Assert.hasLengthBatch(tableName, family, qualifier);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        incrementCoalescer.increment(tableName, RowKeyCodecRegistry.encode(rowKeyVar), Bytes.toBytes(family), Bytes.toBytes(qualifier), delta);
+    }
+
+    /**
+     * 列的值等于 expected 时写入 put
+     *
+     * @param tableName 表名
+     * @param family    检查的列族名
+     * @param qualifier 检查的列名
+     * @param expected  期望的值，为 null 表示列不存在
+     * @param put       put
+     * @return 条件满足并已写入时返回 true
+     * @throws IOException
+     */
+    @Override
+    public boolean checkAndPut(String tableName, String family, String qualifier, byte[] expected, Put put) throws IOException {
+        return checkAndMutate(tableName, ConditionalMutation.check(family, qualifier).ifEquals(expected).thenPut(put));
+    }
+
+    /**
+     * 列的值等于 expected 时执行 delete
+     *
+     * @param tableName 表名
+     * @param family    检查的列族名
+     * @param qualifier 检查的列名
+     * @param expected  期望的值，为 null 表示列不存在
+     * @param delete    delete
+     * @return 条件满足并已删除时返回 true
+     * @throws IOException
+     */
+    @Override
+    public boolean checkAndDelete(String tableName, String family, String qualifier, byte[] expected, Delete delete) throws IOException {
+        return checkAndMutate(tableName, ConditionalMutation.check(family, qualifier).ifEquals(expected).thenDelete(delete));
+    }
+
+    /**
+     * 条件写入
+     *
+     * @param tableName 表名
+     * @param mutation  条件和写入操作
+     * @return 条件满足并已写入时返回 true
+     * @throws IOException
+     */
+    @Override
+    public boolean checkAndMutate(String tableName, ConditionalMutation mutation) throws IOException {
+        Assert.notNull(mutation);
+        Assert.hasLength(tableName);
+        byte[] row = mutation.getRow();
+        try {
+            return tablePool.execute(tableName, mutation::apply);
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("check and mutate error, message:{}", e.getMessage());
+            throw e;
+        } finally {
+            rowCache.invalidate(tableName, row);
+        }
+    }
+
+    /**
+     * 批量条件写入，按region分组，每个region一个任务，任务在工作线程池中以有限并发执行
+     *
+     * @param tableName 表名
+     * @param mutations 条件写入集合
+     * @return 每条请求的结果
+     * @throws IOException
+     */
+    @Override
+    public ConditionalBatchResult checkAndMutateBatch(String tableName, List<ConditionalMutation> mutations) throws IOException {
+        Assert.notNull(mutations);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        int size = mutations.size();
+        boolean[] applied = new boolean[size];
+        Throwable[] errors = new Throwable[size];
+        if (size == 0) {
+            return new ConditionalBatchResult(applied, errors);
+        }
+        List<byte[]> rows = new ArrayList<>(size);
+        for (ConditionalMutation mutation : mutations) {
+            Assert.notNull(mutation);
+            rows.add(mutation.getRow());
+        }
+        Map<String, List<Integer>> indexesByRegion;
+        try {
+            indexesByRegion = tablePool.executeOnConnection(connection -> {
+                try (RegionLocator locator = connection.getRegionLocator(tablePool.getTableName(tableName))) {
+                    return RegionGrouper.groupIndexesByRegion(locator, rows);
                 }
-            } else {
-                throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("check and mutate error, message:{}", e.getMessage());
+            throw e;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(indexesByRegion.size());
+        for (List<Integer> indexes : indexesByRegion.values()) {
+            tasks.add(() -> {
+                checkAndMutateRegion(tableName, mutations, indexes, applied, errors);
+                return null;
+            });
+        }
+        try {
+            workerPool.invokeAll(tasks, batchParallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("check and mutate batch interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            for (byte[] row : rows) {
+                rowCache.invalidate(tableName, row);
             }
         }
+        ConditionalBatchResult batchResult = new ConditionalBatchResult(applied, errors);
+        if (!batchResult.isSuccess()) {
+            logger.error("check and mutate error, {}", batchResult);
+        }
+        return batchResult;
+    }
+
+    /**
+     * 在一个表句柄上按请求顺序执行同一region的条件写入，同一行的多个条件写入按请求顺序生效，单条失败不影响其余请求
+     */
+    private void checkAndMutateRegion(String tableName, List<ConditionalMutation> mutations, List<Integer> indexes,
+                                      boolean[] applied, Throwable[] errors) {
+        try {
+            tablePool.execute(tableName, table -> {
+                for (int index : indexes) {
+                    try {
+                        applied[index] = mutations.get(index).apply(table);
+                    } catch (IOException | RuntimeException e) {
+                        evictIfTableNotFound(tableName, e);
+                        errors[index] = e;
+                    }
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            for (int index : indexes) {
+                if (errors[index] == null && !applied[index]) {
+                    errors[index] = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 原子执行同一行的多个 put、delete
+     *
+     * @param tableName    表名
+     * @param rowMutations 同一行的写入操作
+     * @throws IOException
+     */
+    @Override
+    public void mutateRow(String tableName, RowMutations rowMutations) throws IOException {
+        Assert.notNull(rowMutations);
+        Assert.hasLength(tableName);
+        try {
+            tablePool.execute(tableName, table -> {
+                table.mutateRow(rowMutations);
+                return null;
+            });
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("mutate row error, message:{}", e.getMessage());
+            throw e;
+        } finally {
+            rowCache.invalidate(tableName, rowMutations.getRow());
+        }
     }
 
     /**
@@ -298,19 +897,22 @@ public class HBaseTemplate implements HBaseOperations {
     public void delete(String tableName, String rowName, String familyName, String qualifier) {
         Assert.notNullBatch(tableName, rowName, familyName);
         Assert.hasLengthBatch(tableName, rowName, familyName);
-        Table table = null;
         try {
-            Connection connection = hBaseConfig.getConnection();
-            table = connection.getTable(TableName.valueOf(tableName));
             Delete delete = new Delete(rowName.getBytes());
             if (qualifier != null) {
                 delete.addColumn(familyName.getBytes(), qualifier.getBytes());
             }
-            table.delete(delete);
+            try {
+                resilientExecutor.execute(tableName, "delete", OperationKind.WRITE, table -> {
+                    table.delete(delete);
+                    return null;
+                });
+            } finally {
+                rowCache.invalidate(tableName, delete.getRow());
+            }
         } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
             logger.error("data delete error, message:{}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
     }
 
@@ -324,18 +926,105 @@ public class HBaseTemplate implements HBaseOperations {
     public void deleteBatch(String tableName, List<Delete> deleteList) {
         Assert.notNull(tableName);
         Assert.hasLength(tableName);
-        Table table = null;
         try {
-            Connection connection = hBaseConfig.getConnection();
-            table = connection.getTable(TableName.valueOf(tableName));
-            table.delete(deleteList);
+            try {
+                tablePool.execute(tableName, table -> {
+                    table.delete(deleteList);
+                    return null;
+                });
+            } finally {
+                rowCache.invalidate(tableName, deleteList);
+            }
         } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
             logger.error("data delete error, message:{}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
     }
 
+    /**
+     * 缓冲写入一条数据
+     *
+     * @param tableName 表名
+     * @param put       put
+     * @throws IOException
+     */
+    @Override
+    public void bufferedPut(String tableName, Put put) throws IOException {
+        Assert.notNullBatch(tableName, put);
+        Assert.hasLength(tableName);
+        bufferedMutate(tableName, put);
+    }
+
+    /**
+     * 缓冲批量写入数据
+     *
+     * @param tableName 表名
+     * @param putList   put集合
+     * @throws IOException
+     */
+    @Override
+    public void bufferedPutBatch(String tableName, List<Put> putList) throws IOException {
+        Assert.notNullBatch(tableName, putList);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        try {
+            bufferedMutatorManager.mutate(tableName, putList);
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("buffered put error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 缓冲删除数据
+     *
+     * @param tableName 表名
+     * @param delete    delete
+     * @throws IOException
+     */
+    @Override
+    public void bufferedDelete(String tableName, Delete delete) throws IOException {
+        Assert.notNullBatch(tableName, delete);
+        Assert.hasLength(tableName);
+        bufferedMutate(tableName, delete);
+    }
+
+    private void bufferedMutate(String tableName, Mutation mutation) throws IOException {
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        try {
+            bufferedMutatorManager.mutate(tableName, mutation);
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("buffered mutate error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 提交某张表缓冲区中的数据
+     *
+     * @param tableName 表名
+     * @throws IOException
+     */
+    @Override
+    public void flush(String tableName) throws IOException {
+        Assert.hasLength(tableName);
+        bufferedMutatorManager.flush(tableName);
+    }
+
+    /**
+     * 提交所有表缓冲区中的数据
+     */
+    @Override
+    public void flush() {
+        bufferedMutatorManager.flush();
+    }
+
     /**
      * 通过scan查询数据
      *
@@ -348,19 +1037,84 @@ public class HBaseTemplate implements HBaseOperations {
         Assert.notNullBatch(tableName, scan);
         Assert.hasLength(tableName);
         ResultScanner resultScanner = null;
-        Table table = null;
         try {
-            Connection connection = hBaseConfig.getConnection();
-            table = connection.getTable(TableName.valueOf(tableName));
-            resultScanner = table.getScanner(scan);
+            resultScanner = tablePool.getScanner(tableName, ScanStreams.tune(scan, scannerCaching, scannerMaxResultSize));
         } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
             logger.error("query error, message:{}", e.getMessage());
-        } finally {
-            closeTable(table);
         }
         return resultScanner;
     }
 
+    /**
+     * 以流的方式扫描数据，数据按需从服务端分批拉取，内存占用与结果集大小无关
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 需要在 try-with-resources 中使用的 Stream，关闭时释放 scanner
+     * @throws IOException
+     */
+    @Override
+    public Stream<Result> scanStream(String tableName, Scan scan) throws IOException {
+        Assert.notNullBatch(tableName, scan);
+        Assert.hasLength(tableName);
+        try {
+            ResultScanner resultScanner = tablePool.getScanner(tableName, ScanStreams.tune(scan, scannerCaching, scannerMaxResultSize));
+            return ScanStreams.stream(resultScanner);
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("query error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 批量查询，按 batchChunkSize 分段查询，每段结果复制到堆外缓冲区后再查询下一段，堆上最多只有一段 Result
+     *
+     * @param tableName 表名
+     * @param getList   请求体
+     * @return 需要在 try-with-resources 中使用的游标，关闭时归还缓冲区
+     * @throws IOException
+     */
+    @Override
+    public OffHeapCursor queryOffHeap(String tableName, List<Get> getList) throws IOException {
+        Assert.notNullBatch(tableName, getList);
+        Assert.hasLength(tableName);
+        if (!tableExists(tableName)) {
+            throw new IllegalArgumentException(ExceptionMessage.TABLE_NOT_EXISTS_MSG);
+        }
+        try {
+            return OffHeapCursor.copyOf(slabPool, getList.size(), batchChunkSize,
+                    (from, to) -> tablePool.execute(tableName, table -> table.get(getList.subList(from, to))));
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("query error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 扫描数据，每批结果复制到同一块堆外缓冲区，堆内存占用与结果集大小无关
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return 需要在 try-with-resources 中使用的游标，关闭时归还缓冲区并释放 scanner
+     * @throws IOException
+     */
+    @Override
+    public OffHeapCursor scanOffHeap(String tableName, Scan scan) throws IOException {
+        Assert.notNullBatch(tableName, scan);
+        Assert.hasLength(tableName);
+        try {
+            ResultScanner resultScanner = tablePool.getScanner(tableName, ScanStreams.tune(scan, scannerCaching, scannerMaxResultSize));
+            return OffHeapCursor.scan(slabPool, resultScanner);
+        } catch (IOException e) {
+            evictIfTableNotFound(tableName, e);
+            logger.error("query error, message:{}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * 删除表
      *
@@ -370,12 +1124,20 @@ public class HBaseTemplate implements HBaseOperations {
     public void dropTable(String tableName) {
         boolean tableExists = tableExists(tableName);
         if (tableExists) {
-            Connection connection = hBaseConfig.getConnection();
-            try (Admin admin = connection.getAdmin()) {
-                admin.disableTable(TableName.valueOf(tableName));
-                admin.deleteTable(TableName.valueOf(tableName));
+            try {
+                tablePool.executeOnConnection(connection -> {
+                    try (Admin admin = connection.getAdmin()) {
+                        admin.disableTable(TableName.valueOf(tableName));
+                        admin.deleteTable(TableName.valueOf(tableName));
+                    }
+                    return null;
+                });
+                tableMetaCache.put(tableName, false);
+                tablePool.invalidate(tableName);
+                rowCache.invalidateTable(tableName);
                 logger.info("table {} delete successfully", tableName);
             } catch (IOException e) {
+                tableMetaCache.invalidate(tableName);
                 logger.error("class:[{}] method:[{}] excuter throw exception:[{}]", this.getClass().getName(), "dropTable", e.getMessage());
             }
         } else {
@@ -390,20 +1152,29 @@ public class HBaseTemplate implements HBaseOperations {
      */
     @Override
     public void dropTable(List<String> tableNames) {
-        Connection connection = hBaseConfig.getConnection();
-        try (Admin admin = connection.getAdmin()) {
-            tableNames.stream().distinct().forEach(tableName -> {
-                boolean tableExists = tableExists(tableName);
-                if (tableExists) {
-                    try {
-                        admin.disableTable(TableName.valueOf(tableName));
-                        admin.deleteTable(TableName.valueOf(tableName));
-                        logger.info("table {} delete successfully", tableName);
-                    } catch (IOException e) {
-                    }
-                } else {
-                    logger.info("table {} is not exists", tableName);
+        try {
+            tablePool.executeOnConnection(connection -> {
+                try (Admin admin = connection.getAdmin()) {
+                    tableNames.stream().distinct().forEach(tableName -> {
+                        boolean tableExists = tableExists(tableName);
+                        if (tableExists) {
+                            try {
+                                admin.disableTable(TableName.valueOf(tableName));
+                                admin.deleteTable(TableName.valueOf(tableName));
+                                tableMetaCache.put(tableName, false);
+                                tablePool.invalidate(tableName);
+                                rowCache.invalidateTable(tableName);
+                                logger.info("table {} delete successfully", tableName);
+                            } catch (IOException e) {
+                                tableMetaCache.invalidate(tableName);
+                                logger.error("drop table {} failed, message:{}", tableName, e.getMessage());
+                            }
+                        } else {
+                            logger.info("table {} is not exists", tableName);
+                        }
+                    });
                 }
+                return null;
             });
         } catch (IOException e) {
             logger.error("class:[{}] method:[{}] excuter throw exception:[{}]", this.getClass().getName(), "dropTable", e.getMessage());
@@ -420,11 +1191,21 @@ public class HBaseTemplate implements HBaseOperations {
     public void truncateTable(String tableName) throws IOException {
         boolean tableExists = tableExists(tableName);
         if (tableExists) {
-            Connection connection = hBaseConfig.getConnection();
-            Admin admin = connection.getAdmin();
-            admin.disableTable(TableName.valueOf(tableName));
-            admin.truncateTable(TableName.valueOf(tableName), false);
-            logger.info("table {} truncate successfully", tableName);
+            try {
+                tablePool.executeOnConnection(connection -> {
+                    try (Admin admin = connection.getAdmin()) {
+                        admin.disableTable(TableName.valueOf(tableName));
+                        admin.truncateTable(TableName.valueOf(tableName), false);
+                    }
+                    return null;
+                });
+                tableMetaCache.put(tableName, true);
+                rowCache.invalidateTable(tableName);
+                logger.info("table {} truncate successfully", tableName);
+            } catch (IOException e) {
+                tableMetaCache.invalidate(tableName);
+                throw e;
+            }
         } else {
             logger.info("table {} is not exists", tableName);
         }
@@ -467,13 +1248,23 @@ public class HBaseTemplate implements HBaseOperations {
         }
         boolean tableExists = tableExists(tableName);
         if (tableExists) {
-            Connection connection = hBaseConfig.getConnection();
-            Table table = connection.getTable(TableName.valueOf(tableName));
-            Delete delete = new Delete(rowKey.getBytes());
-            for (String column : columns) {
-                delete.addColumn(family.getBytes(), column.getBytes());
+            try {
+                Delete delete = new Delete(rowKey.getBytes());
+                for (String column : columns) {
+                    delete.addColumn(family.getBytes(), column.getBytes());
+                }
+                try {
+                    tablePool.execute(tableName, table -> {
+                        table.delete(delete);
+                        return null;
+                    });
+                } finally {
+                    rowCache.invalidate(tableName, delete.getRow());
+                }
+            } catch (IOException e) {
+                evictIfTableNotFound(tableName, e);
+                throw e;
             }
-            table.delete(delete);
             logger.info("table {} truncate successfully", tableName);
             return true;
         } else {
@@ -483,7 +1274,8 @@ public class HBaseTemplate implements HBaseOperations {
     }
 
     /**
-     * 获取连接对象
+     * 获取连接对象。返回的连接没有租约，认证环境下连接刷新后会被关闭，只适合立即使用，
+     * 不要缓存或用于长时间的调用；组件内部的调用都通过 TablePool 持有租约
      *
      * @return
      */
@@ -0,0 +1,241 @@
+package com.yaoqi.hbase.component.template;
+
+import com.yaoqi.hbase.component.assertion.Assert;
+import com.yaoqi.hbase.component.batch.BatchResult;
+import com.yaoqi.hbase.component.concurrent.HBaseWorkerPool;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.operations.HBaseOperations;
+import com.yaoqi.hbase.component.pool.TablePool;
+import com.yaoqi.hbase.component.salt.SaltedKeyLayout;
+import com.yaoqi.hbase.component.salt.SaltedResultScanner;
+import com.yaoqi.hbase.component.scan.ScanStreams;
+import org.apache.hadoop.hbase.client.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/18 19:20
+ * Modified
+ * Description 加盐表的读写操作，调用方使用原始 rowKey，写入和查询时自动加上分桶前缀，
+ * 扫描时每个分桶一个子 scan，结果按原始 rowKey 顺序合并。返回的 Result 的 rowKey 带分桶前缀，可通过 SaltedKeyLayout.unsalt 还原
+ */
+@Component
+public class SaltedHBaseTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaltedHBaseTemplate.class);
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private HBaseOperations hBaseOperations;
+
+    @Autowired
+    private TablePool tablePool;
+
+    @Autowired
+    private HBaseWorkerPool workerPool;
+
+    private int scannerCaching;
+    private long scannerMaxResultSize;
+
+    @PostConstruct
+    private void init() {
+        scannerCaching = hBaseConfig.getIntConfig(CommonConstant.SCANNER_CACHING, CommonConstant.DEFAULT_SCANNER_CACHING);
+        scannerMaxResultSize = hBaseConfig.getLongConfig(CommonConstant.SCANNER_MAX_RESULT_SIZE, CommonConstant.DEFAULT_SCANNER_MAX_RESULT_SIZE);
+    }
+
+    /**
+     * 按分桶预分区建表
+     *
+     * @param tableName  表名
+     * @param layout     加盐布局
+     * @param familyName 列族名
+     */
+    public void createTable(String tableName, SaltedKeyLayout layout, String... familyName) {
+        Assert.notNullBatch(tableName, layout, familyName);
+        hBaseOperations.createTableWithSplits(tableName, Arrays.asList(familyName), layout);
+    }
+
+    /**
+     * 批量写入，rowKey 加盐后按 RegionServer 分片写入
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param putList   基于原始 rowKey 的 put 集合
+     * @return 每个分片的写入结果
+     * @throws IOException
+     */
+    public BatchResult putBatch(String tableName, SaltedKeyLayout layout, List<Put> putList) throws IOException {
+        Assert.notNullBatch(tableName, layout, putList);
+        List<Put> saltedList = new ArrayList<>(putList.size());
+        for (Put put : putList) {
+            saltedList.add(layout.salt(put));
+        }
+        return hBaseOperations.putBatch(tableName, saltedList);
+    }
+
+    /**
+     * 缓冲写入一条数据
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param put       基于原始 rowKey 的 put
+     * @throws IOException
+     */
+    public void bufferedPut(String tableName, SaltedKeyLayout layout, Put put) throws IOException {
+        Assert.notNullBatch(tableName, layout, put);
+        hBaseOperations.bufferedPut(tableName, layout.salt(put));
+    }
+
+    /**
+     * 批量删除数据
+     *
+     * @param tableName  表名
+     * @param layout     加盐布局
+     * @param deleteList 基于原始 rowKey 的 delete 集合
+     * @throws IOException
+     */
+    public void deleteBatch(String tableName, SaltedKeyLayout layout, List<Delete> deleteList) throws IOException {
+        Assert.notNullBatch(tableName, layout, deleteList);
+        List<Delete> saltedList = new ArrayList<>(deleteList.size());
+        for (Delete delete : deleteList) {
+            saltedList.add(layout.salt(delete));
+        }
+        hBaseOperations.deleteBatch(tableName, saltedList);
+    }
+
+    /**
+     * 查询一条数据
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param get       基于原始 rowKey 的 get
+     * @return 查询结果
+     * @throws IOException
+     */
+    public Result query(String tableName, SaltedKeyLayout layout, Get get) throws IOException {
+        Assert.notNullBatch(tableName, layout, get);
+        Result[] results = hBaseOperations.query(tableName, Collections.singletonList(layout.salt(get)));
+        return results == null || results.length == 0 ? null : results[0];
+    }
+
+    /**
+     * 批量查询
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param getList   基于原始 rowKey 的 get 集合
+     * @return 与 getList 顺序一致的查询结果
+     * @throws IOException
+     */
+    public Result[] query(String tableName, SaltedKeyLayout layout, List<Get> getList) throws IOException {
+        Assert.notNullBatch(tableName, layout, getList);
+        List<Get> saltedList = new ArrayList<>(getList.size());
+        for (Get get : getList) {
+            saltedList.add(layout.salt(get));
+        }
+        return hBaseOperations.query(tableName, saltedList);
+    }
+
+    /**
+     * 扫描数据，每个分桶一个子 scan，结果按原始 rowKey 顺序合并
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param scan      基于原始 rowKey 的 scan
+     * @return 合并后的 scanner，需要调用方关闭
+     * @throws IOException
+     */
+    public ResultScanner queryByScan(String tableName, SaltedKeyLayout layout, Scan scan) throws IOException {
+        Assert.notNullBatch(tableName, layout, scan);
+        Assert.hasLength(tableName);
+        return openScanner(tableName, layout, scan);
+    }
+
+    /**
+     * 以流的方式扫描数据，结果按原始 rowKey 顺序合并
+     *
+     * @param tableName 表名
+     * @param layout    加盐布局
+     * @param scan      基于原始 rowKey 的 scan
+     * @return 需要在 try-with-resources 中使用的 Stream
+     * @throws IOException
+     */
+    public Stream<Result> scanStream(String tableName, SaltedKeyLayout layout, Scan scan) throws IOException {
+        Assert.notNullBatch(tableName, layout, scan);
+        Assert.hasLength(tableName);
+        return ScanStreams.stream(openScanner(tableName, layout, scan));
+    }
+
+    /**
+     * 在工作线程池中并行打开每个分桶的 scanner，默认的 scannerCaching 和 scannerMaxResultSize 按分桶数均分，
+     * 合并扫描时客户端缓存的总行数和总字节数与普通扫描相同
+     */
+    private ResultScanner openScanner(String tableName, SaltedKeyLayout layout, Scan scan) throws IOException {
+        List<Scan> bucketScans = layout.bucketScans(scan);
+        int buckets = bucketScans.size();
+        int caching = scannerCaching > 0 ? Math.max(1, (scannerCaching + buckets - 1) / buckets) : scannerCaching;
+        long maxResultSize = scannerMaxResultSize > 0 ? Math.max(1L, (scannerMaxResultSize + buckets - 1) / buckets) : scannerMaxResultSize;
+        List<Future<ResultScanner>> futures = new ArrayList<>(buckets);
+        for (Scan bucketScan : bucketScans) {
+            Scan tuned = ScanStreams.tune(bucketScan, caching, maxResultSize);
+            futures.add(workerPool.submit(() -> tablePool.getScanner(tableName, tuned)));
+        }
+        // 等待所有分桶打开完成，任一分桶失败时关闭已经打开的 scanner
+        List<ResultScanner> scanners = new ArrayList<>(buckets);
+        Throwable error = null;
+        boolean interrupted = false;
+        for (Future<ResultScanner> future : futures) {
+            while (true) {
+                try {
+                    scanners.add(future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            if (error == null) {
+                error = new InterruptedIOException("open scanners of table " + tableName + " interrupted");
+            }
+        }
+        if (error == null) {
+            return new SaltedResultScanner(scanners, scan.isReversed(), scan.getLimit());
+        }
+        logger.error("query table {} error, message:{}", tableName, error.getMessage());
+        scanners.forEach(ResultScanner::close);
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        throw new IOException(error);
+    }
+}
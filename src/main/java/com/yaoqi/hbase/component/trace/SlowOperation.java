@@ -0,0 +1,143 @@
+package com.yaoqi.hbase.component.trace;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 02:10
+ * Modified
+ * Description 一次慢调用的记录。rowKey 以 Bytes.toStringBinary 的形式保存，范围请求同时记录起止 rowKey，
+ * region、server 在导出（SlowOperationTracer.getSlowOperations、dump）时按客户端缓存的位置解析，不在调用线程中定位，
+ * 范围跨多个 region 时 region 为 起始region..结束region
+ */
+public class SlowOperation {
+
+    private final long timestamp;
+    private final String tableName;
+    private final String operation;
+    private final String startKey;
+    private final String endKey;
+    private final String region;
+    private final String server;
+    private final long batch;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedMicros;
+    private final boolean failed;
+    private final String threadName;
+    /**
+     * 用于导出时定位 region 的原始起止 rowKey
+     */
+    final byte[] startRow;
+    final byte[] endRow;
+
+    public SlowOperation(long timestamp, String tableName, String operation, String startKey, String endKey, String region,
+                         String server, long batch, long rows, long bytes, long elapsedMicros, boolean failed, String threadName) {
+        this(timestamp, tableName, operation, startKey, endKey, region, server, batch, rows, bytes, elapsedMicros, failed, threadName,
+                null, null);
+    }
+
+    SlowOperation(long timestamp, String tableName, String operation, String startKey, String endKey, String region,
+                  String server, long batch, long rows, long bytes, long elapsedMicros, boolean failed, String threadName,
+                  byte[] startRow, byte[] endRow) {
+        this.timestamp = timestamp;
+        this.tableName = tableName;
+        this.operation = operation;
+        this.startKey = startKey;
+        this.endKey = endKey;
+        this.region = region;
+        this.server = server;
+        this.batch = batch;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedMicros = elapsedMicros;
+        this.failed = failed;
+        this.threadName = threadName;
+        this.startRow = startRow;
+        this.endRow = endRow;
+    }
+
+    /**
+     * 复制一份带有位置信息的记录
+     */
+    SlowOperation located(String region, String server) {
+        return new SlowOperation(timestamp, tableName, operation, startKey, endKey, region, server, batch, rows, bytes,
+                elapsedMicros, failed, threadName, startRow, endRow);
+    }
+
+    /**
+     * @return 调用结束时间，System.currentTimeMillis()
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return 单行请求的 rowKey 或范围请求的起始 rowKey，无法确定时为 null
+     */
+    public String getStartKey() {
+        return startKey;
+    }
+
+    /**
+     * @return 范围请求的结束 rowKey，单行请求为 null
+     */
+    public String getEndKey() {
+        return endKey;
+    }
+
+    /**
+     * @return region 的 encodedName，无法定位时为 null
+     */
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * @return RegionServer 名称，无法定位时为 null
+     */
+    public String getServer() {
+        return server;
+    }
+
+    public long getBatch() {
+        return batch;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return 读写的字节数
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowOperation{timestamp=" + timestamp + ", table=" + tableName + ", operation=" + operation
+                + ", startKey=" + startKey + ", endKey=" + endKey + ", region=" + region + ", server=" + server
+                + ", batch=" + batch + ", rows=" + rows + ", bytes=" + bytes + ", elapsed=" + elapsedMicros + "us"
+                + ", failed=" + failed + ", thread=" + threadName + "}";
+    }
+}
@@ -0,0 +1,81 @@
+package com.yaoqi.hbase.component.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 02:10
+ * Modified
+ * Description 保存最近慢调用的环形缓冲，写入只有一次自增和一次数组写，不加锁，写满后覆盖最早的记录
+ */
+public class SlowOperationBuffer {
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public SlowOperationBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = slots.length() - 1;
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param operation 慢调用
+     */
+    public void add(SlowOperation operation) {
+        long seq = sequence.getAndIncrement();
+        slots.lazySet((int) (seq & mask), new Entry(seq, operation));
+    }
+
+    /**
+     * 当前缓冲中的记录，按写入顺序排列。并发写入时可能缺少正在写入的记录
+     *
+     * @return 记录
+     */
+    public List<SlowOperation> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0L, end - slots.length());
+        List<SlowOperation> operations = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            Entry entry = slots.get((int) (seq & mask));
+            // 槽位已被更新的记录覆盖或尚未写入时跳过
+            if (entry != null && entry.sequence == seq) {
+                operations.add(entry.operation);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * @return 累计写入的记录数，包括已被覆盖的
+     */
+    public long getRecorded() {
+        return sequence.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    private static final class Entry {
+        private final long sequence;
+        private final SlowOperation operation;
+
+        private Entry(long sequence, SlowOperation operation) {
+            this.sequence = sequence;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.yaoqi.hbase.component.trace;
+
+import com.yaoqi.hbase.component.batch.ConditionalMutation;
+import com.yaoqi.hbase.component.codec.RowKeyCodecRegistry;
+import com.yaoqi.hbase.component.config.ConnectionLease;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.constant.CommonConstant;
+import com.yaoqi.hbase.component.pool.TablePool;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 02:10
+ * Modified
+ * Description 慢调用记录。耗时超过阈值的调用按采样比例写入环形缓冲，只有慢调用才解析 rowKey 和定位 region，
+ * 定位使用客户端的 region 缓存；记录过程不打日志、不加锁，需要时通过 getSlowOperations() 或 JMX 的 dump 导出。
+ * MBean 名称为 com.yaoqi.hbase.component:type=SlowOperations
+ */
+@Component
+public class SlowOperationTracer implements SlowOperationTracerMBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowOperationTracer.class);
+
+    private static final String MBEAN_NAME = "com.yaoqi.hbase.component:type=SlowOperations";
+
+    /**
+     * 以 String 传入 rowKey 的方法及 rowKey 参数的位置，其余方法按参数类型确定 rowKey
+     */
+    private static final Map<String, Integer> ROW_NAME_PARAMETERS = new HashMap<>();
+
+    static {
+        ROW_NAME_PARAMETERS.put("put", 1);
+        ROW_NAME_PARAMETERS.put("delete", 1);
+        ROW_NAME_PARAMETERS.put("deleteColumn", 2);
+    }
+
+    @Autowired
+    private HBaseConfig hBaseConfig;
+
+    @Autowired
+    private TablePool tablePool;
+
+    /**
+     * 方法到 rowKey 参数位置的缓存，-1 表示没有 rowKey 参数
+     */
+    private final ConcurrentHashMap<Method, Integer> keyParameters = new ConcurrentHashMap<>();
+    private SlowOperationBuffer buffer;
+    private boolean enabled;
+    private volatile long thresholdNanos;
+    private volatile int samplePercent;
+    private ObjectName objectName;
+
+    @PostConstruct
+    private void init() {
+        long threshold = hBaseConfig.getLongConfig(CommonConstant.SLOW_OPERATION_THRESHOLD, CommonConstant.DEFAULT_SLOW_OPERATION_THRESHOLD);
+        int bufferSize = hBaseConfig.getIntConfig(CommonConstant.SLOW_OPERATION_BUFFER_SIZE, CommonConstant.DEFAULT_SLOW_OPERATION_BUFFER_SIZE);
+        enabled = threshold > 0;
+        setThresholdMillis(threshold);
+        setSamplePercent(hBaseConfig.getIntConfig(CommonConstant.SLOW_OPERATION_SAMPLE_PERCENT, CommonConstant.DEFAULT_SLOW_OPERATION_SAMPLE_PERCENT));
+        buffer = new SlowOperationBuffer(Math.max(1, Math.min(bufferSize, CommonConstant.MAX_SLOW_OPERATION_BUFFER_SIZE)));
+        logger.info("hbase slow operation threshold : {}ms, sample : {}%, buffer : {}", threshold, samplePercent, buffer.getCapacity());
+        if (enabled) {
+            register();
+        }
+    }
+
+    /**
+     * @return 启动时阈值大于 0 时为 true，为 false 时调用不会经过记录慢调用的代理
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 调用结束时调用，未超过阈值时直接返回
+     *
+     * @param tableName  表名
+     * @param operation  操作名
+     * @param method     调用的方法
+     * @param args       调用参数
+     * @param startNanos 开始时间，System.nanoTime()
+     * @param endNanos   结束时间，System.nanoTime()
+     * @param batch      请求条数
+     * @param rows       读到或写入的行数
+     * @param bytes      读写的字节数
+     * @param failed     是否失败
+     */
+    public void trace(String tableName, String operation, Method method, Object[] args, long startNanos, long endNanos,
+                      long batch, long rows, long bytes, boolean failed) {
+        long threshold = thresholdNanos;
+        if (threshold <= 0 || endNanos - startNanos < threshold) {
+            return;
+        }
+        int percent = samplePercent;
+        if (percent < 100 && ThreadLocalRandom.current().nextInt(100) >= percent) {
+            return;
+        }
+        byte[][] range = keyRangeOf(argumentOf(method, args));
+        // 定位 region 在缓存未命中时会查询 meta 表，推迟到导出时进行，不阻塞调用线程
+        buffer.add(new SlowOperation(System.currentTimeMillis(), tableName, operation,
+                range == null ? null : Bytes.toStringBinary(range[0]),
+                range == null || range[1] == null ? null : Bytes.toStringBinary(range[1]),
+                null, null, batch, rows, bytes, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos),
+                failed, Thread.currentThread().getName(), range == null ? null : range[0], range == null ? null : range[1]));
+    }
+
+    /**
+     * 缓冲中的慢调用，按发生顺序排列，导出时定位 rowKey 所在的 region 和 RegionServer
+     *
+     * @return 慢调用
+     */
+    public List<SlowOperation> getSlowOperations() {
+        return locate(buffer.snapshot());
+    }
+
+    @Override
+    public String[] dump() {
+        return getSlowOperations().stream().map(SlowOperation::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    @Override
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, thresholdMillis));
+    }
+
+    @Override
+    public int getSamplePercent() {
+        return samplePercent;
+    }
+
+    @Override
+    public void setSamplePercent(int samplePercent) {
+        this.samplePercent = Math.max(0, Math.min(samplePercent, 100));
+    }
+
+    @Override
+    public long getRecorded() {
+        return buffer.getRecorded();
+    }
+
+    @Override
+    public int getCapacity() {
+        return buffer.getCapacity();
+    }
+
+    private Object argumentOf(Method method, Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        int index = keyParameters.computeIfAbsent(method, SlowOperationTracer::keyParameterOf);
+        return index < 0 || index >= args.length ? null : args[index];
+    }
+
+    /**
+     * 确定 rowKey 参数的位置：Get、Put、Scan 等请求对象或其集合、泛型 rowKey、rowKey 集合，以及以 String 传入 rowKey 的方法
+     */
+    static int keyParameterOf(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        for (int i = 1; i < types.length; i++) {
+            if (Row.class.isAssignableFrom(types[i]) || Scan.class.isAssignableFrom(types[i])
+                    || ConditionalMutation.class.isAssignableFrom(types[i]) || genericTypes[i] instanceof TypeVariable) {
+                return i;
+            }
+            if (Collection.class.isAssignableFrom(types[i]) && genericTypes[i] instanceof ParameterizedType) {
+                Type element = ((ParameterizedType) genericTypes[i]).getActualTypeArguments()[0];
+                if (element instanceof WildcardType || element instanceof Class
+                        && (Row.class.isAssignableFrom((Class<?>) element) || ConditionalMutation.class.isAssignableFrom((Class<?>) element))) {
+                    return i;
+                }
+            }
+        }
+        Integer index = ROW_NAME_PARAMETERS.get(method.getName());
+        return index != null && index < types.length && types[index] == String.class ? index : -1;
+    }
+
+    /**
+     * 解析参数中的 rowKey
+     *
+     * @param arg 参数
+     * @return [起始rowKey, 结束rowKey]，单行请求结束 rowKey 为 null，无法解析时返回 null
+     */
+    static byte[][] keyRangeOf(Object arg) {
+        if (arg == null) {
+            return null;
+        }
+        if (arg instanceof Scan) {
+            Scan scan = (Scan) arg;
+            byte[] stopRow = scan.getStopRow();
+            return new byte[][]{scan.getStartRow(), stopRow == null || stopRow.length == 0 ? null : stopRow};
+        }
+        if (arg instanceof Collection) {
+            byte[] min = null;
+            byte[] max = null;
+            for (Object item : (Collection<?>) arg) {
+                byte[] row = rowOf(item);
+                if (row == null) {
+                    return null;
+                }
+                if (min == null || Bytes.compareTo(row, min) < 0) {
+                    min = row;
+                }
+                if (max == null || Bytes.compareTo(row, max) > 0) {
+                    max = row;
+                }
+            }
+            return min == null ? null : new byte[][]{min, Bytes.equals(min, max) ? null : max};
+        }
+        byte[] row = rowOf(arg);
+        return row == null ? null : new byte[][]{row, null};
+    }
+
+    private static byte[] rowOf(Object item) {
+        if (item instanceof Row) {
+            return ((Row) item).getRow();
+        }
+        if (item instanceof ConditionalMutation) {
+            return ((ConditionalMutation) item).getRow();
+        }
+        try {
+            return item == null ? null : RowKeyCodecRegistry.encode(item);
+        } catch (RuntimeException e) {
+            // 没有注册编解码器的类型不记录 rowKey
+            return null;
+        }
+    }
+
+    /**
+     * 定位起止 rowKey 所在的 region 和 RegionServer，同一张表共用一个 RegionLocator
+     *
+     * @param operations 缓冲中的慢调用
+     * @return 带有位置信息的慢调用，定位失败时 region、server 为 null
+     */
+    private List<SlowOperation> locate(List<SlowOperation> operations) {
+        if (tablePool == null || operations.stream().allMatch(operation -> operation.startRow == null)) {
+            return operations;
+        }
+        List<SlowOperation> located = new ArrayList<>(operations.size());
+        Map<String, RegionLocator> locators = new HashMap<>();
+        try (ConnectionLease lease = tablePool.acquire()) {
+            for (SlowOperation operation : operations) {
+                located.add(operation.startRow == null ? operation : locate(lease, locators, operation));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("locate slow operation region error, message:{}", e.getMessage());
+            return operations;
+        } finally {
+            locators.values().forEach(SlowOperationTracer::closeQuietly);
+        }
+        return located;
+    }
+
+    private SlowOperation locate(ConnectionLease lease, Map<String, RegionLocator> locators, SlowOperation operation) {
+        try {
+            RegionLocator locator = locators.get(operation.getTableName());
+            if (locator == null) {
+                locator = lease.getConnection().getRegionLocator(TableName.valueOf(operation.getTableName()));
+                locators.put(operation.getTableName(), locator);
+            }
+            HRegionLocation start = locator.getRegionLocation(operation.startRow);
+            HRegionLocation end = operation.endRow == null ? start : locator.getRegionLocation(operation.endRow);
+            return operation.located(join(regionOf(start), regionOf(end)), join(serverOf(start), serverOf(end)));
+        } catch (IOException | RuntimeException e) {
+            // 表已删除等定位失败的记录不带位置信息
+            logger.debug("locate slow operation region error, table:{}, message:{}", operation.getTableName(), e.getMessage());
+            return operation;
+        }
+    }
+
+    private static void closeQuietly(RegionLocator locator) {
+        try {
+            locator.close();
+        } catch (IOException e) {
+            logger.debug("close region locator error, message:{}", e.getMessage());
+        }
+    }
+
+    private static String regionOf(HRegionLocation location) {
+        return location == null || location.getRegion() == null ? null : location.getRegion().getEncodedName();
+    }
+
+    private static String serverOf(HRegionLocation location) {
+        return location == null || location.getServerName() == null ? null : location.getServerName().getServerName();
+    }
+
+    private static String join(String start, String end) {
+        return start == null || end == null || start.equals(end) ? start : start + ".." + end;
+    }
+
+    private void register() {
+        try {
+            objectName = new ObjectName(MBEAN_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            } else {
+                objectName = null;
+            }
+        } catch (JMException e) {
+            objectName = null;
+            logger.warn("register slow operation mbean error, message:{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 注销 MBean，应用关闭时自动调用
+     */
+    @PreDestroy
+    public void close() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            logger.warn("unregister slow operation mbean error, message:{}", e.getMessage());
+        }
+        objectName = null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.yaoqi.hbase.component.trace;
+
+/**
+ * @author YaoQi
+ * Date 2026/10/19 02:10
+ * Modified
+ * Description 慢调用记录的 JMX 接口，阈值和采样比例可以在运行时调整
+ */
+public interface SlowOperationTracerMBean {
+
+    long getThresholdMillis();
+
+    void setThresholdMillis(long thresholdMillis);
+
+    int getSamplePercent();
+
+    void setSamplePercent(int samplePercent);
+
+    long getRecorded();
+
+    int getCapacity();
+
+    /**
+     * 导出缓冲中的慢调用，按发生顺序排列
+     *
+     * @return 每条慢调用一行
+     */
+    String[] dump();
+}
@@ -0,0 +1,70 @@
+package com.yaoqi.hbase.component.batch;
+
+import org.apache.hadoop.hbase.CompareOperator;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 00:20
+ * @Modified
+ * @Description
+ */
+public class ConditionalMutationTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private final Table.CheckAndMutateBuilder builder = (Table.CheckAndMutateBuilder) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class[]{Table.CheckAndMutateBuilder.class}, (proxy, method, args) -> {
+                calls.add(method.getName());
+                return method.getName().startsWith("then") ? Boolean.TRUE : proxy;
+            });
+
+    private final Table table = (Table) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class[]{Table.class}, (proxy, method, args) -> {
+                calls.add(method.getName() + ":" + Bytes.toString((byte[]) args[0]));
+                return builder;
+            });
+
+    @Test
+    public void applyIfNotExists() throws IOException {
+        Put put = new Put(Bytes.toBytes("r1")).addColumn(Bytes.toBytes("f"), Bytes.toBytes("v"), Bytes.toBytes(1L));
+        Assert.assertTrue(ConditionalMutation.check("f", "v").ifEquals(null).thenPut(put).apply(table));
+        Assert.assertEquals("[checkAndMutate:r1, qualifier, ifNotExists, thenPut]", calls.toString());
+    }
+
+    @Test
+    public void applyIfMatches() throws IOException {
+        ConditionalMutation mutation = ConditionalMutation.check("f", "v")
+                .ifMatches(CompareOperator.GREATER, Bytes.toBytes(2L))
+                .thenDelete(new Delete(Bytes.toBytes("r2")));
+        Assert.assertArrayEquals(Bytes.toBytes("r2"), mutation.getRow());
+        Assert.assertTrue(mutation.apply(table));
+        Assert.assertEquals("[checkAndMutate:r2, qualifier, ifMatches, thenDelete]", calls.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectMissingAction() {
+        ConditionalMutation.check("f", "v").ifNotExists().getRow();
+    }
+
+    @Test
+    public void batchResultCounts() {
+        ConditionalBatchResult result = new ConditionalBatchResult(new boolean[]{true, false, false},
+                new Throwable[]{null, null, new IOException("region moved")});
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(1, result.getAppliedCount());
+        Assert.assertEquals(1, result.getRejectedCount());
+        Assert.assertEquals(1, result.getFailedCount());
+        Assert.assertNull(result.getError(1));
+    }
+}
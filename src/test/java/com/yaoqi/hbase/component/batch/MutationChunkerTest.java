@@ -0,0 +1,51 @@
+package com.yaoqi.hbase.component.batch;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 14:20
+ * @Modified
+ * @Description
+ */
+public class MutationChunkerTest {
+
+    @Test
+    public void chunkByCount() {
+        List<List<Put>> chunks = MutationChunker.chunk(puts(10, 8), 4, Long.MAX_VALUE);
+        Assert.assertEquals(3, chunks.size());
+        Assert.assertEquals(4, chunks.get(0).size());
+        Assert.assertEquals(2, chunks.get(2).size());
+    }
+
+    @Test
+    public void chunkByHeapSize() {
+        List<Put> putList = puts(6, 1024);
+        long heapSize = putList.get(0).heapSize();
+        List<List<Put>> chunks = MutationChunker.chunk(putList, Integer.MAX_VALUE, heapSize * 2);
+        Assert.assertEquals(3, chunks.size());
+        chunks.forEach(chunk -> Assert.assertEquals(2, chunk.size()));
+    }
+
+    @Test
+    public void oversizedMutationTakesOwnChunk() {
+        List<List<Put>> chunks = MutationChunker.chunk(puts(3, 1024), 100, 1L);
+        Assert.assertEquals(3, chunks.size());
+    }
+
+    private List<Put> puts(int count, int valueSize) {
+        List<Put> putList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Put put = new Put(Bytes.toBytes(String.format("row-%04d", i)));
+            put.addColumn(Bytes.toBytes("CF1"), Bytes.toBytes("col1"), new byte[valueSize]);
+            putList.add(put);
+        }
+        return putList;
+    }
+}
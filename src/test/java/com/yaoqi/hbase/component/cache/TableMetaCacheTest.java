@@ -0,0 +1,80 @@
+package com.yaoqi.hbase.component.cache;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 16:10
+ * @Modified
+ * @Description
+ */
+public class TableMetaCacheTest {
+
+    private TableMetaCache cache(String negativeTtl) {
+        Map<String, String> config = new HashMap<>();
+        config.put("tableCacheNegativeTtl", negativeTtl);
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        hBaseConfig.setConfig(config);
+        TableMetaCache cache = new TableMetaCache();
+        ReflectionTestUtils.setField(cache, "hBaseConfig", hBaseConfig);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    @Test
+    public void negativeResultNotCachedWhenDisabled() throws IOException {
+        TableMetaCache cache = cache("0");
+        cache.put("orders", true);
+        Assert.assertEquals(Boolean.TRUE, cache.get("orders"));
+        cache.put("orders", false);
+        Assert.assertNull(cache.get("orders"));
+
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertFalse(cache.load("orders", () -> loads.incrementAndGet() < 0));
+        Assert.assertFalse(cache.load("orders", () -> loads.incrementAndGet() < 0));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void concurrentLoadsShareOneQuery() {
+        TableMetaCache cache = cache("5");
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        CompletableFuture<Boolean> first = cache.loadAsync("orders", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<Boolean> second = cache.loadAsync("orders", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(false);
+        });
+        Assert.assertSame(first, second);
+        pending.complete(true);
+        Assert.assertTrue(second.join());
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(Boolean.TRUE, cache.get("orders"));
+    }
+
+    @Test
+    public void failedLoadIsNotShared() {
+        TableMetaCache cache = cache("5");
+        try {
+            cache.load("orders", () -> {
+                throw new IOException("master unavailable");
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("master unavailable", e.getMessage());
+        }
+        Assert.assertTrue(cache.loadAsync("orders", () -> CompletableFuture.completedFuture(true)).join());
+    }
+}
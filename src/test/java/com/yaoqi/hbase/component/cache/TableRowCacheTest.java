@@ -0,0 +1,106 @@
+package com.yaoqi.hbase.component.cache;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 21:55
+ * @Modified
+ * @Description
+ */
+public class TableRowCacheTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    private final AtomicLong now = new AtomicLong(1000L);
+
+    @Test
+    public void packRoundTrip() {
+        Result result = row("r1", "a", "b");
+        Result unpacked = PackedCells.unpack(PackedCells.pack(result));
+        Assert.assertEquals(2, unpacked.size());
+        Assert.assertArrayEquals(Bytes.toBytes("r1"), unpacked.getRow());
+        Assert.assertArrayEquals(Bytes.toBytes("value-b"), unpacked.getValue(FAMILY, Bytes.toBytes("b")));
+        Assert.assertTrue(PackedCells.unpack(PackedCells.pack(Result.EMPTY_RESULT)).isEmpty());
+    }
+
+    @Test
+    public void expireAfterTtl() {
+        TableRowCache cache = new TableRowCache(1 << 20, 100L, 1, now::get);
+        byte[] row = Bytes.toBytes("r1");
+        Assert.assertTrue(cache.put(row, row("r1", "a"), cache.stamp(row)));
+        Assert.assertNotNull(cache.get(row));
+        now.addAndGet(101L);
+        Assert.assertNull(cache.get(row));
+        RowCacheStats stats = cache.getStats();
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getExpiredCount());
+        Assert.assertEquals(0, stats.getEntryCount());
+        Assert.assertEquals(0, stats.getByteSize());
+    }
+
+    @Test
+    public void skipFillWhileWritePending() {
+        TableRowCache cache = new TableRowCache(1 << 20, 10000L, 1, now::get);
+        byte[] row = Bytes.toBytes("r1");
+        cache.beginWrite(row);
+        cache.beginWrite(row);
+        // 缓冲写入提交前读到的是旧值，不能填充
+        Assert.assertFalse(cache.put(row, row("r1", "a"), cache.stamp(row)));
+        long stamp = cache.stamp(row);
+        cache.endWrite(row);
+        // 提交完成前开始的查询同样不能填充
+        Assert.assertFalse(cache.put(row, row("r1", "a"), stamp));
+        Assert.assertFalse(cache.put(row, row("r1", "a"), cache.stamp(row)));
+        cache.endWrite(row);
+        Assert.assertTrue(cache.put(row, row("r1", "a"), cache.stamp(row)));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        Result sample = row("r0", "a");
+        long weight = TableRowCache.ENTRY_OVERHEAD + 2 + PackedCells.pack(sample).length;
+        TableRowCache cache = new TableRowCache(weight * 2, 10000L, 1, now::get);
+        byte[] r0 = Bytes.toBytes("r0");
+        byte[] r1 = Bytes.toBytes("r1");
+        byte[] r2 = Bytes.toBytes("r2");
+        cache.put(r0, row("r0", "a"), cache.stamp(r0));
+        cache.put(r1, row("r1", "a"), cache.stamp(r1));
+        // 访问 r0 后 r1 成为最久未访问的行
+        Assert.assertNotNull(cache.get(r0));
+        cache.put(r2, row("r2", "a"), cache.stamp(r2));
+        Assert.assertNotNull(cache.get(r0));
+        Assert.assertNull(cache.get(r1));
+        Assert.assertNotNull(cache.get(r2));
+        Assert.assertEquals(1, cache.getStats().getEvictionCount());
+        Assert.assertTrue(cache.getStats().getByteSize() <= weight * 2);
+    }
+
+    @Test
+    public void skipFillAfterConcurrentInvalidation() {
+        TableRowCache cache = new TableRowCache(1 << 20, 10000L, 1, now::get);
+        byte[] row = Bytes.toBytes("r1");
+        long stamp = cache.stamp(row);
+        // 查询期间发生写入
+        cache.invalidate(row);
+        Assert.assertFalse(cache.put(row, row("r1", "a"), stamp));
+        Assert.assertNull(cache.get(row));
+        Assert.assertTrue(cache.put(row, row("r1", "a"), cache.stamp(row)));
+        Assert.assertNotNull(cache.get(row));
+    }
+
+    private static Result row(String row, String... qualifiers) {
+        Cell[] cells = new Cell[qualifiers.length];
+        for (int i = 0; i < qualifiers.length; i++) {
+            cells[i] = new KeyValue(Bytes.toBytes(row), FAMILY, Bytes.toBytes(qualifiers[i]), 1L, Bytes.toBytes("value-" + qualifiers[i]));
+        }
+        return Result.create(cells);
+    }
+}
@@ -0,0 +1,62 @@
+package com.yaoqi.hbase.component.codec;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.UUID;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 18:40
+ * @Modified
+ * @Description
+ */
+public class RowKeyCodecTest {
+
+    @Test
+    public void encodeCompatibleWithBytes() {
+        Assert.assertArrayEquals(Bytes.toBytes("row1"), RowKeyCodecRegistry.encode("row1"));
+        Assert.assertArrayEquals(Bytes.toBytes(12L), RowKeyCodecRegistry.encode(12L));
+        Assert.assertArrayEquals(Bytes.toBytes(12), RowKeyCodecRegistry.encode(12));
+        Assert.assertArrayEquals(Bytes.toBytes(1.5d), RowKeyCodecRegistry.encode(1.5d));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedType() {
+        RowKeyCodecRegistry.encode(new Object());
+    }
+
+    @Test
+    public void orderedCodecKeepsOrder() {
+        long[] longs = {Long.MIN_VALUE, -100L, -1L, 0L, 1L, 100L, Long.MAX_VALUE};
+        for (int i = 1; i < longs.length; i++) {
+            Assert.assertTrue(Bytes.compareTo(RowKeyCodecs.ORDERED_LONG.encode(longs[i - 1]),
+                    RowKeyCodecs.ORDERED_LONG.encode(longs[i])) < 0);
+            Assert.assertEquals(longs[i], RowKeyCodecs.ORDERED_LONG.decode(RowKeyCodecs.ORDERED_LONG.encode(longs[i])).longValue());
+        }
+        double[] doubles = {Double.NEGATIVE_INFINITY, -2.5d, -0.1d, 0d, 0.1d, 2.5d, Double.POSITIVE_INFINITY};
+        for (int i = 1; i < doubles.length; i++) {
+            Assert.assertTrue(Bytes.compareTo(RowKeyCodecs.ORDERED_DOUBLE.encode(doubles[i - 1]),
+                    RowKeyCodecs.ORDERED_DOUBLE.encode(doubles[i])) < 0);
+            Assert.assertEquals(doubles[i], RowKeyCodecs.ORDERED_DOUBLE.decode(RowKeyCodecs.ORDERED_DOUBLE.encode(doubles[i])), 0d);
+        }
+    }
+
+    @Test
+    public void compositeRoundTrip() {
+        UUID uuid = UUID.randomUUID();
+        CompositeRowKeyCodec codec = new CompositeRowKeyCodec(RowKeyCodecs.ORDERED_INTEGER, RowKeyCodecs.UUID_CODEC, RowKeyCodecs.STRING);
+        byte[] rowKey = codec.encode(new Object[]{-3, uuid, "user"});
+        Object[] parts = codec.decode(rowKey);
+        Assert.assertEquals(-3, parts[0]);
+        Assert.assertEquals(uuid, parts[1]);
+        Assert.assertEquals("user", parts[2]);
+        Assert.assertArrayEquals(Bytes.add(Bytes.toBytes(7), Bytes.toBytes("a")), RowKeyCodecRegistry.encode(new Object[]{7, "a"}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void variableLengthPartMustBeLast() {
+        new CompositeRowKeyCodec(RowKeyCodecs.STRING, RowKeyCodecs.LONG);
+    }
+}
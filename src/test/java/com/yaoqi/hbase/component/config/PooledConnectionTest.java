@@ -0,0 +1,117 @@
+package com.yaoqi.hbase.component.config;
+
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.apache.hadoop.hbase.client.Connection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 21:20
+ * @Modified
+ * @Description
+ */
+public class PooledConnectionTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class[]{Connection.class}, (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    closed.incrementAndGet();
+                }
+                return null;
+            });
+
+    @Test
+    public void closeAfterLastLeaseReleased() {
+        PooledConnection pooledConnection = new PooledConnection(0, connection, null);
+        ConnectionLease first = new ConnectionLease(acquire(pooledConnection));
+        ConnectionLease second = new ConnectionLease(acquire(pooledConnection));
+        Assert.assertEquals(2, pooledConnection.getInFlight());
+
+        pooledConnection.retire();
+        Assert.assertEquals(0, closed.get());
+        first.close();
+        first.close();
+        Assert.assertEquals(0, closed.get());
+        second.close();
+        Assert.assertEquals(1, closed.get());
+        Assert.assertTrue(pooledConnection.isClosed());
+        Assert.assertFalse(pooledConnection.tryAcquire());
+    }
+
+    @Test
+    public void refuseLeaseAfterRetire() {
+        PooledConnection pooledConnection = new PooledConnection(0, connection, null);
+        ConnectionLease lease = new ConnectionLease(acquire(pooledConnection));
+        pooledConnection.retire();
+        Assert.assertFalse(pooledConnection.tryAcquire());
+        Assert.assertEquals(1, pooledConnection.getInFlight());
+        lease.close();
+        Assert.assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void closeImmediatelyWhenIdle() {
+        PooledConnection pooledConnection = new PooledConnection(0, connection, null);
+        pooledConnection.retire();
+        Assert.assertEquals(1, closed.get());
+        Assert.assertFalse(pooledConnection.forceClose());
+    }
+
+    @Test
+    public void forceCloseIgnoresLateRelease() {
+        PooledConnection pooledConnection = new PooledConnection(0, connection, null);
+        ConnectionLease lease = new ConnectionLease(acquire(pooledConnection));
+        pooledConnection.retire();
+        Assert.assertTrue(pooledConnection.forceClose());
+        lease.close();
+        Assert.assertEquals(1, closed.get());
+        Assert.assertEquals(0, pooledConnection.getInFlight());
+    }
+
+    @Test
+    public void asyncConnectionDrainsBeforeClose() {
+        AsyncConnection asyncConnection = (AsyncConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{AsyncConnection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        closed.incrementAndGet();
+                    }
+                    return null;
+                });
+        PooledAsyncConnection pooledAsyncConnection = new PooledAsyncConnection(asyncConnection);
+        Assert.assertTrue(pooledAsyncConnection.tryAcquire());
+        AsyncConnectionLease lease = new AsyncConnectionLease(pooledAsyncConnection);
+        pooledAsyncConnection.retire();
+        Assert.assertEquals(0, closed.get());
+        lease.close();
+        lease.close();
+        Assert.assertEquals(1, closed.get());
+        Assert.assertFalse(pooledAsyncConnection.forceClose());
+    }
+
+    @Test
+    public void configCloseClosesPool() {
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        PooledConnection leased = new PooledConnection(0, connection, null);
+        ConnectionLease lease = new ConnectionLease(acquire(leased));
+        ReflectionTestUtils.setField(hBaseConfig, "connections", new PooledConnection[]{leased, null, new PooledConnection(2, connection, null)});
+        hBaseConfig.close();
+        Assert.assertEquals(2, closed.get());
+        Assert.assertTrue(leased.isClosed());
+        Assert.assertNull(hBaseConfig.getConnection());
+        Assert.assertNull(hBaseConfig.acquireConnection());
+        lease.close();
+        Assert.assertEquals(2, closed.get());
+    }
+
+    private static PooledConnection acquire(PooledConnection pooledConnection) {
+        Assert.assertTrue(pooledConnection.tryAcquire());
+        return pooledConnection;
+    }
+}
@@ -0,0 +1,111 @@
+package com.yaoqi.hbase.component.mapper;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 23:10
+ * @Modified
+ * @Description
+ */
+public class EntityMetadataTest {
+
+    @Test
+    public void roundTrip() {
+        EntityMetadata<User> metadata = EntityMetadata.of(User.class);
+        Assert.assertEquals("user", metadata.getTableName());
+        Assert.assertEquals(2, metadata.getFamilies().length);
+
+        User user = new User();
+        user.id = 42L;
+        user.name = "yaoqi";
+        user.age = 30;
+        user.active = true;
+        user.createdBy = "admin";
+        Put put = metadata.toPut(user);
+        Assert.assertArrayEquals(Bytes.toBytes(42L), put.getRow());
+        // email 为 null，不写入
+        Assert.assertEquals(4, put.size());
+
+        User decoded = metadata.fromResult(toResult(put));
+        Assert.assertEquals(Long.valueOf(42L), decoded.id);
+        Assert.assertEquals("yaoqi", decoded.name);
+        Assert.assertEquals(30, decoded.age);
+        Assert.assertTrue(decoded.active);
+        Assert.assertNull(decoded.email);
+        Assert.assertEquals("admin", decoded.createdBy);
+    }
+
+    @Test
+    public void skipUnmappedCellsAndOlderVersions() {
+        EntityMetadata<User> metadata = EntityMetadata.of(User.class);
+        byte[] row = Bytes.toBytes(7L);
+        List<Cell> cells = new ArrayList<>();
+        cells.add(new KeyValue(row, Bytes.toBytes("base"), Bytes.toBytes("age"), 2L, Bytes.toBytes(20)));
+        cells.add(new KeyValue(row, Bytes.toBytes("base"), Bytes.toBytes("age"), 1L, Bytes.toBytes(10)));
+        cells.add(new KeyValue(row, Bytes.toBytes("base"), Bytes.toBytes("unknown"), 1L, Bytes.toBytes("x")));
+        cells.add(new KeyValue(row, Bytes.toBytes("other"), Bytes.toBytes("a"), 1L, Bytes.toBytes("x")));
+        cells.add(new KeyValue(row, Bytes.toBytes("z"), Bytes.toBytes("created_by"), 1L, Bytes.toBytes("root")));
+        cells.sort(CellComparator.getInstance());
+        User decoded = metadata.fromResult(Result.create(cells));
+        Assert.assertEquals(Long.valueOf(7L), decoded.id);
+        Assert.assertEquals(20, decoded.age);
+        Assert.assertNull(decoded.name);
+        Assert.assertEquals("root", decoded.createdBy);
+        Assert.assertNull(metadata.fromResult(Result.EMPTY_RESULT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectEntityWithoutRowKey() {
+        EntityMetadata.of(NoRowKey.class);
+    }
+
+    private static Result toResult(Put put) {
+        List<Cell> cells = new ArrayList<>();
+        put.getFamilyCellMap().values().forEach(cells::addAll);
+        cells.sort(CellComparator.getInstance());
+        return Result.create(cells);
+    }
+
+    static class Audited {
+        @Column(family = "z", qualifier = "created_by")
+        String createdBy;
+    }
+
+    @Table(name = "user")
+    static class User extends Audited {
+        @RowKey
+        Long id;
+
+        @Column(family = "base")
+        String name;
+
+        @Column(family = "base")
+        int age;
+
+        @Column(family = "base", qualifier = "is_active")
+        boolean active;
+
+        @Column(family = "base")
+        String email;
+
+        private User() {
+        }
+    }
+
+    @Table(name = "bad")
+    static class NoRowKey {
+        @Column(family = "f")
+        String name;
+    }
+}
@@ -0,0 +1,45 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.cache.TableRowCache;
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 14:25
+ * @Modified
+ * @Description
+ */
+public class HBaseMetricsTest {
+
+    @Test
+    public void registerRowCache() throws Exception {
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        hBaseConfig.setConfig(new HashMap<>());
+        HBaseMetrics metrics = new HBaseMetrics();
+        ReflectionTestUtils.setField(metrics, "hBaseConfig", hBaseConfig);
+        ReflectionTestUtils.invokeMethod(metrics, "init");
+
+        TableRowCache cache = new TableRowCache(1 << 20, 1000L);
+        cache.get(Bytes.toBytes("r1"));
+        metrics.registerRowCache("user_profile", cache);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.yaoqi.hbase.component:type=RowCache,table=" + ObjectName.quote("user_profile"));
+        try {
+            Assert.assertEquals(1L, server.getAttribute(name, "MissCount"));
+            Assert.assertEquals(0.0, (Double) server.getAttribute(name, "HitRate"), 0.0);
+            Assert.assertEquals(0L, server.getAttribute(name, "EvictionCount"));
+        } finally {
+            metrics.close();
+        }
+        Assert.assertFalse(server.isRegistered(name));
+    }
+}
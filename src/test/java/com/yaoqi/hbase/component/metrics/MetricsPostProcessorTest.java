@@ -0,0 +1,44 @@
+package com.yaoqi.hbase.component.metrics;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import com.yaoqi.hbase.component.template.HBaseTemplate;
+import com.yaoqi.hbase.component.trace.SlowOperationTracer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 01:20
+ * @Modified
+ * @Description
+ */
+public class MetricsPostProcessorTest {
+
+    @Test
+    public void proxyKeepsImplementationType() {
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        hBaseConfig.setConfig(new HashMap<>());
+        HBaseMetrics metrics = new HBaseMetrics();
+        ReflectionTestUtils.setField(metrics, "hBaseConfig", hBaseConfig);
+        ReflectionTestUtils.invokeMethod(metrics, "init");
+        MetricsPostProcessor processor = new MetricsPostProcessor();
+        ReflectionTestUtils.setField(processor, "metricsFactory", (ObjectFactory<HBaseMetrics>) () -> metrics);
+        ReflectionTestUtils.setField(processor, "tracerFactory", (ObjectFactory<SlowOperationTracer>) SlowOperationTracer::new);
+
+        HBaseTemplate template = new HBaseTemplate();
+        Object proxy = processor.postProcessAfterInitialization(template, "hBaseTemplate");
+        Assert.assertNotSame(template, proxy);
+        Assert.assertTrue(proxy instanceof HBaseTemplate);
+        try {
+            // 未注入依赖的 HBaseTemplate 调用失败，同样记为一次失败的调用
+            ((HBaseTemplate) proxy).tableExists("orders");
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertEquals(1L, metrics.get("orders", "tableExists").getFailures());
+        }
+    }
+}
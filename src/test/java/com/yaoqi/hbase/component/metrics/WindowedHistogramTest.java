@@ -0,0 +1,58 @@
+package com.yaoqi.hbase.component.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 01:10
+ * @Modified
+ * @Description
+ */
+public class WindowedHistogramTest {
+
+    private static final long WINDOW = 1000L;
+
+    @Test
+    public void bucketBoundsCoverValues() {
+        for (long value : new long[]{0, 1, 3, 4, 5, 7, 8, 100, 1023, 1024, 123456789L, (1L << 48) - 1}) {
+            int bucket = WindowedHistogram.bucketOf(value);
+            Assert.assertTrue(value <= WindowedHistogram.upperBoundOf(bucket));
+            if (bucket > 0) {
+                Assert.assertTrue(value > WindowedHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void quantilesWithinBucketError() {
+        WindowedHistogram histogram = new WindowedHistogram(WINDOW, 0L);
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value, 0L);
+        }
+        WindowedHistogram.Snapshot snapshot = histogram.snapshot(0L);
+        Assert.assertEquals(1000, snapshot.getCount());
+        Assert.assertEquals(500.5D, snapshot.getMean(), 0.001D);
+        Assert.assertEquals(1000, snapshot.getMax());
+        assertNear(500, snapshot.getValue(0.5));
+        assertNear(990, snapshot.getValue(0.99));
+        Assert.assertEquals(1000, snapshot.getValue(1D));
+    }
+
+    @Test
+    public void snapshotUsesLastCompleteWindow() {
+        WindowedHistogram histogram = new WindowedHistogram(WINDOW, 0L);
+        histogram.record(10, 0L);
+        histogram.record(2000, WINDOW);
+        WindowedHistogram.Snapshot snapshot = histogram.snapshot(WINDOW + 1);
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(10, snapshot.getMax());
+
+        // 中间空了一个窗口，不再返回更早的数据
+        Assert.assertEquals(0, histogram.snapshot(4 * WINDOW).getCount());
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertTrue("expected ~" + expected + " but was " + actual, actual >= expected && actual <= expected * 1.25D);
+    }
+}
@@ -0,0 +1,95 @@
+package com.yaoqi.hbase.component.mutator;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 23:55
+ * @Modified
+ * @Description
+ */
+public class IncrementBufferTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    @Test
+    public void mergeDeltasPerRow() {
+        IncrementBuffer buffer = new IncrementBuffer();
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), 1L);
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), 2L);
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("b"), 5L);
+        Assert.assertEquals(3, buffer.add(Bytes.toBytes("r2"), FAMILY, Bytes.toBytes("a"), -1L));
+
+        List<Increment> increments = buffer.drain();
+        Assert.assertEquals(2, increments.size());
+        Increment r1 = find(increments, "r1");
+        Assert.assertEquals(2, r1.getFamilyCellMap().get(FAMILY).size());
+        Assert.assertEquals(3L, delta(r1, "a"));
+        Assert.assertEquals(5L, delta(r1, "b"));
+        Assert.assertEquals(-1L, delta(find(increments, "r2"), "a"));
+        Assert.assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void skipZeroAndKeepLaterDeltas() {
+        IncrementBuffer buffer = new IncrementBuffer();
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), 1L);
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), -1L);
+        Assert.assertTrue(buffer.drain().isEmpty());
+
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), 4L);
+        Assert.assertEquals(1, buffer.drain().size());
+        buffer.add(Bytes.toBytes("r1"), FAMILY, Bytes.toBytes("a"), 6L);
+        List<Increment> increments = buffer.drain();
+        Assert.assertEquals(1, increments.size());
+        Assert.assertEquals(6L, delta(increments.get(0), "a"));
+    }
+
+    @Test
+    public void flushPendingOnce() {
+        IncrementBuffer buffer = new IncrementBuffer();
+        Assert.assertTrue(buffer.markFlushPending());
+        Assert.assertFalse(buffer.markFlushPending());
+        buffer.clearFlushPending();
+        Assert.assertTrue(buffer.markFlushPending());
+    }
+
+    @Test
+    public void reportOnlyFailedIncrements() {
+        Increment applied = new Increment(Bytes.toBytes("r1"));
+        Increment failed = new Increment(Bytes.toBytes("r2"));
+        Increment unknown = new Increment(Bytes.toBytes("r3"));
+        Object[] results = {Result.EMPTY_RESULT, new IOException("region moved"), null};
+
+        List<Increment> reported = IncrementCoalescer.failedIncrements(Arrays.asList(applied, failed, unknown), results);
+        Assert.assertEquals(Arrays.asList(failed, unknown), reported);
+    }
+
+    private static Increment find(List<Increment> increments, String row) {
+        for (Increment increment : increments) {
+            if (Bytes.equals(increment.getRow(), Bytes.toBytes(row))) {
+                return increment;
+            }
+        }
+        throw new AssertionError("missing row " + row);
+    }
+
+    private static long delta(Increment increment, String qualifier) {
+        for (Cell cell : increment.getFamilyCellMap().get(FAMILY)) {
+            if (CellUtil.matchingQualifier(cell, Bytes.toBytes(qualifier))) {
+                return Bytes.toLong(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+            }
+        }
+        throw new AssertionError("missing column " + qualifier);
+    }
+}
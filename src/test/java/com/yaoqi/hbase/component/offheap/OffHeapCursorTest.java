@@ -0,0 +1,161 @@
+package com.yaoqi.hbase.component.offheap;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 22:30
+ * @Modified
+ * @Description
+ */
+public class OffHeapCursorTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+    private static final byte[] QUALIFIER = Bytes.toBytes("q");
+
+    @Test
+    public void copyMultiGetAcrossSlabs() throws IOException {
+        SlabPool pool = new SlabPool(64, 8);
+        Result[] results = {row("r0", 0L), Result.EMPTY_RESULT, row("r2", 2L, 3L), row("r3", 100)};
+        byte[] value = new byte[128];
+        try (OffHeapCursor cursor = OffHeapCursor.copyOf(pool, results)) {
+            Assert.assertTrue(cursor.next());
+            Assert.assertTrue(cursor.isNewRow());
+            Assert.assertEquals(0, cursor.getResultIndex());
+            Assert.assertTrue(cursor.matchingRow(Bytes.toBytes("r0")));
+            Assert.assertTrue(cursor.matchingFamily(FAMILY));
+            Assert.assertEquals(0L, cursor.getValueAsLong());
+
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(2, cursor.getResultIndex());
+            Assert.assertTrue(cursor.isNewRow());
+            Assert.assertEquals(2L, cursor.getValueAsLong());
+            Assert.assertTrue(cursor.next());
+            Assert.assertFalse(cursor.isNewRow());
+            Assert.assertEquals(3L, cursor.getValueAsLong());
+
+            // 超过块大小的 cell 使用专用缓冲区
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals(3, cursor.getResultIndex());
+            Assert.assertEquals(100, cursor.copyValueTo(value, 0));
+            Assert.assertArrayEquals(Bytes.toBytes("r3"), cursor.cloneRow());
+            Assert.assertFalse(cursor.next());
+        }
+        Assert.assertTrue(pool.getFreeCount() > 0);
+        Assert.assertNull(results[0]);
+    }
+
+    @Test
+    public void copyMultiGetInChunks() throws IOException {
+        SlabPool pool = new SlabPool(256, 8);
+        List<String> loaded = new ArrayList<>();
+        ResultChunkLoader loader = (from, to) -> {
+            loaded.add(from + "-" + to);
+            Result[] chunk = new Result[to - from];
+            for (int i = from; i < to; i++) {
+                chunk[i - from] = row("r" + i, (long) i);
+            }
+            return chunk;
+        };
+        int count = 0;
+        try (OffHeapCursor cursor = OffHeapCursor.copyOf(pool, 7, 3, loader)) {
+            Assert.assertEquals(Arrays.asList("0-3", "3-6", "6-7"), loaded);
+            while (cursor.next()) {
+                Assert.assertEquals(count, cursor.getResultIndex());
+                Assert.assertEquals(count, cursor.getValueAsLong());
+                count++;
+            }
+        }
+        Assert.assertEquals(7, count);
+
+        try {
+            OffHeapCursor.copyOf(pool, 7, 3, (from, to) -> {
+                if (from > 0) {
+                    throw new IOException("region moved");
+                }
+                return loader.load(from, to);
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals(pool.getAllocatedCount(), pool.getFreeCount());
+        }
+    }
+
+    @Test
+    public void scanReusesOneSlab() throws IOException {
+        SlabPool pool = new SlabPool(256, 8);
+        int rows = 1000;
+        FakeScanner scanner = new FakeScanner(rows);
+        long sum = 0;
+        int count = 0;
+        try (OffHeapCursor cursor = OffHeapCursor.scan(pool, scanner)) {
+            while (cursor.next()) {
+                Assert.assertEquals(count, cursor.getResultIndex());
+                sum += cursor.getValueAsLong();
+                count++;
+            }
+        }
+        Assert.assertEquals(rows, count);
+        Assert.assertEquals((long) rows * (rows - 1) / 2, sum);
+        Assert.assertEquals(1, pool.getAllocatedCount());
+        Assert.assertEquals(1, pool.getFreeCount());
+        Assert.assertTrue(scanner.closed);
+    }
+
+    private static Result row(String row, long... values) {
+        Cell[] cells = new Cell[values.length];
+        for (int i = 0; i < values.length; i++) {
+            cells[i] = new KeyValue(Bytes.toBytes(row), FAMILY, Bytes.toBytes("q" + i), 1L, Bytes.toBytes(values[i]));
+        }
+        return Result.create(cells);
+    }
+
+    private static Result row(String row, int valueLength) {
+        return Result.create(new Cell[]{new KeyValue(Bytes.toBytes(row), FAMILY, QUALIFIER, 1L, new byte[valueLength])});
+    }
+
+    private static class FakeScanner implements ResultScanner {
+        private final int size;
+        private int returned = 0;
+        private boolean closed = false;
+
+        private FakeScanner(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Result next() {
+            if (returned >= size) {
+                return null;
+            }
+            return row("row-" + returned, (long) returned++);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean renewLease() {
+            return true;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.yaoqi.hbase.component.pool;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 20:20
+ * @Modified
+ * @Description
+ */
+public class TableSettingsTest {
+
+    @Test
+    public void tableOverridesGlobal() {
+        Map<String, String> config = new HashMap<>();
+        config.put("operationTimeout", "30000");
+        config.put("rpcTimeout", "5000");
+        config.put("table.orders.operationTimeout", "2000");
+        config.put("table.orders.writeBufferSize", "8388608");
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        hBaseConfig.setConfig(config);
+
+        TableSettings orders = TableSettings.resolve(hBaseConfig, "orders");
+        Assert.assertEquals(2000, orders.getOperationTimeout());
+        Assert.assertEquals(5000, orders.getRpcTimeout());
+        Assert.assertEquals(0, orders.getReadRpcTimeout());
+        Assert.assertEquals(8388608L, orders.getWriteBufferSize(1024L));
+
+        TableSettings users = TableSettings.resolve(hBaseConfig, "users");
+        Assert.assertEquals(30000, users.getOperationTimeout());
+        Assert.assertEquals(1024L, users.getWriteBufferSize(1024L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.yaoqi.hbase.component.query;
+
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 23:35
+ * @Modified
+ * @Description
+ */
+public class QueryBuilderTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    @Test
+    public void projectColumns() {
+        Get get = QueryBuilder.create()
+                .columns("f", "a", "b")
+                .family("g")
+                .columns("g", "ignored")
+                .maxVersions(3)
+                .timeRange(10L, 20L)
+                .toGet(42L);
+        Assert.assertArrayEquals(Bytes.toBytes(42L), get.getRow());
+        Assert.assertEquals(2, get.getFamilyMap().get(FAMILY).size());
+        Assert.assertNull(get.getFamilyMap().get(Bytes.toBytes("g")));
+        Assert.assertEquals(3, get.getMaxVersions());
+        Assert.assertEquals(10L, get.getTimeRange().getMin());
+        Assert.assertEquals(20L, get.getTimeRange().getMax());
+        Assert.assertNull(get.getFilter());
+    }
+
+    @Test
+    public void combineFilters() {
+        QueryBuilder builder = QueryBuilder.create().family("f").firstKeyOnly();
+        Assert.assertTrue(builder.toGet("row").getFilter() instanceof FirstKeyOnlyFilter);
+        builder.keyOnly().columnPrefix("c");
+        List<Get> gets = builder.toGets(Arrays.asList("r1", "r2"));
+        Assert.assertEquals(2, gets.size());
+        FilterList filterList = (FilterList) gets.get(1).getFilter();
+        Assert.assertEquals(FilterList.Operator.MUST_PASS_ALL, filterList.getOperator());
+        Assert.assertEquals(3, filterList.getFilters().size());
+    }
+
+    @Test
+    public void scanWithRowPrefix() {
+        Scan scan = QueryBuilder.create().rowPrefix("user_").columns("f", "a").toScan();
+        Assert.assertArrayEquals(Bytes.toBytes("user_"), scan.getStartRow());
+        Assert.assertArrayEquals(Bytes.toBytes("user`"), scan.getStopRow());
+        Assert.assertTrue(scan.hasFamilies());
+        Assert.assertEquals(1, scan.getMaxVersions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectInvalidTimeRange() {
+        QueryBuilder.create().timeRange(20L, 10L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yaoqi.hbase.component.retry;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 14:55
+ * @Modified
+ * @Description
+ */
+public class HedgedCallTest {
+
+    @Test
+    public void hedgeInterruptsPrimary() throws Exception {
+        HedgedCall call = new HedgedCall(Thread.currentThread());
+        CompletableFuture<Result> hedge = new CompletableFuture<>();
+        call.startHedge(() -> hedge);
+        Result result = Result.create(new Cell[0]);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            started.countDown();
+            call.hedgeSucceeded(result);
+        });
+        try {
+            worker.start();
+            started.await();
+            // 模拟阻塞中的主请求
+            TimeUnit.SECONDS.sleep(10);
+            Assert.fail();
+        } catch (InterruptedException e) {
+            Assert.assertSame(result, call.finishPrimary());
+            Assert.assertFalse(Thread.currentThread().isInterrupted());
+            Assert.assertSame(hedge, call.getHedge());
+        }
+        worker.join();
+    }
+
+    @Test
+    public void noHedgeAfterPrimary() {
+        HedgedCall call = new HedgedCall(Thread.currentThread());
+        Assert.assertNull(call.finishPrimary());
+        call.startHedge(CompletableFuture::new);
+        call.hedgeSucceeded(Result.EMPTY_RESULT);
+        Assert.assertNull(call.getHedge());
+        Assert.assertFalse(Thread.interrupted());
+    }
+}
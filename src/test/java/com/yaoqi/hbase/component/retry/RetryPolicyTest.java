@@ -0,0 +1,91 @@
+package com.yaoqi.hbase.component.retry;
+
+import com.yaoqi.hbase.component.config.HBaseConfig;
+import org.apache.hadoop.hbase.TableNotFoundException;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 03:40
+ * @Modified
+ * @Description
+ */
+public class RetryPolicyTest {
+
+    @Test
+    public void resolveByPrecedence() {
+        Map<String, String> config = new HashMap<>();
+        config.put("retryMaxAttempts", "2");
+        config.put("read.retryMaxAttempts", "3");
+        config.put("table.orders.retryMaxAttempts", "4");
+        config.put("table.orders.write.retryMaxAttempts", "5");
+        config.put("callDeadline", "200");
+        config.put("hedgeDelay", "20");
+        HBaseConfig hBaseConfig = new HBaseConfig();
+        hBaseConfig.setConfig(config);
+
+        Assert.assertEquals(3, RetryPolicy.resolve(hBaseConfig, "users", OperationKind.READ).getMaxAttempts());
+        Assert.assertEquals(2, RetryPolicy.resolve(hBaseConfig, "users", OperationKind.WRITE).getMaxAttempts());
+        Assert.assertEquals(4, RetryPolicy.resolve(hBaseConfig, "orders", OperationKind.READ).getMaxAttempts());
+        RetryPolicy write = RetryPolicy.resolve(hBaseConfig, "orders", OperationKind.WRITE);
+        Assert.assertEquals(5, write.getMaxAttempts());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(200), write.getDeadlineNanos());
+        // 写操作不对冲
+        Assert.assertEquals(0L, write.getHedgeDelayNanos());
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(20),
+                RetryPolicy.resolve(hBaseConfig, "orders", OperationKind.READ).getHedgeDelayNanos());
+
+        HBaseConfig empty = new HBaseConfig();
+        empty.setConfig(new HashMap<>());
+        Assert.assertTrue(RetryPolicy.resolve(empty, "orders", OperationKind.READ).isPassThrough());
+    }
+
+    @Test
+    public void backoffIsBoundedAndJittered() {
+        RetryPolicy policy = new RetryPolicy(10, 100L, 1000L, 0L, 0L);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(policy.backoffNanos(1) < TimeUnit.MILLISECONDS.toNanos(100));
+            Assert.assertTrue(policy.backoffNanos(3) < TimeUnit.MILLISECONDS.toNanos(400));
+            long capped = policy.backoffNanos(40);
+            Assert.assertTrue(capped >= 0 && capped < TimeUnit.MILLISECONDS.toNanos(1000));
+        }
+        Assert.assertEquals(0L, new RetryPolicy(3, 0L, 0L, 0L, 0L).backoffNanos(2));
+    }
+
+    @Test
+    public void budgetLimitsRetries() {
+        RetryBudget budget = new RetryBudget(10, 2);
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertFalse(budget.tryAcquire());
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        Assert.assertFalse(budget.tryAcquire());
+        budget.deposit();
+        Assert.assertTrue(budget.tryAcquire());
+        // 额度最多积累到容量
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertTrue(budget.tryAcquire());
+        Assert.assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void notRetryable() {
+        Assert.assertTrue(ResilientExecutor.isRetryable(new IOException("region moved")));
+        Assert.assertFalse(ResilientExecutor.isRetryable(new TableNotFoundException("orders")));
+        Assert.assertFalse(ResilientExecutor.isRetryable(new InterruptedIOException()));
+        Assert.assertFalse(ResilientExecutor.isRetryable(new TimeoutIOException("deadline")));
+    }
+}
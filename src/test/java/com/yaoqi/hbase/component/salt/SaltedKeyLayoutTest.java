@@ -0,0 +1,129 @@
+package com.yaoqi.hbase.component.salt;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 19:30
+ * @Modified
+ * @Description
+ */
+public class SaltedKeyLayoutTest {
+
+    private final SaltedKeyLayout layout = new SaltedKeyLayout(4);
+
+    @Test
+    public void saltAndUnsalt() throws IOException {
+        byte[] rowKey = Bytes.toBytes(System.currentTimeMillis());
+        byte[] salted = layout.salt(rowKey);
+        Assert.assertEquals(layout.bucketOf(rowKey), salted[0]);
+        Assert.assertArrayEquals(rowKey, layout.unsalt(salted));
+        Put put = layout.salt(new Put(rowKey).addColumn(Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes("v")));
+        Assert.assertArrayEquals(salted, put.getRow());
+        Assert.assertArrayEquals(salted, CellUtil.cloneRow(put.get(Bytes.toBytes("f"), Bytes.toBytes("q")).get(0)));
+        Assert.assertEquals(3, layout.getSplitKeys().length);
+
+        Delete delete = layout.salt(new Delete(rowKey).addColumns(Bytes.toBytes("f"), Bytes.toBytes("q")));
+        Cell marker = delete.getFamilyCellMap().get(Bytes.toBytes("f")).get(0);
+        Assert.assertArrayEquals(salted, CellUtil.cloneRow(marker));
+        Assert.assertEquals(Cell.Type.DeleteColumn, marker.getType());
+    }
+
+    @Test
+    public void bucketScans() throws IOException {
+        List<Scan> scans = layout.bucketScans(new Scan().withStartRow(Bytes.toBytes("a")));
+        Assert.assertEquals(4, scans.size());
+        Assert.assertArrayEquals(new byte[]{2, 'a'}, scans.get(2).getStartRow());
+        Assert.assertArrayEquals(new byte[]{3}, scans.get(2).getStopRow());
+
+        List<Scan> reversed = layout.bucketScans(new Scan().withStopRow(Bytes.toBytes("a")).setReversed(true));
+        Assert.assertArrayEquals(new byte[]{3}, reversed.get(2).getStartRow());
+        Assert.assertFalse(reversed.get(2).includeStartRow());
+        Assert.assertArrayEquals(new byte[]{2, 'a'}, reversed.get(2).getStopRow());
+        Assert.assertArrayEquals(new byte[]{4}, reversed.get(3).getStartRow());
+        List<Scan> unbounded = layout.bucketScans(new Scan().setReversed(true));
+        Assert.assertArrayEquals(new byte[]{1}, unbounded.get(1).getStopRow());
+        Assert.assertTrue(unbounded.get(1).includeStopRow());
+    }
+
+    @Test
+    public void mergeInUnsaltedOrder() throws IOException {
+        List<ResultScanner> scanners = new ArrayList<>();
+        scanners.add(new ListScanner(result(1, "b"), result(1, "e")));
+        scanners.add(new ListScanner(result(0, "a"), result(0, "d")));
+        scanners.add(new ListScanner(result(2, "c")));
+        List<String> rows = new ArrayList<>();
+        try (SaltedResultScanner scanner = new SaltedResultScanner(scanners)) {
+            for (Result result = scanner.next(); result != null; result = scanner.next()) {
+                rows.add(Bytes.toString(layout.unsalt(result.getRow())));
+            }
+        }
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), rows);
+    }
+
+    @Test
+    public void mergeReversedWithLimit() throws IOException {
+        List<ResultScanner> scanners = new ArrayList<>();
+        scanners.add(new ListScanner(result(1, "e"), result(1, "b")));
+        scanners.add(new ListScanner(result(0, "d"), result(0, "a")));
+        scanners.add(new ListScanner(result(2, "c")));
+        List<String> rows = new ArrayList<>();
+        try (SaltedResultScanner scanner = new SaltedResultScanner(scanners, true, 3)) {
+            for (Result result = scanner.next(); result != null; result = scanner.next()) {
+                rows.add(Bytes.toString(layout.unsalt(result.getRow())));
+            }
+        }
+        Assert.assertEquals(Arrays.asList("e", "d", "c"), rows);
+    }
+
+    private static Result result(int bucket, String row) {
+        byte[] rowKey = Bytes.add(new byte[]{(byte) bucket}, Bytes.toBytes(row));
+        return Result.create(Collections.singletonList(
+                new KeyValue(rowKey, Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes(row))));
+    }
+
+    private static class ListScanner implements ResultScanner {
+        private final Iterator<Result> iterator;
+
+        private ListScanner(Result... results) {
+            this.iterator = Arrays.asList(results).iterator();
+        }
+
+        @Override
+        public Result next() {
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean renewLease() {
+            return true;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
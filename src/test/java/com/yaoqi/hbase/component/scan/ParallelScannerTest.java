@@ -0,0 +1,56 @@
+package com.yaoqi.hbase.component.scan;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 17:50
+ * @Modified
+ * @Description
+ */
+public class ParallelScannerTest {
+
+    private static final byte[][] START_KEYS = {HConstants.EMPTY_START_ROW, Bytes.toBytes("b"), Bytes.toBytes("d")};
+    private static final byte[][] END_KEYS = {Bytes.toBytes("b"), Bytes.toBytes("d"), HConstants.EMPTY_END_ROW};
+
+    @Test
+    public void splitFullTable() throws IOException {
+        List<Scan> splits = ParallelScanner.split(new Scan(), START_KEYS, END_KEYS, 1);
+        Assert.assertEquals(3, splits.size());
+        Assert.assertArrayEquals(HConstants.EMPTY_START_ROW, splits.get(0).getStartRow());
+        Assert.assertArrayEquals(Bytes.toBytes("b"), splits.get(0).getStopRow());
+        Assert.assertArrayEquals(Bytes.toBytes("d"), splits.get(2).getStartRow());
+        Assert.assertArrayEquals(HConstants.EMPTY_END_ROW, splits.get(2).getStopRow());
+    }
+
+    @Test
+    public void splitKeepsScanRange() throws IOException {
+        Scan scan = new Scan().withStartRow(Bytes.toBytes("c"), false).withStopRow(Bytes.toBytes("e"), true);
+        List<Scan> splits = ParallelScanner.split(scan, START_KEYS, END_KEYS, 1);
+        Assert.assertEquals(2, splits.size());
+        Assert.assertArrayEquals(Bytes.toBytes("c"), splits.get(0).getStartRow());
+        Assert.assertFalse(splits.get(0).includeStartRow());
+        Assert.assertArrayEquals(Bytes.toBytes("d"), splits.get(0).getStopRow());
+        Assert.assertFalse(splits.get(0).includeStopRow());
+        Assert.assertTrue(splits.get(1).includeStartRow());
+        Assert.assertArrayEquals(Bytes.toBytes("e"), splits.get(1).getStopRow());
+        Assert.assertTrue(splits.get(1).includeStopRow());
+    }
+
+    @Test
+    public void splitInsideRegion() throws IOException {
+        List<Scan> splits = ParallelScanner.split(new Scan(), START_KEYS, END_KEYS, 4);
+        // 首尾 region 没有明确边界，不再切分
+        Assert.assertEquals(1 + 4 + 1, splits.size());
+        for (int i = 1; i < splits.size(); i++) {
+            Assert.assertArrayEquals(splits.get(i - 1).getStopRow(), splits.get(i).getStartRow());
+        }
+    }
+}
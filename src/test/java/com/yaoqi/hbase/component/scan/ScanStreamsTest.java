@@ -0,0 +1,86 @@
+package com.yaoqi.hbase.component.scan;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 17:05
+ * @Modified
+ * @Description
+ */
+public class ScanStreamsTest {
+
+    @Test
+    public void closeWhenExhausted() {
+        FakeScanner scanner = new FakeScanner(3);
+        Stream<Result> stream = ScanStreams.stream(scanner);
+        Assert.assertEquals(3, stream.count());
+        Assert.assertEquals(1, scanner.closed);
+        stream.close();
+        Assert.assertEquals(1, scanner.closed);
+    }
+
+    @Test
+    public void closeWhenStreamClosedEarly() {
+        FakeScanner scanner = new FakeScanner(100);
+        try (Stream<Result> stream = ScanStreams.stream(scanner)) {
+            Assert.assertEquals(2, stream.limit(2).count());
+        }
+        Assert.assertEquals(1, scanner.closed);
+        Assert.assertTrue(scanner.returned < 100);
+    }
+
+    @Test
+    public void tuneCopiesScan() throws IOException {
+        Scan scan = new Scan();
+        Scan tuned = ScanStreams.tune(scan, 100, 1024L);
+        Assert.assertNotSame(scan, tuned);
+        Assert.assertEquals(100, tuned.getCaching());
+        Assert.assertEquals(1024L, tuned.getMaxResultSize());
+        Assert.assertEquals(-1, scan.getCaching());
+        Assert.assertEquals(-1L, scan.getMaxResultSize());
+        Assert.assertSame(tuned, ScanStreams.tune(tuned, 200, 2048L));
+    }
+
+    private static class FakeScanner implements ResultScanner {
+        private final int size;
+        private int returned = 0;
+        private int closed = 0;
+
+        private FakeScanner(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Result next() {
+            if (closed > 0 || returned >= size) {
+                return null;
+            }
+            returned++;
+            return Result.EMPTY_RESULT;
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+
+        @Override
+        public boolean renewLease() {
+            return true;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
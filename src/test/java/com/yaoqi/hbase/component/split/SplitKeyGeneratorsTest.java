@@ -0,0 +1,78 @@
+package com.yaoqi.hbase.component.split;
+
+import com.yaoqi.hbase.component.codec.RowKeyCodecs;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 19:50
+ * @Modified
+ * @Description
+ */
+public class SplitKeyGeneratorsTest {
+
+    @Test
+    public void uniformBytes() {
+        byte[][] keys = SplitKeyGenerators.uniformBytes(4).getSplitKeys();
+        Assert.assertArrayEquals(new byte[][]{{0x40}, {(byte) 0x80}, {(byte) 0xc0}}, keys);
+        Assert.assertEquals(0, SplitKeyGenerators.uniformBytes(1).getSplitKeys().length);
+        assertSorted(SplitKeyGenerators.uniformBytes(1000).getSplitKeys(), 999);
+    }
+
+    @Test
+    public void hexPrefix() {
+        byte[][] keys = SplitKeyGenerators.hexPrefix(4).getSplitKeys();
+        Assert.assertEquals("4", Bytes.toString(keys[0]));
+        Assert.assertEquals("c", Bytes.toString(keys[2]));
+        keys = SplitKeyGenerators.hexPrefix(32).getSplitKeys();
+        Assert.assertEquals("08", Bytes.toString(keys[0]));
+        assertSorted(keys, 31);
+    }
+
+    @Test
+    public void numericRange() {
+        byte[][] keys = SplitKeyGenerators.numericRange(0, 100, 4).getSplitKeys();
+        Assert.assertEquals(25L, Bytes.toLong(keys[0]));
+        Assert.assertEquals(75L, Bytes.toLong(keys[2]));
+        assertSorted(SplitKeyGenerators.numericRange(Long.MIN_VALUE, Long.MAX_VALUE, 10, RowKeyCodecs.ORDERED_LONG).getSplitKeys(), 9);
+        keys = SplitKeyGenerators.decimalRange(0, 1000, 4, 6).getSplitKeys();
+        Assert.assertEquals("000250", Bytes.toString(keys[0]));
+    }
+
+    @Test
+    public void fromSample() {
+        List<byte[]> sample = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            // 偏斜分布，大部分 rowKey 集中在较小的值
+            long value = (long) (Math.pow(random.nextDouble(), 3) * 1_000_000);
+            sample.add(Bytes.toBytes(value));
+        }
+        byte[][] keys = SplitKeyGenerators.fromSample(sample, 8).getSplitKeys();
+        assertSorted(keys, 7);
+        int[] counts = new int[keys.length + 1];
+        for (byte[] key : sample) {
+            int region = 0;
+            while (region < keys.length && Bytes.compareTo(key, keys[region]) >= 0) {
+                region++;
+            }
+            counts[region]++;
+        }
+        for (int count : counts) {
+            Assert.assertTrue(count > 10000 / 8 / 2 && count < 10000 / 8 * 2);
+        }
+    }
+
+    private static void assertSorted(byte[][] keys, int expected) {
+        Assert.assertEquals(expected, keys.length);
+        for (int i = 1; i < keys.length; i++) {
+            Assert.assertTrue(Bytes.compareTo(keys[i - 1], keys[i]) < 0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.yaoqi.hbase.component.template;
+
+import com.yaoqi.hbase.component.HBaseApp;
+import com.yaoqi.hbase.component.operations.AsyncHBaseOperations;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/18 16:20
+ * @Modified
+ * @Description
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = HBaseApp.class)
+public class AsyncHBaseTemplateTest {
+
+    @Autowired
+    private AsyncHBaseOperations asyncHBaseDao;
+
+    @Test
+    public void testQueryTable() {
+        Result result = asyncHBaseDao.queryByTableNameAndRowKey("LBS", 9223372036854775803L).join();
+        System.out.println(result.isEmpty());
+    }
+
+    @Test
+    public void testQuery() {
+        List<Get> getList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            getList.add(new Get(String.valueOf(1534154424340L + i).getBytes()));
+        }
+        asyncHBaseDao.query("HBase-component", getList)
+                .thenAccept(results -> System.out.println(results.size()))
+                .join();
+    }
+
+    @Test
+    public void testPut() {
+        asyncHBaseDao.put("HBase-component", "1534154424340", "CF1", "test_1", Bytes.toBytes("testData")).join();
+    }
+}
@@ -1,6 +1,7 @@
 package com.yaoqi.hbase.component.template;
 
 import com.yaoqi.hbase.component.HBaseApp;
+import com.yaoqi.hbase.component.batch.MultiGetResult;
 import com.yaoqi.hbase.component.operations.HBaseOperations;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.*;
@@ -14,7 +15,10 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * @Author YaoQi
@@ -56,6 +60,17 @@ public class HBaseTemplateTest {
         System.out.println(hBaseDao.query(tableName, getList).length);
     }
 
+    @Test
+    public void testParallelQuery() {
+        String tableName = "HBase-component";
+        List<Get> getList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            getList.add(new Get(String.valueOf(1534154424340L + i).getBytes()));
+        }
+        MultiGetResult multiGetResult = hBaseDao.query(tableName, getList, 500, TimeUnit.MILLISECONDS);
+        System.out.println(multiGetResult.isComplete() + " missing:" + multiGetResult.getMissingCount());
+    }
+
     /**
      * 创建表测试
      */
@@ -119,6 +134,21 @@ public class HBaseTemplateTest {
         hBaseDao.putBatch("HBase-component", putList);
     }
 
+    /**
+     * 缓冲写入数据
+     */
+    @Test
+    public void testBufferedPut() throws IOException {
+        List<Put> putList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Put put = new Put(Bytes.toBytes(String.valueOf(System.currentTimeMillis() + i)));
+            put.addColumn("CF1".getBytes(), "col1".getBytes(), "buffered".getBytes());
+            putList.add(put);
+        }
+        hBaseDao.bufferedPutBatch("HBase-component", putList);
+        hBaseDao.flush("HBase-component");
+    }
+
     @Test
     public void deleteTest() {
         hBaseDao.delete("HBase-component", "1534210201115", "CF1", "col2");
@@ -167,6 +197,21 @@ public class HBaseTemplateTest {
         });
     }
 
+    @Test
+    public void testScanStream() throws IOException {
+        try (Stream<Result> stream = hBaseDao.scanStream("HBase-component", new Scan())) {
+            System.out.println(stream.count());
+        }
+    }
+
+    @Test
+    public void testExistsAndCount() throws IOException {
+        String tableName = "HBase-component";
+        System.out.println(hBaseDao.exists(tableName, "1534154424340"));
+        System.out.println(Arrays.toString(hBaseDao.existsAll(tableName, Arrays.asList("1534154424340", "not-exists"))));
+        System.out.println(hBaseDao.count(tableName, new Scan()));
+    }
+
     @Test
     public void testPageFilter() {
         String tableName = "HBase-component";
@@ -0,0 +1,110 @@
+package com.yaoqi.hbase.component.trace;
+
+import com.yaoqi.hbase.component.config.ConnectionLease;
+import com.yaoqi.hbase.component.operations.HBaseOperations;
+import com.yaoqi.hbase.component.pool.TablePool;
+import com.yaoqi.hbase.component.query.QueryBuilder;
+import com.yaoqi.hbase.component.split.SplitKeyGenerator;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Author YaoQi
+ * @Date 2026/10/19 02:10
+ * @Modified
+ * @Description
+ */
+public class SlowOperationTracerTest {
+
+    @Test
+    public void keyParameterOfOperations() throws NoSuchMethodException {
+        Assert.assertEquals(1, keyParameter("queryByTableNameAndRowKey", String.class, Object.class));
+        Assert.assertEquals(1, keyParameter("query", String.class, Collection.class, QueryBuilder.class));
+        Assert.assertEquals(1, keyParameter("queryByScan", String.class, Scan.class));
+        Assert.assertEquals(1, keyParameter("putBatch", String.class, List.class));
+        Assert.assertEquals(4, keyParameter("checkAndPut", String.class, String.class, String.class, byte[].class, Put.class));
+        Assert.assertEquals(1, keyParameter("put", String.class, String.class, String.class, String.class, byte[].class));
+        Assert.assertEquals(2, keyParameter("deleteColumn", String.class, String.class, String.class, String.class));
+        Assert.assertEquals(-1, keyParameter("createTable", String.class, String[].class));
+        Assert.assertEquals(-1, keyParameter("createTable", String.class, List.class, byte[][].class));
+        Assert.assertEquals(-1, keyParameter("createTableWithSplits", String.class, List.class, SplitKeyGenerator.class));
+        Assert.assertEquals(-1, keyParameter("dropTable", List.class));
+    }
+
+    @Test
+    public void keyRangeOfArguments() {
+        byte[][] single = SlowOperationTracer.keyRangeOf(new Get(Bytes.toBytes("r1")));
+        Assert.assertEquals("r1", Bytes.toString(single[0]));
+        Assert.assertNull(single[1]);
+
+        byte[][] batch = SlowOperationTracer.keyRangeOf(Arrays.asList(new Get(Bytes.toBytes("r5")),
+                new Get(Bytes.toBytes("r2")), new Get(Bytes.toBytes("r9"))));
+        Assert.assertEquals("r2", Bytes.toString(batch[0]));
+        Assert.assertEquals("r9", Bytes.toString(batch[1]));
+
+        byte[][] scan = SlowOperationTracer.keyRangeOf(new Scan().withStartRow(Bytes.toBytes("a")));
+        Assert.assertEquals("a", Bytes.toString(scan[0]));
+        Assert.assertNull(scan[1]);
+
+        Assert.assertEquals("k", Bytes.toString(SlowOperationTracer.keyRangeOf("k")[0]));
+        Assert.assertNull(SlowOperationTracer.keyRangeOf(new Object()));
+    }
+
+    @Test
+    public void locateOnlyWhenExported() throws Exception {
+        AtomicInteger acquired = new AtomicInteger();
+        TablePool tablePool = new TablePool() {
+            @Override
+            public ConnectionLease acquire() throws IOException {
+                acquired.incrementAndGet();
+                throw new IOException("no connection");
+            }
+        };
+        SlowOperationTracer tracer = new SlowOperationTracer();
+        ReflectionTestUtils.setField(tracer, "buffer", new SlowOperationBuffer(4));
+        ReflectionTestUtils.setField(tracer, "tablePool", tablePool);
+        tracer.setThresholdMillis(1);
+        tracer.setSamplePercent(100);
+        Method method = HBaseOperations.class.getMethod("queryByTableNameAndRowKey", String.class, Object.class);
+        tracer.trace("t", "get", method, new Object[]{"t", "r1"}, 0L, TimeUnit.SECONDS.toNanos(2), 1, 1, 0, false);
+        Assert.assertEquals(0, acquired.get());
+
+        List<SlowOperation> operations = tracer.getSlowOperations();
+        Assert.assertEquals(1, acquired.get());
+        Assert.assertEquals(1, operations.size());
+        Assert.assertEquals("r1", operations.get(0).getStartKey());
+        Assert.assertNull(operations.get(0).getRegion());
+    }
+
+    @Test
+    public void bufferKeepsLatestInOrder() {
+        SlowOperationBuffer buffer = new SlowOperationBuffer(3);
+        Assert.assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new SlowOperation(i, "t", "get", null, null, null, null, 1, 1, 0, i, false, "main"));
+        }
+        List<SlowOperation> operations = buffer.snapshot();
+        Assert.assertEquals(10, buffer.getRecorded());
+        Assert.assertEquals(4, operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Assert.assertEquals(6 + i, operations.get(i).getTimestamp());
+        }
+    }
+
+    private static int keyParameter(String name, Class<?>... types) throws NoSuchMethodException {
+        return SlowOperationTracer.keyParameterOf(HBaseOperations.class.getMethod(name, types));
+    }
+}